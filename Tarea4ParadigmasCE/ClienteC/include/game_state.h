@@ -13,12 +13,14 @@ typedef struct {
 } Player;
 
 typedef struct {
+    int id;
     float x, y;
     int alive;
     int isRed; // 1 = rojo, 0 = azul
 } Croc;
 
 typedef struct {
+    int id;
     float x, y;
     int points;
     int active;
@@ -40,3 +42,18 @@ typedef struct {
 } GameState;
 
 void gs_apply_line(GameState* gs, const char* line);
+
+/* Protocolo BINARY (modo BINARY del servidor) */
+#define GS_BIN_MAGIC       "DKJB"
+#define GS_BIN_HEADER_SIZE 20
+
+/* Largo total del frame binario que empieza en data, o 0 si aún
+   no llegó el header completo. */
+int gs_binary_frame_length(const unsigned char* data, int len);
+
+/* Número de tick del frame binario (header completo) */
+unsigned long gs_binary_frame_tick(const unsigned char* data);
+
+/* Aplica un frame binario completo (keyframe o delta).
+   Devuelve 0 si es inválido. */
+int gs_apply_binary(GameState* gs, const unsigned char* data, int len);
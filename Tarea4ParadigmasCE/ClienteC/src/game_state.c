@@ -63,8 +63,8 @@ void gs_apply_line(GameState* gs, const char* line) {
         int i = gs->crocsCount++;
         char type[16];
         // Formato del servidor: "CROC 1 type=RED x=160 y=300 alive=1"
-        sscanf(line, "CROC %*d type=%s x=%f y=%f alive=%d",
-               type, &gs->crocs[i].x, &gs->crocs[i].y, &gs->crocs[i].alive);
+        sscanf(line, "CROC %d type=%s x=%f y=%f alive=%d",
+               &gs->crocs[i].id, type, &gs->crocs[i].x, &gs->crocs[i].y, &gs->crocs[i].alive);
         gs->crocs[i].isRed = (strncmp(type, "RED", 3) == 0);
     }
     else if (strncmp(line, "FRUIT", 5) == 0) {
@@ -72,8 +72,150 @@ void gs_apply_line(GameState* gs, const char* line) {
         int i = gs->fruitsCount++;
         char type[16];
         // Formato del servidor: "FRUIT 1 type=BANANA x=240 y=250 points=70 active=1"
-        sscanf(line, "FRUIT %*d type=%s x=%f y=%f points=%d active=%d",
-               type, &gs->fruits[i].x, &gs->fruits[i].y, &gs->fruits[i].points, &gs->fruits[i].active);
+        sscanf(line, "FRUIT %d type=%s x=%f y=%f points=%d active=%d",
+               &gs->fruits[i].id, type, &gs->fruits[i].x, &gs->fruits[i].y, &gs->fruits[i].points, &gs->fruits[i].active);
         strncpy(gs->fruits[i].type, type, sizeof(gs->fruits[i].type)-1);
     }
-}
\ No newline at end of file
+}
+
+/* ============================================================
+   PROTOCOLO BINARY
+   Registros little-endian de tamaño fijo (ver BinaryFrameEncoder
+   en el servidor):
+     HEADER 20 | PLAYER 14 | CAGE 8 (solo completos) | MARIO 8 (opcional)
+     | CROC 8 x N | FRUIT 10 x M | BAJA 4 x R
+   Un frame completo reemplaza las listas; un delta actualiza por id.
+   En un completo las BAJAS son solo el aviso de despawn del tick.
+   ============================================================ */
+#define BIN_FLAG_MARIO 1
+#define BIN_FLAG_DELTA 2
+
+static const char* FRUIT_NAMES[] = { "Banana", "Naranja", "Cereza" };
+
+static int rd_u16(const unsigned char* p) { return p[0] | (p[1] << 8); }
+static int rd_i16(const unsigned char* p) { return (short)(p[0] | (p[1] << 8)); }
+static unsigned int rd_u32(const unsigned char* p) {
+    return (unsigned int)p[0] | ((unsigned int)p[1] << 8) |
+           ((unsigned int)p[2] << 16) | ((unsigned int)p[3] << 24);
+}
+
+int gs_binary_frame_length(const unsigned char* data, int len) {
+    if (len < GS_BIN_HEADER_SIZE) return 0;
+    return (int)rd_u32(data + 16);
+}
+
+unsigned long gs_binary_frame_tick(const unsigned char* data) {
+    return rd_u32(data + 12);
+}
+
+/* Posición del cocodrilo con ese id; si no está y es delta, lo agrega. -1 si no hay lugar. */
+static int croc_slot(GameState* gs, int id, int delta) {
+    if (delta) {
+        for (int i = 0; i < gs->crocsCount; i++)
+            if (gs->crocs[i].id == id) return i;
+    }
+    if (gs->crocsCount >= 32) return -1;
+    gs->crocs[gs->crocsCount].id = id;
+    return gs->crocsCount++;
+}
+
+static int fruit_slot(GameState* gs, int id, int delta) {
+    if (delta) {
+        for (int i = 0; i < gs->fruitsCount; i++)
+            if (gs->fruits[i].id == id) return i;
+    }
+    if (gs->fruitsCount >= MAX_FRUITS) return -1;
+    gs->fruits[gs->fruitsCount].id = id;
+    return gs->fruitsCount++;
+}
+
+int gs_apply_binary(GameState* gs, const unsigned char* data, int len) {
+    if (len < GS_BIN_HEADER_SIZE || memcmp(data, GS_BIN_MAGIC, 4) != 0) return 0;
+    if (data[4] != 1) return 0;   // versión desconocida
+
+    int flags = data[5];
+    int hasMario = (flags & BIN_FLAG_MARIO) != 0;
+    int delta    = (flags & BIN_FLAG_DELTA) != 0;
+    int crocs    = rd_u16(data + 6);
+    int fruits   = rd_u16(data + 8);
+    int removals = rd_u16(data + 10);
+    int need = GS_BIN_HEADER_SIZE + 14 + (delta ? 0 : 8) + (hasMario ? 8 : 0)
+               + crocs * 8 + fruits * 10 + removals * 4;
+    if (len < need) return 0;
+
+    const unsigned char* p = data + GS_BIN_HEADER_SIZE;
+
+    // PLAYER
+    gs->player.x  = (float)rd_i16(p);
+    gs->player.y  = (float)rd_i16(p + 2);
+    gs->player.vx = rd_i16(p + 4) / 100.0f;
+    gs->player.vy = rd_i16(p + 6) / 100.0f;
+    gs->player.lives = p[8];
+    gs->player.jumping    = (p[9] & 1) != 0;
+    gs->player.onLiana    = (p[9] & 2) != 0;
+    gs->player.hasWon     = (p[9] & 4) != 0;
+    gs->player.gainedLife = (p[9] & 8) != 0;
+    gs->player.score = (int)rd_u32(p + 10);
+    p += 14;
+
+    // CAGE: ya está en constants.h
+    if (!delta) p += 8;
+
+    // MARIO
+    if (hasMario) {
+        gs->mario.x = (float)rd_i16(p + 2);
+        gs->mario.y = (float)rd_i16(p + 4);
+        gs->mario.direction = p[6] ? 'R' : 'L';
+        p += 8;
+    }
+
+    // Un frame completo reemplaza las listas
+    if (!delta) {
+        gs->crocsCount = 0;
+        gs->fruitsCount = 0;
+    }
+
+    // CROCS
+    for (int k = 0; k < crocs; k++, p += 8) {
+        int i = croc_slot(gs, rd_u16(p), delta);
+        if (i < 0) continue;
+        gs->crocs[i].x = (float)rd_i16(p + 2);
+        gs->crocs[i].y = (float)rd_i16(p + 4);
+        gs->crocs[i].isRed = (p[6] == 0);
+        gs->crocs[i].alive = p[7];
+    }
+
+    // FRUITS
+    for (int k = 0; k < fruits; k++, p += 10) {
+        int i = fruit_slot(gs, rd_u16(p), delta);
+        if (i < 0) continue;
+        gs->fruits[i].x = (float)rd_i16(p + 2);
+        gs->fruits[i].y = (float)rd_i16(p + 4);
+        const char* name = (p[6] < 3) ? FRUIT_NAMES[p[6]] : "Banana";
+        strncpy(gs->fruits[i].type, name, sizeof(gs->fruits[i].type) - 1);
+        gs->fruits[i].type[sizeof(gs->fruits[i].type) - 1] = '\0';
+        gs->fruits[i].active = p[7];
+        gs->fruits[i].points = rd_u16(p + 8);
+    }
+
+    // BAJAS (delta): se reemplaza por el último para no dejar huecos
+    for (int k = 0; k < removals; k++, p += 4) {
+        int id = rd_u16(p + 2);
+        if (p[0] == 0) {
+            for (int i = 0; i < gs->crocsCount; i++) {
+                if (gs->crocs[i].id == id) {
+                    gs->crocs[i] = gs->crocs[--gs->crocsCount];
+                    break;
+                }
+            }
+        } else {
+            for (int i = 0; i < gs->fruitsCount; i++) {
+                if (gs->fruits[i].id == id) {
+                    gs->fruits[i] = gs->fruits[--gs->fruitsCount];
+                    break;
+                }
+            }
+        }
+    }
+    return 1;
+}
@@ -56,11 +56,11 @@ int main_player(void) {
                 SDL_Keycode key = e.key.keysym.sym;
 
                 if (key == SDLK_ESCAPE) running = 0;
-                else if (key == SDLK_LEFT)  net_send_line(sock, "INPUT 0 LEFT");
-                else if (key == SDLK_RIGHT) net_send_line(sock, "INPUT 0 RIGHT");
-                else if (key == SDLK_UP)    net_send_line(sock, "INPUT 0 UP");
-                else if (key == SDLK_DOWN)  net_send_line(sock, "INPUT 0 DOWN");
-                else if (key == SDLK_SPACE) net_send_line(sock, "INPUT 0 JUMP");
+                else if (key == SDLK_LEFT)  net_send_input(sock, "LEFT");
+                else if (key == SDLK_RIGHT) net_send_input(sock, "RIGHT");
+                else if (key == SDLK_UP)    net_send_input(sock, "UP");
+                else if (key == SDLK_DOWN)  net_send_input(sock, "DOWN");
+                else if (key == SDLK_SPACE) net_send_input(sock, "JUMP");
             }
 
             else if (e.type == SDL_KEYUP) {
@@ -69,7 +69,7 @@ int main_player(void) {
                 if (key == SDLK_LEFT || key == SDLK_RIGHT ||
                     key == SDLK_UP || key == SDLK_DOWN)
                 {
-                    net_send_line(sock, "INPUT 0 STOP");
+                    net_send_input(sock, "STOP");
                 }
             }
         }
@@ -23,16 +23,168 @@ static int gsock = -1;
 // JSON recibido desde ADMIN PLAYERS
 static char g_players_json[2048] = {0};
 
+/* ============================================================
+   FRAMES DEL SERVIDOR
+   TEXT/JSON llegan delimitados:
+       FRAME <tick> <entidades>
+       ...líneas de estado...
+       END
+   Las líneas se aplican sobre una copia (staging) y recién en END
+   se publica el frame completo, así nunca se dibuja una mezcla de
+   dos ticks. Un frame con tick viejo o incompleto se descarta.
+   BINARY/DELTA traen tick y largo en su header.
+
+   El tick es de cada partida: al cambiar de jugador con SPECTATE
+   la cuenta vuelve a empezar desde el tick de la otra partida, así
+   que SPECTATE reinicia el filtro, y un salto hacia atrás grande se
+   toma como otro stream (un frame atrasado de verdad está a pocos
+   ticks: el servidor solo guarda el último).
+   ============================================================ */
+#define NET_ACK_EVERY 30       // cada cuántos frames aplicados se envía ACK <tick>
+#define NET_STALE_WINDOW 600   // ticks hacia atrás (~10 s) que cuentan como frame viejo
+
+static GameState staging;
+static int in_frame = 0;                 // entre FRAME y END
+static int skip_frame = 0;               // frame viejo: se ignoran sus líneas
+static unsigned long frame_tick = 0;
+static int frame_entities = 0;
+static int frame_seen = 0;
+
+static unsigned long last_tick = 0;      // último frame aplicado
+static volatile int stream_reset = 0;    // SPECTATE enviado: el próximo FRAME empieza otro stream
+static unsigned long frames_applied = 0;
+static unsigned long frames_dropped = 0;
+
+/* Avisa al servidor qué tick se aplicó (mide latencia de punta a punta) */
+static void send_ack(unsigned long tick) {
+    char line[32];
+    int n = snprintf(line, sizeof(line), "ACK %lu\n", tick);
+    send(gsock, line, n, 0);
+}
+
+static void frame_applied(unsigned long tick) {
+    last_tick = tick;
+    if (++frames_applied % NET_ACK_EVERY == 0) {
+        send_ack(tick);
+    }
+}
+
+static int is_entity_line(const char* line) {
+    return strncmp(line, "PLAYER", 6) == 0 || strncmp(line, "MARIO", 5) == 0 ||
+           strncmp(line, "CROC", 4) == 0   || strncmp(line, "FRUIT", 5) == 0;
+}
+
+static void handle_text_line(GameState* gs, const char* line) {
+    if (strncmp(line, "FRAME", 5) == 0) {
+        unsigned long tick = 0;
+        int entities = 0;
+        sscanf(line, "FRAME %lu %d", &tick, &entities);
+
+        if (stream_reset) {                          // otra partida: otro contador de ticks
+            stream_reset = 0;
+            last_tick = 0;
+            in_frame = 0;
+            skip_frame = 0;
+        }
+
+        if (in_frame) frames_dropped++;              // el anterior quedó sin END
+        in_frame = 1;
+        skip_frame = (last_tick != 0 && tick <= last_tick &&
+                      last_tick - tick < NET_STALE_WINDOW);
+        frame_tick = tick;
+        frame_entities = entities;
+        frame_seen = 0;
+
+        if (!skip_frame) {
+            staging = *gs;
+            staging.crocsCount = 0;
+            staging.fruitsCount = 0;
+        }
+        return;
+    }
+
+    if (strncmp(line, "END", 3) == 0) {
+        if (!in_frame) return;
+        in_frame = 0;
+
+        if (skip_frame || frame_seen != frame_entities) {
+            frames_dropped++;
+            return;
+        }
+
+        int anim = gs->player.animFrame;         // lo maneja el render
+        *gs = staging;
+        gs->player.animFrame = anim;
+        frame_applied(frame_tick);
+        return;
+    }
+
+    if (in_frame) {
+        if (skip_frame) return;
+        if (is_entity_line(line)) frame_seen++;
+        gs_apply_line(&staging, line);
+        return;
+    }
+
+    // Servidor sin FRAME/END: aplicar directo
+    if (strncmp(line, "PLAYER", 6) == 0) {
+        gs->crocsCount = 0;
+        gs->fruitsCount = 0;
+    }
+    gs_apply_line(gs, line);
+}
+
+/* Si hay varios frames de texto completos en el buffer solo importa
+   el último: devuelve dónde empieza, sin parsear los anteriores. */
+static int last_complete_frame(const char* buf, int start, int len) {
+    int best = start;
+    int frame_at = -1;
+    int complete = 0;
+    int pos = start;
+
+    while (pos < len) {
+        if (len - pos >= 4 && memcmp(buf + pos, GS_BIN_MAGIC, 4) == 0) break;
+
+        const char* nl = memchr(buf + pos, '\n', len - pos);
+        if (!nl) break;
+
+        if (strncmp(buf + pos, "FRAME ", 6) == 0) {
+            frame_at = pos;
+        } else if (strncmp(buf + pos, "END", 3) == 0 && frame_at >= 0) {
+            complete++;
+            best = frame_at;
+            frame_at = -1;
+        }
+        pos = (int)(nl - buf) + 1;
+    }
+
+    if (complete > 1) {
+        frames_dropped += complete - 1;
+        return best;
+    }
+    return start;
+}
+
 /* ============================================================
    FUNCIÓN MEJORADA de tu compañero para procesar frames del juego
    Maneja correctamente el buffering de datos de red
    ============================================================ */
 static void process_game_stream(GameState* gs, const char* data, int len) {
-    static char pending[4096];
+    static char pending[16384];
     static int pending_len = 0;
+    static int skip_bytes = 0;   // resto de un frame binario demasiado grande
 
     if (!gs || len <= 0) return;
 
+    // Descartar lo que queda de un frame binario que no cabe en el buffer
+    if (skip_bytes > 0) {
+        int n = (len < skip_bytes) ? len : skip_bytes;
+        skip_bytes -= n;
+        data += n;
+        len -= n;
+        if (len <= 0) return;
+    }
+
     // Evitar overflow del buffer pendiente
     if (pending_len + len >= (int)sizeof(pending)) {
         int drop = pending_len + len - ((int)sizeof(pending) - 1);
@@ -47,9 +199,43 @@ static void process_game_stream(GameState* gs, const char* data, int len) {
     memcpy(pending + pending_len, data, len);
     pending_len += len;
 
-    // Procesar líneas completas
-    int start = 0;
-    for (int i = 0; i < pending_len; ++i) {
+    // Procesar frames binarios y líneas completas
+    int start = last_complete_frame(pending, 0, pending_len);
+    int i = start;
+    while (i < pending_len) {
+        // Puede ser el comienzo de un magic que aún no llegó completo
+        if (i == start && pending_len - start < 4 &&
+            memcmp(pending + start, GS_BIN_MAGIC, pending_len - start) == 0) {
+            break;
+        }
+
+        // Frame binario: empieza con el magic "DKJB" al inicio de una línea
+        if (i == start && pending_len - start >= 4 &&
+            memcmp(pending + start, GS_BIN_MAGIC, 4) == 0) {
+            const unsigned char* frame = (const unsigned char*)(pending + start);
+            int frame_len = gs_binary_frame_length(frame, pending_len - start);
+            if (frame_len == 0) break;                       // header incompleto
+            if (frame_len < GS_BIN_HEADER_SIZE) {            // corrupto: saltar el magic
+                start += 4;
+                i = start;
+                continue;
+            }
+
+            if (frame_len > (int)sizeof(pending)) {          // no cabe: saltarlo
+                skip_bytes = frame_len - (pending_len - start);
+                start = pending_len;
+                break;
+            }
+            if (pending_len - start < frame_len) break;      // frame incompleto
+
+            if (gs_apply_binary(gs, frame, frame_len)) {
+                frame_applied(gs_binary_frame_tick(frame));
+            }
+            start += frame_len;
+            i = start;
+            continue;
+        }
+
         if (pending[i] == '\n') {
             pending[i] = '\0';
             char* line = pending + start;
@@ -58,15 +244,11 @@ static void process_game_stream(GameState* gs, const char* data, int len) {
             while (*line == '\r') ++line;
 
             if (*line) {
-                // Reiniciar contadores al inicio de un nuevo frame
-                if (strncmp(line, "PLAYER", 6) == 0) {
-                    gs->crocsCount = 0;
-                    gs->fruitsCount = 0;
-                }
-                gs_apply_line(gs, line);
+                handle_text_line(gs, line);
             }
             start = i + 1;
         }
+        ++i;
     }
 
     // Mover datos no procesados al inicio del buffer
@@ -139,7 +321,8 @@ static void* recv_thread(void* _) {
         }
     }
 
-    printf("[NET] Conexión cerrada.\n");
+    printf("[NET] Conexión cerrada. Frames aplicados: %lu, descartados: %lu\n",
+           frames_applied, frames_dropped);
     return NULL;
 }
 
@@ -196,8 +379,32 @@ void net_start_receiver(int sock, GameState* gs) {
    ============================================================ */
 void net_send_line(int sock, const char* line) {
     if (!line) return;
-    send(sock, line, (int)strlen(line), 0);
-    send(sock, "\n", 1, 0);
+
+    // Cambiar de jugador reinicia el filtro de frames viejos
+    if (strncmp(line, "SPECTATE", 8) == 0) stream_reset = 1;
+
+    // Una sola llamada a send: el hilo receptor también envía (ACK)
+    char buf[512];
+    int n = snprintf(buf, sizeof(buf), "%s\n", line);
+    if (n >= (int)sizeof(buf)) {
+        send(sock, line, (int)strlen(line), 0);
+        send(sock, "\n", 1, 0);
+        return;
+    }
+    send(sock, buf, n, 0);
+}
+
+
+/* ============================================================
+   Enviar entrada del jugador con número de secuencia
+   El servidor descarta entradas repetidas o fuera de orden
+   ============================================================ */
+void net_send_input(int sock, const char* command) {
+    static unsigned long seq = 0;
+    char line[64];
+    if (!command) return;
+    snprintf(line, sizeof(line), "INPUT 0 %s %lu", command, ++seq);
+    net_send_line(sock, line);
 }
 
 
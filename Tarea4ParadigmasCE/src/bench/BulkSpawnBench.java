@@ -0,0 +1,122 @@
+package bench;
+
+import entities.Cocodrilo;
+import model.EntityStore;
+import model.LevelGeometry;
+import model.Liana;
+import patterns.factory.EntityPools;
+import patterns.factory.GameObjectFactory;
+import patterns.factory.GameObjectFactoryImpl;
+import utils.TipoCocodrilo;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * BulkSpawnBench
+ * -----------------------------------------------------
+ * Costo de un paso de ADMIN CROC BULK: cuánto tarda crear STEP
+ * cocodrilos (lo que BulkSpawner hace como máximo por tick) con
+ * el mismo camino que GameManager.addCroc (factory sin log con
+ * pools, setLiana, EntityStore.add con inserción en la grilla),
+ * y cuánto la baja masiva (marcar + removeInactive).
+ *
+ * Llena el almacén hasta cada tamaño y lo vacía varias veces: la
+ * primera ronda es en frío (intérprete / JIT compilando), las
+ * siguientes en caliente. Mide sin el corte por tiempo de
+ * BulkSpawner, así se ve si un paso entero entra en su
+ * presupuesto de 2 ms.
+ *
+ * Uso: java -cp <clases> bench.BulkSpawnBench [rondas]
+ */
+public class BulkSpawnBench {
+
+    private static final int[] SIZES = {1000, 10000, 16000};
+    private static final int STEP = 512;                // BulkSpawner.MAX_PER_TICK
+    private static final long BUDGET_NANOS = 2_000_000; // BulkSpawner.TIME_BUDGET_NANOS
+    private static final double ROW_STEP = 53.0;
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        List<Liana> lianas = CrocMovementBench.buildLianas();
+
+        System.out.println("entidades | ronda    | pasos | paso µs prom | paso µs max | > 2 ms | B/entidad | baja µs");
+        for (int size : SIZES) {
+            EntityPools pools = new EntityPools();
+            GameObjectFactory factory = new GameObjectFactoryImpl(pools, false);
+            EntityStore<Cocodrilo> store = new EntityStore<>();
+
+            long[] cold = round(store, pools, factory, lianas, size);
+            print(size, "fría", cold);
+
+            long[] warm = new long[6];
+            for (int r = 1; r < rounds; r++) {
+                long[] m = round(store, pools, factory, lianas, size);
+                warm[0] = m[0];
+                warm[1] += m[1];
+                warm[2] = Math.max(warm[2], m[2]);
+                warm[3] += m[3];
+                warm[4] += m[4];
+                warm[5] += m[5];
+            }
+            int n = Math.max(1, rounds - 1);
+            print(size, "caliente", new long[]{warm[0], warm[1] / n, warm[2], warm[3], warm[4] / n, warm[5] / n});
+        }
+    }
+
+    /**
+     * Llena el almacén vacío hasta size en pasos de STEP y lo vacía.
+     * @return {pasos, µs prom por paso, µs máx por paso, pasos > 2 ms, B por entidad, µs de la baja}
+     */
+    private static long[] round(EntityStore<Cocodrilo> store, EntityPools pools, GameObjectFactory factory,
+                                List<Liana> lianas, int size) {
+        int steps = 0;
+        int over = 0;
+        long total = 0;
+        long max = 0;
+        long bytes0 = TextFrameBench.allocatedBytes();
+
+        int done = 0;
+        while (done < size) {
+            long t0 = System.nanoTime();
+            int end = Math.min(size, done + STEP);
+            for (; done < end; done++) {
+                int lianaId = done % lianas.size();
+                Liana liana = lianas.get(lianaId);
+                double x = liana.getPosicionInicio().x;
+                double y = altura(lianaId, done / lianas.size());
+                Cocodrilo croc = factory.crearCocodrilo(TipoCocodrilo.ROJO, pools.position(x, y));
+                croc.setLiana(liana);
+                store.add(croc);
+            }
+            long elapsed = System.nanoTime() - t0;
+            total += elapsed;
+            max = Math.max(max, elapsed);
+            if (elapsed > BUDGET_NANOS) over++;
+            steps++;
+        }
+        long bytes = (TextFrameBench.allocatedBytes() - bytes0) / size;
+
+        // Baja masiva: marcar todo (ADMIN CROC CLEAR) y reclamar en una pasada
+        long t0 = System.nanoTime();
+        for (int i = 0; i < store.size(); i++) {
+            store.active[i] = false;
+        }
+        store.removeInactive(id -> { }, pools::releaseCroc);
+        long clear = System.nanoTime() - t0;
+
+        return new long[]{steps, total / steps / 1_000, max / 1_000, over, bytes, clear / 1_000};
+    }
+
+    private static double altura(int lianaId, int row) {
+        LevelGeometry geometry = LevelGeometry.standard();
+        double minY = geometry.lianaMinY(lianaId);
+        double span = geometry.lianaMaxY(lianaId) - minY;
+        return (span <= 0) ? minY : minY + (row * ROW_STEP) % span;
+    }
+
+    private static void print(int size, String label, long[] m) {
+        System.out.printf(Locale.US, "%9d | %-8s | %5d | %12d | %11d | %6d | %9d | %7d%n",
+                size, label, m[0], m[1], m[2], m[3], m[4], m[5]);
+    }
+}
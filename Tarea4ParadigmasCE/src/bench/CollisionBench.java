@@ -0,0 +1,120 @@
+package bench;
+
+import entities.Cocodrilo;
+import model.EntityStore;
+import utils.EntityKernels;
+import utils.ScalarEntityKernels;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * CollisionBench
+ * -----------------------------------------------------
+ * Compara ScalarEntityKernels con simd.VectorEntityKernels:
+ *   - colisión jugador vs entidades (nextHit, recorrido completo
+ *     sin impactos: el peor caso del tick)
+ *   - descenso de los cocodrilos azules (moveBlue)
+ *
+ * Antes de medir verifica que ambas versiones den los mismos
+ * impactos y las mismas posiciones/estados.
+ *
+ * La versión vectorial solo está si se compila y ejecuta con
+ * --add-modules jdk.incubator.vector; si no, mide solo la escalar.
+ *
+ * Uso: java --add-modules jdk.incubator.vector -cp <clases> bench.CollisionBench [iteraciones]
+ */
+public class CollisionBench {
+
+    private static final int[] SIZES = {10, 100, 1000, 10000};
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        EntityKernels scalar = new ScalarEntityKernels();
+        EntityKernels vector = EntityKernels.vector();
+        if (vector == null) {
+            System.out.println("Vector API no disponible: solo kernels escalares");
+        } else {
+            verify(scalar, vector);
+        }
+
+        System.out.println("entidades | kernel | nextHit ns | moveBlue ns");
+        for (int size : SIZES) {
+            int iters = Math.max(1000, iterations / size);
+            for (EntityKernels k : vector == null ? List.of(scalar) : List.of(scalar, vector)) {
+                EntityStore<Cocodrilo> store = CrocMovementBench.buildStore(size, CrocMovementBench.buildLianas());
+                // Calentamiento (JIT)
+                runHit(k, store, iters);
+                runBlue(k, store, iters);
+
+                long hit = runHit(k, store, iters);
+                long blue = runBlue(k, store, iters);
+                System.out.printf(Locale.US, "%9d | %-6s | %10d | %11d%n",
+                        size, k == scalar ? "scalar" : "vector", hit, blue);
+            }
+        }
+    }
+
+    /* =========================================================
+       MEDICIONES
+       ========================================================= */
+
+    /** Jugador fuera de la pantalla: ningún impacto, se recorre todo. @return ns por llamada */
+    private static long runHit(EntityKernels k, EntityStore<?> store, int iters) {
+        long sink = 0;
+        long t0 = System.nanoTime();
+        for (int t = 0; t < iters; t++) {
+            sink += k.nextHit(store, 0, -1000.0 - (t & 1), -1000.0, 24.0, 28.0);
+        }
+        long t1 = System.nanoTime();
+        if (sink == 42) System.out.println();
+        return (t1 - t0) / iters;
+    }
+
+    private static long runBlue(EntityKernels k, EntityStore<Cocodrilo> store, int iters) {
+        long t0 = System.nanoTime();
+        for (int t = 0; t < iters; t++) {
+            k.moveBlue(store, 550.0);
+            if (t % 64 == 0) CrocMovementBench.revive(store);
+        }
+        return (System.nanoTime() - t0) / iters;
+    }
+
+    private static void verify(EntityKernels scalar, EntityKernels vector) {
+        Random random = new Random(7);
+        for (int size : new int[]{0, 1, 3, 7, 8, 9, 31, 100, 1000}) {
+            EntityStore<Cocodrilo> a = CrocMovementBench.buildStore(size, CrocMovementBench.buildLianas());
+            EntityStore<Cocodrilo> b = CrocMovementBench.buildStore(size, CrocMovementBench.buildLianas());
+
+            for (int t = 0; t < 500; t++) {
+                // Impactos desde posiciones al azar (todos, no solo el primero)
+                double px = random.nextDouble() * 960.0;
+                double py = 100.0 + random.nextDouble() * 450.0;
+                for (int from = 0; ; from++) {
+                    int hs = scalar.nextHit(a, from, px, py, 24.0, 28.0);
+                    int hv = vector.nextHit(a, from, px, py, 24.0, 28.0);
+                    if (hs != hv) {
+                        throw new IllegalStateException("nextHit distinto: " + hs + " vs " + hv
+                                + " (n=" + size + ", from=" + from + ")");
+                    }
+                    if (hs < 0) break;
+                    from = hs;
+                }
+
+                scalar.moveBlue(a, 550.0);
+                vector.moveBlue(b, 550.0);
+                for (int i = 0; i < size; i++) {
+                    if (a.y[i] != b.y[i] || a.active[i] != b.active[i]) {
+                        throw new IllegalStateException("moveBlue distinto en el slot " + i
+                                + " (n=" + size + ", tick " + t + ")");
+                    }
+                }
+                if (t % 64 == 0) {
+                    CrocMovementBench.revive(a);
+                    CrocMovementBench.revive(b);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package bench;
+
+import entities.Cocodrilo;
+import entities.CocodriloAzul;
+import entities.CocodriloRojo;
+import model.EntityStore;
+import model.LevelGeometry;
+import model.Liana;
+import model.Posicion;
+import patterns.strategy.CrocBatchMovement;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CrocMovementBench
+ * -----------------------------------------------------
+ * Compara el movimiento de cocodrilos uno por uno
+ * (Cocodrilo.update() → MovementStrategy.move) con
+ * CrocBatchMovement (un loop por tipo sobre el EntityStore).
+ *
+ * Antes de medir verifica que ambos caminos dejen exactamente
+ * las mismas posiciones, direcciones y estados durante 2000 ticks.
+ *
+ * Uso: java -cp <clases> bench.CrocMovementBench [ticks]
+ */
+public class CrocMovementBench {
+
+    private static final int[] SIZES = {10, 100, 1000, 10000};
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        List<Liana> lianas = buildLianas();
+        CrocBatchMovement batch = new CrocBatchMovement(LevelGeometry.standard());
+
+        verify(lianas, batch);
+
+        System.out.println("cocodrilos | strategy ns/tick | batch ns/tick | speedup");
+        for (int size : SIZES) {
+            EntityStore<Cocodrilo> a = buildStore(size, lianas);
+            EntityStore<Cocodrilo> b = buildStore(size, lianas);
+            int iters = Math.max(200, ticks / size);
+
+            // Calentamiento (JIT)
+            runStrategy(a, iters);
+            runBatch(b, batch, iters);
+
+            long strategy = runStrategy(a, iters);
+            long batched = runBatch(b, batch, iters);
+            System.out.printf(Locale.US, "%10d | %16d | %13d | %6.1fx%n",
+                    size, strategy, batched, (double) strategy / Math.max(1, batched));
+        }
+    }
+
+    /* =========================================================
+       ESCENARIO
+       ========================================================= */
+
+    static List<Liana> buildLianas() {
+        return LevelGeometry.standard().getLianas();
+    }
+
+    /** Mitad rojos (algunos sin liana), mitad azules con velocidades distintas. */
+    static EntityStore<Cocodrilo> buildStore(int size, List<Liana> lianas) {
+        EntityStore<Cocodrilo> store = new EntityStore<>();
+        for (int i = 0; i < size; i++) {
+            Posicion p = new Posicion(40.0 + i % 900, 140.0 + (i * 37) % 400);
+            Cocodrilo c;
+            if (i % 2 == 0) {
+                c = new CocodriloRojo(p);
+                if (i % 10 != 0) c.setLiana(lianas.get(i % lianas.size()));
+            } else {
+                c = new CocodriloAzul(p);
+                c.setVelocidad(1.5 + (i % 7) * 0.25);
+            }
+            store.add(c);
+        }
+        return store;
+    }
+
+    /** Vuelve a subir los azules que salieron por abajo (igual en ambos caminos). */
+    static void revive(EntityStore<Cocodrilo> store) {
+        for (int i = 0; i < store.size(); i++) {
+            if (!store.active[i]) {
+                store.active[i] = true;
+                store.y[i] = 140.0;
+                store.moved(i);
+            }
+        }
+    }
+
+    /* =========================================================
+       MEDICIONES
+       ========================================================= */
+
+    /** @return ns por tick */
+    private static long runStrategy(EntityStore<Cocodrilo> store, int iters) {
+        long t0 = System.nanoTime();
+        for (int t = 0; t < iters; t++) {
+            for (int i = 0; i < store.size(); i++) {
+                if (store.active[i]) store.get(i).update();
+            }
+            if (t % 64 == 0) revive(store);
+        }
+        return (System.nanoTime() - t0) / iters;
+    }
+
+    private static long runBatch(EntityStore<Cocodrilo> store, CrocBatchMovement batch, int iters) {
+        long t0 = System.nanoTime();
+        for (int t = 0; t < iters; t++) {
+            batch.moveAll(store);
+            if (t % 64 == 0) revive(store);
+        }
+        return (System.nanoTime() - t0) / iters;
+    }
+
+    private static void verify(List<Liana> lianas, CrocBatchMovement batch) {
+        EntityStore<Cocodrilo> a = buildStore(1000, lianas);
+        EntityStore<Cocodrilo> b = buildStore(1000, lianas);
+        for (int t = 0; t < 2000; t++) {
+            for (int i = 0; i < a.size(); i++) {
+                if (a.active[i]) a.get(i).update();
+            }
+            batch.moveAll(b);
+            for (int i = 0; i < a.size(); i++) {
+                if (a.y[i] != b.y[i] || a.direction[i] != b.direction[i] || a.active[i] != b.active[i]) {
+                    throw new IllegalStateException("Movimiento distinto en el tick " + t
+                            + ", slot " + i + ": " + a.get(i) + " vs " + b.get(i));
+                }
+            }
+            if (t % 64 == 0) {
+                revive(a);
+                revive(b);
+            }
+        }
+    }
+}
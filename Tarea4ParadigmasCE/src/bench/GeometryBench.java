@@ -0,0 +1,185 @@
+package bench;
+
+import model.LevelGeometry;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static utils.GameConstants.LIANAS;
+import static utils.GameConstants.PLATFORMS;
+
+/**
+ * GeometryBench
+ * -----------------------------------------------------
+ * Compara las consultas de física del jugador (plataforma debajo,
+ * aterrizaje, liana en x) hechas con un recorrido lineal sobre
+ * los arreglos Double[][] (como GameManager antes) contra el
+ * índice por columnas de LevelGeometry.
+ *
+ * Niveles al azar de 12, 100, 1000 y 5000 plataformas (y 1 liana
+ * cada 3 plataformas) sobre un ancho que crece con el nivel.
+ * Antes de medir verifica que ambos den lo mismo.
+ *
+ * Uso: java -cp <clases> bench.GeometryBench [consultas]
+ */
+public class GeometryBench {
+
+    private static final int[] SIZES = {12, 100, 1000, 5000};
+    private static final double W = 24.0;
+    private static final double H = 28.0;
+    private static final double GRAB = 15.0;
+
+    public static void main(String[] args) {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+
+        // Nivel real: barrido cada 0.5 px (incluye los bordes exactos)
+        int sweep = 0;
+        double[] sx = new double[2040 * 110];
+        double[] sy = new double[sx.length];
+        for (double x = -30.0; x < 990.0; x += 0.5) {
+            for (double y = 0.0; y < 550.0; y += 5.0) {
+                sx[sweep] = x;
+                sy[sweep++] = y;
+            }
+        }
+        verify(LevelGeometry.standard(), LIANAS, PLATFORMS, sx, sy);
+
+        System.out.println("plataformas | lineal ns/consulta | índice ns/consulta | speedup");
+        for (int size : SIZES) {
+            Random random = new Random(size);
+            double width = Math.max(960.0, size * 20.0);
+            Double[][] platforms = randomPlatforms(random, size, width);
+            Double[][] lianas = randomLianas(random, Math.max(1, size / 3), width);
+            LevelGeometry geometry = LevelGeometry.compile(lianas, platforms);
+
+            double[] qx = new double[4096];
+            double[] qy = new double[4096];
+            for (int i = 0; i < qx.length; i++) {
+                qx[i] = random.nextDouble() * width;
+                qy[i] = random.nextDouble() * 540.0;
+            }
+            verify(geometry, lianas, platforms, qx, qy);
+
+            int iters = Math.max(1000, queries / size);
+            runLinear(lianas, platforms, qx, qy, iters);
+            runIndexed(geometry, qx, qy, iters);
+
+            long linear = runLinear(lianas, platforms, qx, qy, iters);
+            long indexed = runIndexed(geometry, qx, qy, iters);
+            System.out.printf(Locale.US, "%11d | %18d | %18d | %6.1fx%n",
+                    size, linear, indexed, (double) linear / Math.max(1, indexed));
+        }
+    }
+
+    /* =========================================================
+       ESCENARIO
+       ========================================================= */
+
+    private static Double[][] randomPlatforms(Random random, int n, double width) {
+        Double[][] out = new Double[n][];
+        for (int i = 0; i < n; i++) {
+            out[i] = new Double[]{
+                    Math.floor(random.nextDouble() * width),
+                    Math.floor(100.0 + random.nextDouble() * 440.0),
+                    Math.floor(40.0 + random.nextDouble() * 200.0),
+                    12.0};
+        }
+        return out;
+    }
+
+    private static Double[][] randomLianas(Random random, int n, double width) {
+        Double[][] out = new Double[n][];
+        for (int i = 0; i < n; i++) {
+            double x = Math.floor(random.nextDouble() * width);
+            double y0 = Math.floor(50.0 + random.nextDouble() * 250.0);
+            out[i] = new Double[]{x, y0, x, y0 + 100.0 + Math.floor(random.nextDouble() * 200.0)};
+        }
+        return out;
+    }
+
+    /* =========================================================
+       REFERENCIA LINEAL (lo que hacía GameManager)
+       ========================================================= */
+
+    private static double linearTopBelow(Double[][] platforms, double x, double fromY) {
+        double best = Double.NaN;
+        for (Double[] p : platforms) {
+            if (x + W > p[0] && x < p[0] + p[2] && p[1] >= fromY) {
+                if (Double.isNaN(best) || p[1] < best) best = p[1];
+            }
+        }
+        return best;
+    }
+
+    private static double linearTopUnder(Double[][] platforms, double x, double fromY) {
+        double best = Double.NaN;
+        for (Double[] p : platforms) {
+            if (x >= p[0] && x <= p[0] + p[2] && p[1] >= fromY) {
+                if (Double.isNaN(best) || p[1] < best) best = p[1];
+            }
+        }
+        return best;
+    }
+
+    private static int linearLiana(Double[][] lianas, double cx, double top) {
+        for (int i = 0; i < lianas.length; i++) {
+            Double[] l = lianas[i];
+            if (Math.abs(l[0] - cx) < GRAB && top + H > l[1] && top < l[3]) return i;
+        }
+        return -1;
+    }
+
+    /* =========================================================
+       MEDICIONES
+       ========================================================= */
+
+    /** @return ns por consulta (las tres consultas de un tick) */
+    private static long runLinear(Double[][] lianas, Double[][] platforms,
+                                  double[] qx, double[] qy, int iters) {
+        double sink = 0;
+        long t0 = System.nanoTime();
+        for (int t = 0; t < iters; t++) {
+            int q = t & (qx.length - 1);
+            sink += linearTopBelow(platforms, qx[q], qy[q] + H);
+            sink += linearTopUnder(platforms, qx[q] + W / 2.0, qy[q] + H);
+            sink += linearLiana(lianas, qx[q] + W / 2.0, qy[q]);
+        }
+        long t1 = System.nanoTime();
+        if (sink == 42) System.out.println();
+        return (t1 - t0) / iters;
+    }
+
+    private static long runIndexed(LevelGeometry g, double[] qx, double[] qy, int iters) {
+        double sink = 0;
+        long t0 = System.nanoTime();
+        for (int t = 0; t < iters; t++) {
+            int q = t & (qx.length - 1);
+            sink += g.platformTopBelow(qx[q], W, qy[q] + H);
+            sink += g.platformTopUnder(qx[q] + W / 2.0, qy[q] + H);
+            sink += g.lianaAt(qx[q] + W / 2.0, qy[q], qy[q] + H, GRAB);
+        }
+        long t1 = System.nanoTime();
+        if (sink == 42) System.out.println();
+        return (t1 - t0) / iters;
+    }
+
+    private static void verify(LevelGeometry g, Double[][] lianas, Double[][] platforms,
+                               double[] qx, double[] qy) {
+        for (int q = 0; q < qx.length; q++) {
+            double x = qx[q];
+            double y = qy[q];
+            double a = linearTopBelow(platforms, x, y + H);
+            double b = g.platformTopBelow(x, W, y + H);
+            double c = linearTopUnder(platforms, x + W / 2.0, y + H);
+            double d = g.platformTopUnder(x + W / 2.0, y + H);
+            double e = linearTopBelow(platforms, x, y + H);
+            double f = g.platformLanding(x, W, y + H, y + H + 8.0);
+            boolean landingOk = Double.isNaN(e) || e > y + H + 8.0 ? Double.isNaN(f) : e == f;
+            boolean lianaOk = linearLiana(lianas, x + W / 2.0, y) == g.lianaAt(x + W / 2.0, y, y + H, GRAB);
+            if (Double.compare(a, b) != 0 || Double.compare(c, d) != 0 || !landingOk || !lianaOk) {
+                throw new IllegalStateException("Consulta distinta en x=" + x + ", y=" + y
+                        + " (" + platforms.length + " plataformas)");
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package bench;
+
+import entities.Cocodrilo;
+import model.EntityGrid;
+import model.EntityStore;
+import utils.EntityKernels;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * GridBench
+ * -----------------------------------------------------
+ * Colisión jugador vs cocodrilos: recorrido lineal con
+ * EntityKernels.nextHit contra la broad phase de EntityGrid
+ * (solo las celdas alrededor del jugador + prueba exacta).
+ *
+ * Cocodrilos repartidos por toda la pantalla y el jugador en
+ * posiciones al azar; se cuentan todos los choques (como
+ * checkFruits, o checkCrocs cuando no hay choque), así el
+ * lineal recorre siempre todo.
+ * Sirve para elegir GameManager.GRID_MIN_ENTITIES.
+ *
+ * Uso: java -cp <clases> bench.GridBench [consultas]
+ *      (con --add-modules jdk.incubator.vector el lineal es vectorial)
+ */
+public class GridBench {
+
+    private static final int[] SIZES = {10, 32, 64, 128, 1000, 10000};
+    private static final double W = 24.0;
+    private static final double H = 28.0;
+
+    public static void main(String[] args) {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        EntityKernels kernels = EntityKernels.get();
+
+        System.out.println("entidades | lineal ns | grilla ns | speedup");
+        for (int size : SIZES) {
+            Random random = new Random(size);
+            EntityStore<Cocodrilo> store = CrocMovementBench.buildStore(size, CrocMovementBench.buildLianas());
+            for (int i = 0; i < size; i++) {
+                store.x[i] = random.nextDouble() * 960.0;
+                store.y[i] = random.nextDouble() * 540.0;
+                store.moved(i);
+            }
+            double[] qx = new double[1024];
+            double[] qy = new double[1024];
+            for (int i = 0; i < qx.length; i++) {
+                qx[i] = random.nextDouble() * 960.0;
+                qy[i] = random.nextDouble() * 540.0;
+            }
+            EntityGrid.Query query = store.grid().query();
+            verify(kernels, store, query, qx, qy);
+
+            int iters = Math.max(20000, queries / size);
+            runLinear(kernels, store, qx, qy, iters);
+            runGrid(store, query, qx, qy, iters);
+
+            long linear = runLinear(kernels, store, qx, qy, iters);
+            long grid = runGrid(store, query, qx, qy, iters);
+            System.out.printf(Locale.US, "%9d | %9d | %9d | %6.1fx%n",
+                    size, linear, grid, (double) linear / Math.max(1, grid));
+        }
+    }
+
+    private static boolean hit(EntityStore<?> s, int i, double px, double py) {
+        return s.active[i] && Math.abs(s.x[i] - px) < W && Math.abs(s.y[i] - py) < H;
+    }
+
+    private static int linearHits(EntityKernels k, EntityStore<?> store, double px, double py) {
+        int hits = 0;
+        for (int i = k.nextHit(store, 0, px, py, W, H); i >= 0; i = k.nextHit(store, i + 1, px, py, W, H)) {
+            hits++;
+        }
+        return hits;
+    }
+
+    private static int gridHits(EntityStore<?> store, EntityGrid.Query query, double px, double py) {
+        int hits = 0;
+        query.reset(px - W, py - H, px + W, py + H);
+        for (int i = query.next(); i >= 0; i = query.next()) {
+            if (hit(store, i, px, py)) hits++;
+        }
+        return hits;
+    }
+
+    /** @return ns por consulta */
+    private static long runLinear(EntityKernels k, EntityStore<?> store, double[] qx, double[] qy, int iters) {
+        long sink = 0;
+        long t0 = System.nanoTime();
+        for (int t = 0; t < iters; t++) {
+            int q = t & (qx.length - 1);
+            sink += linearHits(k, store, qx[q], qy[q]);
+        }
+        long t1 = System.nanoTime();
+        if (sink == 42) System.out.println();
+        return (t1 - t0) / iters;
+    }
+
+    private static long runGrid(EntityStore<?> store, EntityGrid.Query query, double[] qx, double[] qy, int iters) {
+        long sink = 0;
+        long t0 = System.nanoTime();
+        for (int t = 0; t < iters; t++) {
+            int q = t & (qx.length - 1);
+            sink += gridHits(store, query, qx[q], qy[q]);
+        }
+        long t1 = System.nanoTime();
+        if (sink == 42) System.out.println();
+        return (t1 - t0) / iters;
+    }
+
+    /** Ambos deben encontrar la misma cantidad de choques. */
+    private static void verify(EntityKernels k, EntityStore<?> store, EntityGrid.Query query,
+                               double[] qx, double[] qy) {
+        for (int q = 0; q < qx.length; q++) {
+            int a = linearHits(k, store, qx[q], qy[q]);
+            int b = gridHits(store, query, qx[q], qy[q]);
+            if (a != b) {
+                throw new IllegalStateException("Choque distinto en x=" + qx[q] + ", y=" + qy[q]
+                        + " (" + store.size() + " entidades)");
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package bench;
+
+import model.GameState;
+import utils.GameStateSerializer;
+import utils.JsonFrameEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * JsonFrameBench
+ * -----------------------------------------------------
+ * Compara el modo JSON anterior (Gson reflexivo con
+ * setPrettyPrinting sobre todo el GameState) con
+ * JsonFrameEncoder: tiempo, bytes asignados y tamaño del
+ * frame para varios tamaños de partida.
+ *
+ * Usa el mismo escenario que TextFrameBench.
+ *
+ * Uso: java -cp <clases> bench.JsonFrameBench [iteraciones]
+ */
+public class JsonFrameBench {
+
+    private static final int[] SIZES = {10, 100, 1000};
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+
+        System.out.println("entidades | gson ns/frame | gson B/frame | gson tamaño | stream ns/frame | stream B/frame | stream tamaño");
+        for (int size : SIZES) {
+            GameState state = TextFrameBench.buildState(size);
+            JsonFrameEncoder encoder = new JsonFrameEncoder();
+            int iters = Math.max(100, iterations / size * 10);
+
+            // Calentamiento (JIT)
+            runGson(state, iters);
+            runStream(state, encoder, iters);
+
+            long[] gson = runGson(state, iters);
+            long[] stream = runStream(state, encoder, iters);
+
+            System.out.printf(Locale.US, "%9d | %13d | %12d | %11d | %15d | %14d | %13d%n",
+                    size, gson[0], gson[1], gson[2], stream[0], stream[1], stream[2]);
+        }
+        System.out.println("geometría (una vez por conexión): " + JsonFrameEncoder.geometry().length + " bytes");
+    }
+
+    /** @return {ns por frame, bytes asignados por frame, tamaño del último frame} */
+    private static long[] runGson(GameState state, int iters) {
+        int size = 0;
+        long bytes0 = TextFrameBench.allocatedBytes();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < iters; i++) {
+            TextFrameBench.step(state, i);
+            size = GameStateSerializer.toJson(state).getBytes(StandardCharsets.UTF_8).length;
+        }
+        long t1 = System.nanoTime();
+        long bytes1 = TextFrameBench.allocatedBytes();
+        return new long[]{(t1 - t0) / iters, (bytes1 - bytes0) / iters, size};
+    }
+
+    private static long[] runStream(GameState state, JsonFrameEncoder encoder, int iters) {
+        int size = 0;
+        long bytes0 = TextFrameBench.allocatedBytes();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < iters; i++) {
+            TextFrameBench.step(state, i);
+            size = encoder.encode(state, i).bytes.length;
+        }
+        long t1 = System.nanoTime();
+        long bytes1 = TextFrameBench.allocatedBytes();
+        return new long[]{(t1 - t0) / iters, (bytes1 - bytes0) / iters, size};
+    }
+}
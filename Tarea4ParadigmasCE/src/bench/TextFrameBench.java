@@ -0,0 +1,207 @@
+package bench;
+
+import entities.Cocodrilo;
+import entities.CocodriloAzul;
+import entities.CocodriloRojo;
+import entities.Fruta;
+import entities.Mario;
+import model.EntityStore;
+import model.GameState;
+import model.Posicion;
+import utils.TextFrameEncoder;
+import utils.TipoFruta;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static utils.GameConstants.*;
+
+/**
+ * TextFrameBench
+ * -----------------------------------------------------
+ * Compara la serialización TEXT anterior (String.format +
+ * StringBuilder) con TextFrameEncoder para varios tamaños de
+ * partida: tiempo por frame y bytes asignados por frame
+ * (contador de asignación del hilo de la JVM).
+ *
+ * Antes de medir verifica que ambas salidas sean idénticas
+ * byte a byte (sin las líneas FRAME / END que agrega el encoder).
+ * Al resultado se le resta el costo de mover las entidades entre
+ * frames (línea base).
+ *
+ * Uso: java -cp <clases> bench.TextFrameBench [iteraciones]
+ */
+public class TextFrameBench {
+
+    private static final int[] SIZES = {10, 100, 1000};
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+        System.out.println("entidades | legacy ns/frame | legacy B/frame | encoder ns/frame | encoder B/frame | copia B/frame");
+        for (int size : SIZES) {
+            GameState state = buildState(size);
+            TextFrameEncoder encoder = new TextFrameEncoder();
+
+            verify(state, encoder);
+
+            int iters = Math.max(200, iterations / size * 10);
+            // Calentamiento (JIT)
+            runLegacy(state, iters);
+            runEncoder(state, encoder, iters, false);
+
+            long[] base = runSteps(state, iters);
+            long[] legacy = minus(runLegacy(state, iters), base);
+            long[] encoded = minus(runEncoder(state, encoder, iters, false), base);
+            long[] copied = minus(runEncoder(state, encoder, iters, true), base);
+
+            System.out.printf(Locale.US, "%9d | %14d | %14d | %16d | %15d | %13d%n",
+                    size, legacy[0], legacy[1], encoded[0], encoded[1], copied[1]);
+        }
+    }
+
+    /* =========================================================
+       ESCENARIO
+       ========================================================= */
+
+    static GameState buildState(int entities) {
+        GameState state = new GameState();
+        state.setPlayerX(123.456);
+        state.setPlayerY(487.5);
+        state.setVelocityX(-2.345);
+        state.setVelocityY(0.005);
+        state.setMario(new Mario(2.0));
+
+        TipoFruta[] tipos = TipoFruta.values();
+        for (int i = 0; i < entities; i++) {
+            Posicion p = new Posicion(40.0 + i * 0.37, 100.0 + i * 0.5);
+            Cocodrilo c = (i % 2 == 0) ? new CocodriloRojo(p) : new CocodriloAzul(p);
+            state.getCocodrilos().add(c);
+
+            Fruta f = new Fruta();
+            f.setTipo(tipos[i % tipos.length]);
+            f.setPosicion(new Posicion(60.0 + i * 1.5, 200.0 - i * 0.25));
+            f.setActiva(i % 5 != 0);
+            state.getFrutas().add(f);
+        }
+        return state;
+    }
+
+    /** Mueve las entidades para que cada frame tenga valores distintos. */
+    static void step(GameState state, int i) {
+        double d = (i % 7) * 0.5;
+        state.setPlayerX(100.0 + d);
+        state.setVelocityY(-d / 3.0);
+        EntityStore<Cocodrilo> crocs = state.getCrocStore();
+        for (int c = 0; c < crocs.size(); c++) {
+            crocs.y[c] += (i % 2 == 0 ? d : -d);
+            crocs.moved(c);
+        }
+    }
+
+    /* =========================================================
+       MEDICIONES
+       ========================================================= */
+
+    /** Solo el movimiento entre frames (línea base). */
+    private static long[] runSteps(GameState state, int iters) {
+        long bytes0 = allocatedBytes();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < iters; i++) {
+            step(state, i);
+        }
+        long t1 = System.nanoTime();
+        long bytes1 = allocatedBytes();
+        return new long[]{(t1 - t0) / iters, (bytes1 - bytes0) / iters};
+    }
+
+    private static long[] minus(long[] a, long[] b) {
+        return new long[]{Math.max(0, a[0] - b[0]), Math.max(0, a[1] - b[1])};
+    }
+
+    /** @return {ns por frame, bytes asignados por frame} */
+    private static long[] runLegacy(GameState state, int iters) {
+        long sink = 0;
+        long bytes0 = allocatedBytes();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < iters; i++) {
+            step(state, i);
+            sink += legacyFrame(state).length;
+        }
+        long t1 = System.nanoTime();
+        long bytes1 = allocatedBytes();
+        if (sink == 42) System.out.println();
+        return new long[]{(t1 - t0) / iters, (bytes1 - bytes0) / iters};
+    }
+
+    private static long[] runEncoder(GameState state, TextFrameEncoder encoder, int iters, boolean copy) {
+        long sink = 0;
+        long bytes0 = allocatedBytes();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < iters; i++) {
+            step(state, i);
+            encoder.encode(state, i);
+            sink += copy ? encoder.toByteArray().length : encoder.length();
+        }
+        long t1 = System.nanoTime();
+        long bytes1 = allocatedBytes();
+        if (sink == 42) System.out.println();
+        return new long[]{(t1 - t0) / iters, (bytes1 - bytes0) / iters};
+    }
+
+    private static void verify(GameState state, TextFrameEncoder encoder) {
+        for (int i = 0; i < 50; i++) {
+            step(state, i);
+            byte[] expected = legacyFrame(state);
+            encoder.reset();
+            byte[] actual = encoder.body(state).toByteArray();
+            if (!Arrays.equals(expected, actual)) {
+                throw new IllegalStateException("Salida distinta en el frame " + i + ":\n"
+                        + new String(expected, StandardCharsets.US_ASCII) + "\n---\n"
+                        + new String(actual, StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Serialización TEXT anterior a TextFrameEncoder (referencia).
+     */
+    private static byte[] legacyFrame(GameState state) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(String.format(Locale.US,
+                "PLAYER 0 x=%.0f y=%.0f vx=%.2f vy=%.2f lives=%d score=%d jumping=%d onliana=%d won=%d gained_life=%d\n",
+                state.getPlayerX(), state.getPlayerY(),
+                state.getVelocityX(), state.getVelocityY(),
+                state.getLives(),
+                state.getScore(),
+                state.isJumping() ? 1 : 0,
+                state.isOnLiana() ? 1 : 0,
+                state.hasWon() ? 1 : 0,
+                state.getJustGainedLife() ? 1 : 0));
+
+        sb.append(String.format(Locale.US, "CAGE x=%.0f y=%.0f w=%d h=%d\n",
+                CAGE_X, CAGE_Y, CAGE_WIDTH, CAGE_HEIGHT));
+
+        if (state.getMario() != null) {
+            sb.append(state.getMario().toNetworkString()).append("\n");
+        }
+
+        for (Cocodrilo c : state.getCocodrilos())
+            sb.append(c.toNetworkString()).append("\n");
+
+        for (Fruta f : state.getFrutas())
+            if (f.isActiva())
+                sb.append(f.toNetworkString()).append("\n");
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
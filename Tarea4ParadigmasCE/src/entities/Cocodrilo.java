@@ -1,62 +1,198 @@
 package entities;
 
+import model.EntityStore;
 import model.Liana;
 import model.Posicion;
 import patterns.strategy.MovementStrategy;
 
-public class Cocodrilo {
-
-    // Sistema de IDs únicos
-    private static Integer nextId = 1;
+/**
+ * Cocodrilo
+ * -----------------------------------------------------
+ * Enemigo que se mueve por una liana según su MovementStrategy.
+ *
+ * Mientras está en el EntityStore de la partida, posición,
+ * velocidad, dirección y estado viven en su slot del almacén
+ * (getPosicion() devuelve una copia); fuera del almacén los
+ * guarda en sus propios campos.
+ */
+public class Cocodrilo implements EntityStore.Entity {
+
+    // Etiquetas de tipo en el EntityStore (mismos valores que el protocolo binario)
+    public static final int TIPO_ROJO = 0;
+    public static final int TIPO_AZUL = 1;
 
     private Integer id;
     private Posicion posicion;
-    private Double velocidad;
-    private Integer direccion;
-    private Boolean activo;
+    private final double velocidadInicial;
+    private double velocidad;
+    private int direccion;
+    private boolean activo;
     private MovementStrategy strategy;
     private Liana liana;
 
+    // Slot en el almacén de la partida (null / -1 si no está en ninguno).
+    // transient: el almacén apunta de vuelta a este objeto
+    private transient EntityStore<?> store = null;
+    private transient int slot = EntityStore.NO_SLOT;
+
     // Estado para cocodrilos rojos (movimiento horizontal)
     private Boolean isAligned = false;  // Si ya está alineado verticalmente con la liana
     private Integer horizontalDirection = 1;  // 1 = derecha, -1 = izquierda
 
     public Cocodrilo(Posicion posicion, Double velocidad, MovementStrategy strategy) {
-        this.id = nextId++;
+        this.id = 0;                    // lo da el EntityStore al agregarlo
         this.posicion = posicion;
+        this.velocidadInicial = velocidad;
         this.velocidad = velocidad;
         this.strategy = strategy;
         this.direccion = 1;
-        this.activo = Boolean.TRUE;
+        this.activo = true;
         this.liana = null;
     }
 
+    /**
+     * Deja el cocodrilo como recién creado en posicion para
+     * reutilizarlo desde un pool (ver EntityPools); el id nuevo se
+     * lo da el almacén al agregarlo.
+     * No debe estar en un almacén.
+     * @return la Posicion que tenía (para devolverla a su pool)
+     */
+    public Posicion reset(Posicion posicion) {
+        if (store != null) {
+            throw new IllegalStateException("Cocodrilo " + id + " sigue en un almacén");
+        }
+        Posicion anterior = this.posicion;
+        this.posicion = posicion;
+        this.velocidad = velocidadInicial;
+        this.direccion = 1;
+        this.activo = true;
+        this.liana = null;
+        this.isAligned = false;
+        this.horizontalDirection = 1;
+        return anterior;
+    }
+
     public void update() {
-        if (strategy != null && activo) {
+        if (strategy != null && activo()) {
             strategy.move(this);
         }
     }
 
+    /* =========================================================
+       ENTITY STORE
+       ========================================================= */
+
+    @Override
+    public int entityId() { return id; }
+
+    @Override
+    public void attach(EntityStore<?> store, int slot, int id) {
+        this.id = id;
+        this.store = store;
+        this.slot = slot;
+        store.x[slot] = posicion.x;
+        store.y[slot] = posicion.y;
+        store.velocity[slot] = velocidad;
+        store.direction[slot] = direccion;
+        store.active[slot] = activo;
+        store.type[slot] = tipo();
+        store.lane[slot] = liana != null ? liana.getId() : EntityStore.NO_LANE;
+        store.batched[slot] = batched();
+    }
+
+    @Override
+    public void moveTo(int slot) { this.slot = slot; }
+
+    @Override
+    public void detach() {
+        posicion.x = store.x[slot];     // la Posicion es propia: se reutiliza
+        posicion.y = store.y[slot];
+        velocidad = store.velocity[slot];
+        direccion = store.direction[slot];
+        activo = store.active[slot];
+        store = null;
+        slot = EntityStore.NO_SLOT;
+    }
+
+    /**
+     * true si la estrategia es una de las estándar (roja o azul): el
+     * tick la mueve junto con las demás en CrocBatchMovement. Con
+     * cualquier otra estrategia se llama a update() uno por uno.
+     */
+    public boolean batched() {
+        return strategy != null && (strategy.getClass() == patterns.strategy.RedCrocStrategy.class
+                || strategy.getClass() == patterns.strategy.BlueCrocStrategy.class);
+    }
+
+    /** Etiqueta de tipo según la estrategia (TIPO_ROJO / TIPO_AZUL). */
+    public int tipo() {
+        return (strategy instanceof patterns.strategy.RedCrocStrategy) ? TIPO_ROJO : TIPO_AZUL;
+    }
+
+    // Accesores primitivos (leen/escriben el slot si está en el almacén)
+
+    public double x() { return store != null ? store.x[slot] : posicion.x; }
+    public void setX(double x) {
+        if (store != null) { store.x[slot] = x; store.moved(slot); } else posicion.x = x;
+    }
+
+    public double y() { return store != null ? store.y[slot] : posicion.y; }
+    public void setY(double y) {
+        if (store != null) { store.y[slot] = y; store.moved(slot); } else posicion.y = y;
+    }
+
+    public double velocidad() { return store != null ? store.velocity[slot] : velocidad; }
+
+    public int direccion() { return store != null ? store.direction[slot] : direccion; }
+
+    public boolean activo() { return store != null ? store.active[slot] : activo; }
+
     // Getters y Setters
     public Integer getId() { return id; }
 
-    public Posicion getPosicion() { return posicion; }
-    public void setPosicion(Posicion posicion) { this.posicion = posicion; }
+    /** Posición actual; si está en el almacén es una copia (usar setX/setY para mover). */
+    public Posicion getPosicion() {
+        return store != null ? new Posicion(store.x[slot], store.y[slot]) : posicion;
+    }
+    public void setPosicion(Posicion posicion) {
+        if (store != null) {
+            store.x[slot] = posicion.x;
+            store.y[slot] = posicion.y;
+            store.moved(slot);
+        } else {
+            this.posicion = posicion;
+        }
+    }
 
-    public Double getVelocidad() { return velocidad; }
-    public void setVelocidad(Double velocidad) { this.velocidad = velocidad; }
+    public Double getVelocidad() { return velocidad(); }
+    public void setVelocidad(Double velocidad) {
+        if (store != null) store.velocity[slot] = velocidad; else this.velocidad = velocidad;
+    }
 
-    public Integer getDireccion() { return direccion; }
-    public void setDireccion(Integer direccion) { this.direccion = direccion; }
+    public Integer getDireccion() { return direccion(); }
+    public void setDireccion(Integer direccion) {
+        if (store != null) store.direction[slot] = direccion; else this.direccion = direccion;
+    }
 
-    public Boolean isActivo() { return activo; }
-    public void setActivo(Boolean activo) { this.activo = activo; }
+    public Boolean isActivo() { return activo(); }
+    public void setActivo(Boolean activo) {
+        if (store != null) store.active[slot] = activo; else this.activo = activo;
+    }
 
     public MovementStrategy getStrategy() { return strategy; }
-    public void setStrategy(MovementStrategy strategy) { this.strategy = strategy; }
+    public void setStrategy(MovementStrategy strategy) {
+        this.strategy = strategy;
+        if (store != null) {
+            store.type[slot] = tipo();
+            store.batched[slot] = batched();
+        }
+    }
 
     public Liana getLiana() { return liana; }
-    public void setLiana(Liana liana) { this.liana = liana; }
+    public void setLiana(Liana liana) {
+        this.liana = liana;
+        if (store != null) store.lane[slot] = liana != null ? liana.getId() : EntityStore.NO_LANE;
+    }
 
     public Boolean getIsAligned() { return isAligned; }
     public void setIsAligned(Boolean isAligned) { this.isAligned = isAligned; }
@@ -65,14 +201,14 @@ public class Cocodrilo {
     public void setHorizontalDirection(Integer horizontalDirection) { this.horizontalDirection = horizontalDirection; }
 
     public String toNetworkString() {
-        String tipo = (strategy instanceof patterns.strategy.RedCrocStrategy) ? "RED" : "BLUE";
+        String tipo = (tipo() == TIPO_ROJO) ? "RED" : "BLUE";
         return String.format("CROC %d type=%s x=%.0f y=%.0f alive=%d",
-                id, tipo, posicion.x, posicion.y, activo ? 1 : 0);
+                id, tipo, x(), y(), activo() ? 1 : 0);
     }
 
     @Override
     public String toString() {
         return String.format("Cocodrilo{id=%d, pos=%s, velocidad=%.1f, activo=%b}",
-                id, posicion, velocidad, activo);
+                id, getPosicion(), velocidad(), activo());
     }
-}
\ No newline at end of file
+}
@@ -1,30 +1,109 @@
 package entities;
 
+import model.EntityStore;
 import model.Liana;
 import model.Posicion;
 import utils.TipoFruta;
 
-public class Fruta {
+/**
+ * Fruta
+ * -----------------------------------------------------
+ * Fruta colgada de una liana que da puntos al recogerla.
+ *
+ * Mientras está en el EntityStore de la partida, posición, puntos,
+ * estado y tipo (ordinal de TipoFruta) viven en su slot del
+ * almacén (getPosicion() devuelve una copia); fuera del almacén
+ * los guarda en sus propios campos.
+ */
+public class Fruta implements EntityStore.Entity {
 
-    // Sistema de IDs únicos
-    private static Integer nextId = 1;
+    // Etiqueta de tipo en el EntityStore para una fruta sin tipo
+    public static final int SIN_TIPO = -1;
 
     private Integer id;
     private TipoFruta tipo;
     private Posicion posicion;
     private Liana liana;
-    private Integer puntos;
-    private Boolean activa;
+    private int puntos;
+    private boolean activa;
+
+    // Slot en el almacén de la partida (null / -1 si no está en ninguno).
+    // transient: el almacén apunta de vuelta a este objeto
+    private transient EntityStore<?> store = null;
+    private transient int slot = EntityStore.NO_SLOT;
 
     public Fruta() {
-        this.id = nextId++;
+        this.id = 0;                    // lo da el EntityStore al agregarlo
         this.tipo = null;
         this.posicion = null;
         this.liana = null;
         this.puntos = 0;
-        this.activa = Boolean.TRUE;
+        this.activa = true;
+    }
+
+    /**
+     * Deja la fruta como recién creada (sin tipo, activa) en
+     * posicion, para reutilizarla desde un pool; el id nuevo se lo
+     * da el almacén al agregarla.
+     * No debe estar en un almacén.
+     * @return la Posicion que tenía (para devolverla a su pool)
+     */
+    public Posicion reset(Posicion posicion) {
+        if (store != null) {
+            throw new IllegalStateException("Fruta " + id + " sigue en un almacén");
+        }
+        Posicion anterior = this.posicion;
+        this.tipo = null;
+        this.posicion = posicion;
+        this.liana = null;
+        this.puntos = 0;
+        this.activa = true;
+        return anterior;
+    }
+
+    /* =========================================================
+       ENTITY STORE
+       ========================================================= */
+
+    @Override
+    public int entityId() { return id; }
+
+    @Override
+    public void attach(EntityStore<?> store, int slot, int id) {
+        if (posicion == null) {
+            throw new IllegalStateException("Fruta " + id + " sin posición");
+        }
+        this.id = id;
+        this.store = store;
+        this.slot = slot;
+        store.x[slot] = posicion.x;
+        store.y[slot] = posicion.y;
+        store.active[slot] = activa;
+        store.type[slot] = tipo != null ? tipo.ordinal() : SIN_TIPO;
+        store.value[slot] = puntos;
+        store.lane[slot] = liana != null ? liana.getId() : EntityStore.NO_LANE;
     }
 
+    @Override
+    public void moveTo(int slot) { this.slot = slot; }
+
+    @Override
+    public void detach() {
+        posicion.x = store.x[slot];     // la Posicion es propia: se reutiliza
+        posicion.y = store.y[slot];
+        activa = store.active[slot];
+        puntos = store.value[slot];
+        store = null;
+        slot = EntityStore.NO_SLOT;
+    }
+
+    // Accesores primitivos (leen el slot si está en el almacén)
+
+    public double x() { return store != null ? store.x[slot] : posicion.x; }
+    public double y() { return store != null ? store.y[slot] : posicion.y; }
+    public int puntos() { return store != null ? store.value[slot] : puntos; }
+    public boolean activa() { return store != null ? store.active[slot] : activa; }
+
     // Getters y Setters
     public Integer getId() { return id; }
 
@@ -32,30 +111,49 @@ public class Fruta {
     public void setTipo(TipoFruta tipo) {
         this.tipo = tipo;
         if (tipo != null) {
-            this.puntos = tipo.getPuntos();
+            setPuntos(tipo.getPuntos());
         }
+        if (store != null) store.type[slot] = tipo != null ? tipo.ordinal() : SIN_TIPO;
     }
 
-    public Posicion getPosicion() { return posicion; }
-    public void setPosicion(Posicion posicion) { this.posicion = posicion; }
+    /** Posición actual; si está en el almacén es una copia. */
+    public Posicion getPosicion() {
+        return store != null ? new Posicion(store.x[slot], store.y[slot]) : posicion;
+    }
+    public void setPosicion(Posicion posicion) {
+        if (store != null) {
+            store.x[slot] = posicion.x;
+            store.y[slot] = posicion.y;
+            store.moved(slot);
+        } else {
+            this.posicion = posicion;
+        }
+    }
 
     public Liana getLiana() { return liana; }
-    public void setLiana(Liana liana) { this.liana = liana; }
+    public void setLiana(Liana liana) {
+        this.liana = liana;
+        if (store != null) store.lane[slot] = liana != null ? liana.getId() : EntityStore.NO_LANE;
+    }
 
-    public Integer getPuntos() { return puntos; }
-    public void setPuntos(Integer puntos) { this.puntos = puntos; }
+    public Integer getPuntos() { return puntos(); }
+    public void setPuntos(Integer puntos) {
+        if (store != null) store.value[slot] = puntos; else this.puntos = puntos;
+    }
 
-    public Boolean isActiva() { return activa; }
-    public void setActiva(Boolean activa) { this.activa = activa; }
+    public Boolean isActiva() { return activa(); }
+    public void setActiva(Boolean activa) {
+        if (store != null) store.active[slot] = activa; else this.activa = activa;
+    }
 
     public String toNetworkString() {
         return String.format("FRUIT %d type=%s x=%.0f y=%.0f points=%d active=%d",
-                id, tipo.getNombre(), posicion.x, posicion.y, puntos, activa ? 1 : 0);
+                id, tipo.getNombre(), x(), y(), puntos(), activa() ? 1 : 0);
     }
 
     @Override
     public String toString() {
         return String.format("Fruta{id=%d, tipo=%s, pos=%s, puntos=%d, activa=%b}",
-                id, tipo, posicion, puntos, activa);
+                id, tipo, getPosicion(), puntos(), activa());
     }
-}
\ No newline at end of file
+}
@@ -8,8 +8,6 @@ import model.Posicion;
  */
 public class Mario {
 
-    private static Integer idCounter = 0;
-
     private Integer id;
     private Posicion posicion;
     private Double velocidad;
@@ -29,12 +27,27 @@ public class Mario {
      * @param velocidad Velocidad de movimiento (píxeles por tick)
      */
     public Mario(Double velocidad) {
-        this.id = idCounter++;
+        this.id = 0;
         this.posicion = new Posicion(MIN_X, Y_FIXED);
         this.velocidad = velocidad;
         this.moviendoDerecha = true;
     }
 
+    /**
+     * Vuelve al inicio del patrullaje (nivel nuevo) sin crear un
+     * Mario nuevo. El id sube para que los clientes lo vean como uno
+     * nuevo; hay un Mario por partida, así que basta un contador
+     * propio (16 bits, como en el protocolo binario).
+     * @param velocidad Velocidad de movimiento (píxeles por tick)
+     */
+    public void reiniciar(Double velocidad) {
+        this.id = (id + 1) & 0xFFFF;
+        this.posicion.x = MIN_X;
+        this.posicion.y = Y_FIXED;
+        this.velocidad = velocidad;
+        this.moviendoDerecha = true;
+    }
+
     /**
      * Actualiza la posición de Mario (patrullaje)
      */
@@ -66,8 +79,8 @@ public class Mario {
      * @param playerHeight Alto del jugador
      * @return true si hay colisión
      */
-    public boolean colisionaConJugador(Double playerX, Double playerY,
-                                       Double playerWidth, Double playerHeight) {
+    public boolean colisionaConJugador(double playerX, double playerY,
+                                       double playerWidth, double playerHeight) {
         // Colisión AABB (Axis-Aligned Bounding Box)
         boolean colisionX = playerX + playerWidth > posicion.x &&
                 playerX < posicion.x + WIDTH;
@@ -0,0 +1,52 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * DespawnList
+ * -----------------------------------------------------
+ * Ids de las entidades reclamadas (eliminadas por inactivas) en
+ * el tick actual. GameManager la vacía al empezar cada tick, así
+ * cada baja sale en un solo frame (aviso de despawn).
+ *
+ * Es un IntConsumer para pasarla directo a
+ * EntityStore.removeInactive sin crear lambdas.
+ *
+ * GameManager usa otra como lista reutilizable de los ids que
+ * marcó ADMIN CLEAR en el tick, para deshacerlos sin asignar.
+ */
+public final class DespawnList implements IntConsumer {
+
+    private int[] ids = new int[16];
+    private int size = 0;
+
+    @Override
+    public void accept(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int id(int i) {
+        return ids[i];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copia los ids al principio de dst (para GameSnapshot).
+     * @return cantidad copiada
+     */
+    public int copyTo(int[] dst) {
+        System.arraycopy(ids, 0, dst, 0, size);
+        return size;
+    }
+}
@@ -0,0 +1,176 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * EntityGrid
+ * -----------------------------------------------------
+ * Grilla uniforme sobre los slots de un EntityStore (broad phase):
+ * la pantalla se parte en celdas de CELL_SIZE px y cada celda
+ * tiene una lista doblemente enlazada de los slots cuya posición
+ * cae en ella (head por celda, next/prev por slot, sin nodos).
+ *
+ * Se actualiza de a un slot: al agregar, al eliminar (o compactar)
+ * y cuando una entidad se mueve (EntityStore.moved). Si la entidad
+ * no cambió de celda, moverla cuesta solo calcular la celda.
+ * Las posiciones fuera de pantalla caen en la celda del borde.
+ *
+ * Una consulta por rectángulo recorre solo las celdas que toca
+ * (2x2 para la caja del jugador) con un Query reutilizable.
+ */
+public final class EntityGrid {
+
+    public static final double CELL_SIZE = 64.0;
+
+    // Cubre la ventana (960x540) con una celda de margen en cada lado
+    private static final double ORIGIN_X = -CELL_SIZE;
+    private static final double ORIGIN_Y = -CELL_SIZE;
+    private static final double INV_CELL = 1.0 / CELL_SIZE;
+    private static final int COLUMNS = 17;
+    private static final int ROWS = 11;
+
+    private static final int NONE = -1;
+
+    private final int[] head = new int[COLUMNS * ROWS];
+
+    // Por slot
+    private int[] cell;
+    private int[] next;
+    private int[] prev;
+
+    EntityGrid(int capacity) {
+        Arrays.fill(head, NONE);
+        cell = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+    }
+
+    void ensure(int capacity) {
+        if (capacity <= cell.length) return;
+        cell = Arrays.copyOf(cell, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+
+    /* =========================================================
+       ACTUALIZACIÓN (la hace EntityStore)
+       ========================================================= */
+
+    void insert(int slot, double x, double y) {
+        link(slot, cellOf(x, y));
+    }
+
+    /** La entidad del slot se movió: cambia de lista solo si cambió de celda. */
+    void update(int slot, double x, double y) {
+        int c = cellOf(x, y);
+        if (c != cell[slot]) {
+            unlink(slot);
+            link(slot, c);
+        }
+    }
+
+    void remove(int slot) {
+        unlink(slot);
+    }
+
+    /** La compactación movió el slot from a to (to ya no está en la grilla). */
+    void move(int from, int to) {
+        int c = cell[from];
+        int p = prev[from];
+        int n = next[from];
+        cell[to] = c;
+        prev[to] = p;
+        next[to] = n;
+        if (p != NONE) next[p] = to; else head[c] = to;
+        if (n != NONE) prev[n] = to;
+    }
+
+    void clear() {
+        Arrays.fill(head, NONE);
+    }
+
+    private void link(int slot, int c) {
+        int h = head[c];
+        cell[slot] = c;
+        prev[slot] = NONE;
+        next[slot] = h;
+        if (h != NONE) prev[h] = slot;
+        head[c] = slot;
+    }
+
+    private void unlink(int slot) {
+        int p = prev[slot];
+        int n = next[slot];
+        if (p != NONE) next[p] = n; else head[cell[slot]] = n;
+        if (n != NONE) prev[n] = p;
+    }
+
+    // El cast trunca hacia 0 en vez de floor: solo cambia algo antes
+    // de la celda 0, que igual se recorta a 0
+    private static int column(double x) {
+        int c = (int) ((x - ORIGIN_X) * INV_CELL);
+        return c < 0 ? 0 : Math.min(c, COLUMNS - 1);
+    }
+
+    private static int row(double y) {
+        int r = (int) ((y - ORIGIN_Y) * INV_CELL);
+        return r < 0 ? 0 : Math.min(r, ROWS - 1);
+    }
+
+    private static int cellOf(double x, double y) {
+        return row(y) * COLUMNS + column(x);
+    }
+
+    /* =========================================================
+       CONSULTAS
+       ========================================================= */
+
+    /** Cursor para recorrer los slots de las celdas de un rectángulo. */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Recorre los candidatos (slots en las celdas que toca el
+     * rectángulo [x0, x1] x [y0, y1]); el llamador hace la prueba
+     * exacta. Cada slot aparece una sola vez, sin orden.
+     * No se debe agregar ni eliminar durante el recorrido.
+     */
+    public final class Query {
+
+        private int col0, col1, row1;
+        private int col, row;
+        private int slot = NONE;
+
+        private Query() {}
+
+        public Query reset(double x0, double y0, double x1, double y1) {
+            col0 = column(x0);
+            col1 = column(x1);
+            row1 = row(y1);
+            col = col0 - 1;
+            row = row(y0);
+            slot = NONE;
+            return this;
+        }
+
+        /** Siguiente slot candidato, o -1 al terminar. */
+        public int next() {
+            if (slot != NONE) {
+                slot = next[slot];
+            }
+            while (slot == NONE) {
+                if (++col > col1) {
+                    col = col0;
+                    if (++row > row1) {
+                        row = row1;     // queda agotado hasta el próximo reset
+                        col = col1;
+                        return NONE;
+                    }
+                }
+                slot = head[row * COLUMNS + col];
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * EntityStore
+ * -----------------------------------------------------
+ * Almacén de entidades en arreglos paralelos (structure of arrays):
+ * la posición, velocidad, dirección, estado, tipo y liana de la
+ * entidad del slot i están en x[i], y[i], velocity[i], ... en
+ * memoria contigua.
+ * Los loops del tick (movimiento, colisiones, codificación de frames)
+ * recorren estos arreglos en vez de saltar entre objetos.
+ *
+ * Los objetos (Cocodrilo, Fruta) siguen existiendo como "handles":
+ * mientras están en el almacén leen y escriben su slot; al salir
+ * recuperan sus datos en campos propios.
+ *
+ * El orden de los slots es el orden de inserción, y eliminar
+ * compacta sin cambiarlo. El almacén da los ids (IdAllocator:
+ * chicos, reutilizables, con generación) y su tabla id → slot
+ * permite buscar y eliminar por id sin recorrer.
+ *
+ * Una EntityGrid (grid) indexa los slots por celda para buscar
+ * por posición sin recorrer todo. Quien escribe x/y directamente
+ * en los arreglos debe avisar con moved(slot).
+ *
+ * Además es una List de los objetos, para el código que recorre
+ * o agrega entidades como antes (solo se agrega al final).
+ *
+ * Los arreglos se reemplazan al crecer: leer el campo en cada uso,
+ * no guardarlo.
+ */
+public final class EntityStore<E extends EntityStore.Entity> extends AbstractList<E>
+        implements RandomAccess {
+
+    /**
+     * Entidad que puede vivir en un EntityStore.
+     */
+    public interface Entity {
+        /** Id que le dio el almacén (> 0), o 0 si nunca estuvo en uno. */
+        int entityId();
+
+        /**
+         * Entra al almacén con ese id: copia sus datos al slot y
+         * desde ahora lo usa. Conserva el id al salir.
+         */
+        void attach(EntityStore<?> store, int slot, int id);
+
+        /** La compactación la movió a otro slot. */
+        void moveTo(int slot);
+
+        /** Sale del almacén: copia los datos del slot a sus campos. */
+        void detach();
+    }
+
+    public static final int NO_SLOT = -1;
+    public static final int NO_LANE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size = 0;
+    private Object[] entities = new Object[INITIAL_CAPACITY];
+    private final IdAllocator allocator = new IdAllocator();
+    private final EntityGrid grid = new EntityGrid(INITIAL_CAPACITY);
+
+    // Datos por slot (válidos hasta size)
+    public int[] ids = new int[INITIAL_CAPACITY];
+    public double[] x = new double[INITIAL_CAPACITY];
+    public double[] y = new double[INITIAL_CAPACITY];
+    public double[] velocity = new double[INITIAL_CAPACITY];
+    public int[] direction = new int[INITIAL_CAPACITY];
+    public boolean[] active = new boolean[INITIAL_CAPACITY];
+    public int[] type = new int[INITIAL_CAPACITY];       // etiqueta de tipo de la entidad
+    public int[] value = new int[INITIAL_CAPACITY];      // dato extra (puntos de la fruta)
+    public int[] lane = new int[INITIAL_CAPACITY];       // id de la liana asignada, o NO_LANE
+    public boolean[] batched = new boolean[INITIAL_CAPACITY];  // lo mueve un kernel por lotes
+
+    /* =========================================================
+       ALTAS / BAJAS
+       ========================================================= */
+
+    /**
+     * Agrega al final con un id nuevo.
+     * @throws IllegalStateException si no quedan ids (IdAllocator.MAX_INDEX)
+     */
+    @Override
+    public boolean add(E entity) {
+        int current = allocator.slotOf(entity.entityId());
+        if (current != NO_SLOT && entities[current] == entity) {
+            throw new IllegalArgumentException("La entidad " + entity.entityId() + " ya está en el almacén");
+        }
+        ensure(size + 1);
+        int slot = size;
+        int id = allocator.allocate(slot);
+        entities[slot] = entity;
+        ids[slot] = id;
+        x[slot] = 0.0;
+        y[slot] = 0.0;
+        velocity[slot] = 0.0;
+        direction[slot] = 0;
+        active[slot] = true;
+        type[slot] = 0;
+        value[slot] = 0;
+        lane[slot] = NO_LANE;
+        batched[slot] = false;
+        size++;
+        entity.attach(this, slot, id);
+        grid.insert(slot, x[slot], y[slot]);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int position, E entity) {
+        if (position != size) {
+            throw new UnsupportedOperationException("EntityStore solo agrega al final");
+        }
+        add(entity);
+    }
+
+    /** Elimina el slot y corre los siguientes un lugar (mantiene el orden). */
+    @Override
+    public E remove(int slot) {
+        checkSlot(slot);
+        E entity = get(slot);
+        entity.detach();
+        allocator.release(ids[slot]);
+        grid.remove(slot);
+
+        int moved = size - slot - 1;
+        if (moved > 0) {
+            System.arraycopy(entities, slot + 1, entities, slot, moved);
+            System.arraycopy(ids, slot + 1, ids, slot, moved);
+            System.arraycopy(x, slot + 1, x, slot, moved);
+            System.arraycopy(y, slot + 1, y, slot, moved);
+            System.arraycopy(velocity, slot + 1, velocity, slot, moved);
+            System.arraycopy(direction, slot + 1, direction, slot, moved);
+            System.arraycopy(active, slot + 1, active, slot, moved);
+            System.arraycopy(type, slot + 1, type, slot, moved);
+            System.arraycopy(value, slot + 1, value, slot, moved);
+            System.arraycopy(lane, slot + 1, lane, slot, moved);
+            System.arraycopy(batched, slot + 1, batched, slot, moved);
+            for (int i = slot; i < slot + moved; i++) {
+                allocator.move(ids[i], i);
+                grid.move(i + 1, i);
+                ((Entity) entities[i]).moveTo(i);
+            }
+        }
+        size--;
+        entities[size] = null;
+        modCount++;
+        return entity;
+    }
+
+    /**
+     * Elimina en una sola pasada todos los slots inactivos (active
+     * en false), corriendo los vivos hacia adelante sin cambiar su
+     * orden. Avisa a removed el id de cada eliminado.
+     * @return cantidad eliminada
+     */
+    public int removeInactive(IntConsumer removed) {
+        return removeInactive(removed, null);
+    }
+
+    /**
+     * Igual que removeInactive(removed), y además pasa cada entidad
+     * eliminada (ya fuera del almacén) a released, p. ej. su pool.
+     */
+    @SuppressWarnings("unchecked")
+    public int removeInactive(IntConsumer removed, Consumer<? super E> released) {
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            Entity entity = (Entity) entities[r];
+            if (!active[r]) {
+                int id = ids[r];
+                entity.detach();
+                allocator.release(id);
+                grid.remove(r);
+                removed.accept(id);
+                if (released != null) released.accept((E) entity);
+                continue;
+            }
+            if (w != r) {
+                entities[w] = entity;
+                ids[w] = ids[r];
+                x[w] = x[r];
+                y[w] = y[r];
+                velocity[w] = velocity[r];
+                direction[w] = direction[r];
+                active[w] = true;
+                type[w] = type[r];
+                value[w] = value[r];
+                lane[w] = lane[r];
+                batched[w] = batched[r];
+                allocator.move(ids[w], w);
+                grid.move(r, w);
+                entity.moveTo(w);
+            }
+            w++;
+        }
+        int removedCount = size - w;
+        if (removedCount > 0) {
+            Arrays.fill(entities, w, size, null);
+            size = w;
+            modCount++;
+        }
+        return removedCount;
+    }
+
+    /** Elimina la entidad con ese id; null si no está (o el id es viejo). */
+    public E removeById(int id) {
+        int slot = allocator.slotOf(id);
+        return slot == NO_SLOT ? null : remove(slot);
+    }
+
+    @Override
+    public void clear() {
+        clear(null);
+    }
+
+    /** Vacía el almacén pasando cada entidad (ya fuera) a released. */
+    @SuppressWarnings("unchecked")
+    public void clear(Consumer<? super E> released) {
+        for (int i = 0; i < size; i++) {
+            E entity = (E) entities[i];
+            entity.detach();
+            entities[i] = null;
+            if (released != null) released.accept(entity);
+        }
+        allocator.clear();
+        grid.clear();
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Se escribió x[slot]/y[slot] directamente: actualiza la grilla
+     * (no hace nada si la entidad sigue en la misma celda).
+     */
+    public void moved(int slot) {
+        grid.update(slot, x[slot], y[slot]);
+    }
+
+    /* =========================================================
+       CONSULTAS
+       ========================================================= */
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int slot) {
+        checkSlot(slot);
+        return (E) entities[slot];
+    }
+
+    /** Índice espacial de los slots (ver EntityGrid). */
+    public EntityGrid grid() {
+        return grid;
+    }
+
+    /** Cuántas entidades más se pueden agregar antes de quedarse sin ids. */
+    public int freeIds() {
+        return allocator.available();
+    }
+
+    /** Slot de la entidad con ese id, o NO_SLOT (también si el id es viejo). */
+    public int slotOf(int id) {
+        return allocator.slotOf(id);
+    }
+
+    /**
+     * Escribe en out los slots (todos, o solo los activos) en orden
+     * de id ascendente: recorre la tabla del IdAllocator, sin ordenar.
+     * @param out al menos size() lugares
+     * @return cantidad escrita
+     */
+    public int slotsInIdOrder(boolean onlyActive, int[] out) {
+        int count = 0;
+        int limit = allocator.indexLimit();
+        for (int i = 1; i < limit; i++) {
+            int s = allocator.slotAt(i);
+            if (s != NO_SLOT && (!onlyActive || active[s])) {
+                out[count++] = s;
+            }
+        }
+        return count;
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Slot " + slot + ", tamaño " + size);
+        }
+    }
+
+    private void ensure(int capacity) {
+        if (capacity <= ids.length) return;
+        int n = Math.max(ids.length * 2, capacity);
+        entities = Arrays.copyOf(entities, n);
+        ids = Arrays.copyOf(ids, n);
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        velocity = Arrays.copyOf(velocity, n);
+        direction = Arrays.copyOf(direction, n);
+        active = Arrays.copyOf(active, n);
+        type = Arrays.copyOf(type, n);
+        value = Arrays.copyOf(value, n);
+        lane = Arrays.copyOf(lane, n);
+        batched = Arrays.copyOf(batched, n);
+        grid.ensure(n);
+    }
+}
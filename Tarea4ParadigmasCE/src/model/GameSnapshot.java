@@ -0,0 +1,190 @@
+package model;
+
+import entities.Cocodrilo;
+import entities.Fruta;
+import entities.Mario;
+
+/**
+ * GameSnapshot
+ * -----------------------------------------------------
+ * Copia del estado visible de una partida en un tick: jugador,
+ * Mario, cocodrilos y frutas activas en arreglos primitivos.
+ *
+ * Se captura en el hilo del tick y después la leen otros hilos
+ * (escritores de cada conexión, consultas ADMIN, la consola) sin
+ * locks. Una copia de capture() es inmutable: nadie la modifica
+ * después de publicarla (GameManager.getSnapshot), aunque los
+ * campos no sean final. recapture() reescribe la misma instancia
+ * y es solo para copias privadas del tick que nunca salen de él
+ * (p. ej. la que codifica el modo BINARY).
+ *
+ * Los arreglos pueden ser más largos que los contadores (crecen
+ * solo cuando no alcanzan): recorrer hasta crocCount, fruitCount,
+ * despawnedCrocCount y despawnedFruitCount.
+ *
+ * Cocodrilos y frutas quedan ordenados por id ascendente, así
+ * dos snapshots se pueden comparar recorriéndolos en paralelo.
+ */
+public final class GameSnapshot {
+
+    public long tick;
+
+    // Jugador
+    public double playerX, playerY, velocityX, velocityY;
+    public int lives, score;
+    public boolean jumping, onLiana, won, justGainedLife;
+
+    // Mario
+    public boolean hasMario;
+    public int marioId;
+    public double marioX, marioY;
+    public boolean marioRight;
+
+    // Cocodrilos (todos)
+    public int crocCount;
+    public int[] crocIds = EMPTY_INTS;
+    public double[] crocX = EMPTY_DOUBLES, crocY = EMPTY_DOUBLES;
+    public boolean[] crocRed = EMPTY_BOOLEANS, crocAlive = EMPTY_BOOLEANS;
+    public int[] crocLane = EMPTY_INTS;        // id de la liana, o EntityStore.NO_LANE
+
+    // Frutas (solo activas)
+    public int fruitCount;
+    public int[] fruitIds = EMPTY_INTS;
+    public double[] fruitX = EMPTY_DOUBLES, fruitY = EMPTY_DOUBLES;
+    public int[] fruitType = EMPTY_INTS;       // ordinal de TipoFruta
+    public int[] fruitPoints = EMPTY_INTS;
+    public int[] fruitLane = EMPTY_INTS;
+
+    // Ids reclamados en este tick (aviso de despawn)
+    public int despawnedCrocCount, despawnedFruitCount;
+    public int[] despawnedCrocIds = EMPTY_INTS;
+    public int[] despawnedFruitIds = EMPTY_INTS;
+
+    private static final int[] EMPTY_INTS = new int[0];
+    private static final double[] EMPTY_DOUBLES = new double[0];
+    private static final boolean[] EMPTY_BOOLEANS = new boolean[0];
+
+    // Slots en orden de id (auxiliar de recapture; null en las copias de capture)
+    private int[] order = EMPTY_INTS;
+
+    private GameSnapshot() {}
+
+    /**
+     * Captura el estado actual en una copia nueva, con arreglos del
+     * tamaño justo (solo desde el hilo del tick).
+     */
+    public static GameSnapshot capture(GameState state, long tick) {
+        GameSnapshot s = new GameSnapshot();
+        s.fill(state, tick);
+        s.order = null;
+        return s;
+    }
+
+    /** Copia vacía para reutilizar con recapture(). */
+    public static GameSnapshot reusable() {
+        return new GameSnapshot();
+    }
+
+    /**
+     * Vuelve a capturar sobre esta instancia, reutilizando los
+     * arreglos (solo hilo del tick; nunca una copia publicada).
+     */
+    public GameSnapshot recapture(GameState state, long tick) {
+        if (order == null) {
+            throw new IllegalStateException("GameSnapshot publicado: usar capture()");
+        }
+        fill(state, tick);
+        return this;
+    }
+
+    private void fill(GameState state, long tick) {
+        this.tick = tick;
+
+        this.playerX = state.playerX();
+        this.playerY = state.playerY();
+        this.velocityX = state.velocityX();
+        this.velocityY = state.velocityY();
+        this.lives = state.lives();
+        this.score = state.score();
+        this.jumping = state.jumping();
+        this.onLiana = state.onLiana();
+        this.won = state.won();
+        this.justGainedLife = state.justGainedLife();
+
+        Mario mario = state.getMario();
+        this.hasMario = mario != null;
+        this.marioId = hasMario ? mario.getId() : 0;
+        this.marioX = hasMario ? mario.getPosicion().x : 0.0;
+        this.marioY = hasMario ? mario.getPosicion().y : 0.0;
+        this.marioRight = hasMario && mario.isMoviendoDerecha();
+
+        EntityStore<Cocodrilo> crocs = state.getCrocStore();
+        ensureOrder(crocs.size());
+        int n = crocs.slotsInIdOrder(false, order);
+        if (crocIds.length < n) {
+            int cap = grow(crocIds.length, n);
+            crocIds = new int[cap];
+            crocX = new double[cap];
+            crocY = new double[cap];
+            crocRed = new boolean[cap];
+            crocAlive = new boolean[cap];
+            crocLane = new int[cap];
+        }
+        this.crocCount = n;
+        for (int i = 0; i < n; i++) {
+            int s = order[i];
+            crocIds[i] = crocs.ids[s];
+            crocX[i] = crocs.x[s];
+            crocY[i] = crocs.y[s];
+            crocRed[i] = crocs.type[s] == Cocodrilo.TIPO_ROJO;
+            crocAlive[i] = crocs.active[s];
+            crocLane[i] = crocs.lane[s];
+        }
+
+        EntityStore<Fruta> fruits = state.getFruitStore();
+        ensureOrder(fruits.size());
+        n = fruits.slotsInIdOrder(true, order);
+        if (fruitIds.length < n) {
+            int cap = grow(fruitIds.length, n);
+            fruitIds = new int[cap];
+            fruitX = new double[cap];
+            fruitY = new double[cap];
+            fruitType = new int[cap];
+            fruitPoints = new int[cap];
+            fruitLane = new int[cap];
+        }
+        this.fruitCount = n;
+        for (int i = 0; i < n; i++) {
+            int s = order[i];
+            fruitIds[i] = fruits.ids[s];
+            fruitX[i] = fruits.x[s];
+            fruitY[i] = fruits.y[s];
+            fruitType[i] = fruits.type[s];
+            fruitPoints[i] = fruits.value[s];
+            fruitLane[i] = fruits.lane[s];
+        }
+
+        DespawnList crocsOut = state.getDespawnedCrocs();
+        if (despawnedCrocIds.length < crocsOut.size()) {
+            despawnedCrocIds = new int[grow(despawnedCrocIds.length, crocsOut.size())];
+        }
+        this.despawnedCrocCount = crocsOut.copyTo(despawnedCrocIds);
+
+        DespawnList fruitsOut = state.getDespawnedFruits();
+        if (despawnedFruitIds.length < fruitsOut.size()) {
+            despawnedFruitIds = new int[grow(despawnedFruitIds.length, fruitsOut.size())];
+        }
+        this.despawnedFruitCount = fruitsOut.copyTo(despawnedFruitIds);
+    }
+
+    private void ensureOrder(int size) {
+        if (order.length < size) {
+            order = new int[grow(order.length, size)];
+        }
+    }
+
+    /** Capacidad nueva: justa la primera vez, con margen al crecer. */
+    private static int grow(int capacity, int needed) {
+        return capacity == 0 ? needed : Math.max(needed, capacity + (capacity >> 1));
+    }
+}
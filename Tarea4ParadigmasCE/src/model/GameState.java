@@ -13,25 +13,35 @@ import java.util.List;
  * -----------------------------------------------------
  * Encapsula todo el estado del juego en una sola clase.
  * Facilita la serialización y el manejo del estado completo.
+ *
+ * Los datos del jugador son primitivos: el tick los lee y escribe
+ * varias veces por frame con los accesores primitivos (playerX(),
+ * setPlayerX(double), ...) sin crear objetos. Los getters/setters
+ * con Double/Integer/Boolean se mantienen como adaptadores para
+ * el resto del código.
  */
 public class GameState {
 
     // Jugador
-    private Double playerX;
-    private Double playerY;
-    private Double velocityX;
-    private Double velocityY;
-    private Integer lives;
-    private Integer score;
-    private Boolean jumping;
-    private Boolean onLiana;
-    private Boolean hasWon;  // indica si el jugador ganó el nivel
-    private Boolean justGainedLife = false;
-
-
-    // Entidades del juego
-    private List<Cocodrilo> cocodrilos;
-    private List<Fruta> frutas;
+    private double playerX;
+    private double playerY;
+    private double velocityX;
+    private double velocityY;
+    private int lives;
+    private int score;
+    private boolean jumping;
+    private boolean onLiana;
+    private boolean hasWon;  // indica si el jugador ganó el nivel
+    private boolean justGainedLife = false;
+
+
+    // Entidades del juego (cocodrilos y frutas en arreglos paralelos)
+    private final EntityStore<Cocodrilo> cocodrilos = new EntityStore<>();
+    private final EntityStore<Fruta> frutas = new EntityStore<>();
+
+    // Bajas (entidades reclamadas) del tick actual (auxiliares: fuera del JSON)
+    private final transient DespawnList despawnedCrocs = new DespawnList();
+    private final transient DespawnList despawnedFruits = new DespawnList();
     private List<Liana> lianas;
     private Mario mario;
 
@@ -43,15 +53,45 @@ public class GameState {
         this.velocityY = 0.0;
         this.lives = 3;
         this.score = 0;
-        this.jumping = Boolean.FALSE;
-        this.onLiana = Boolean.FALSE;
-        this.hasWon = Boolean.FALSE;
-        this.cocodrilos = new ArrayList<>();
-        this.frutas = new ArrayList<>();
+        this.jumping = false;
+        this.onLiana = false;
+        this.hasWon = false;
         this.lianas = new ArrayList<>();
     }
 
-    // Getters y Setters - Jugador
+    // Accesores primitivos - Jugador (usar en el tick)
+
+    public double playerX() { return playerX; }
+    public void setPlayerX(double playerX) { this.playerX = playerX; }
+
+    public double playerY() { return playerY; }
+    public void setPlayerY(double playerY) { this.playerY = playerY; }
+
+    public double velocityX() { return velocityX; }
+    public void setVelocityX(double velocityX) { this.velocityX = velocityX; }
+
+    public double velocityY() { return velocityY; }
+    public void setVelocityY(double velocityY) { this.velocityY = velocityY; }
+
+    public int lives() { return lives; }
+    public void setLives(int lives) { this.lives = lives; }
+
+    public int score() { return score; }
+    public void setScore(int score) { this.score = score; }
+
+    public boolean jumping() { return jumping; }
+    public void setJumping(boolean jumping) { this.jumping = jumping; }
+
+    public boolean onLiana() { return onLiana; }
+    public void setOnLiana(boolean onLiana) { this.onLiana = onLiana; }
+
+    public boolean won() { return hasWon; }
+    public void setHasWon(boolean hasWon) { this.hasWon = hasWon; }
+
+    public boolean justGainedLife() { return justGainedLife; }
+    public void setJustGainedLife(boolean justGainedLife) { this.justGainedLife = justGainedLife; }
+
+    // Getters y Setters - Jugador (adaptadores con tipos envoltorio)
 
     public Double getPlayerX() { return playerX; }
     public void setPlayerX(Double playerX) { this.playerX = playerX; }
@@ -97,10 +137,30 @@ public class GameState {
     // Getters y Setters - Entidades
 
     public List<Cocodrilo> getCocodrilos() { return cocodrilos; }
-    public void setCocodrilos(List<Cocodrilo> cocodrilos) { this.cocodrilos = cocodrilos; }
+    public void setCocodrilos(List<Cocodrilo> cocodrilos) {
+        if (cocodrilos == this.cocodrilos) return;
+        this.cocodrilos.clear();
+        this.cocodrilos.addAll(cocodrilos);
+    }
 
     public List<Fruta> getFrutas() { return frutas; }
-    public void setFrutas(List<Fruta> frutas) { this.frutas = frutas; }
+    public void setFrutas(List<Fruta> frutas) {
+        if (frutas == this.frutas) return;
+        this.frutas.clear();
+        this.frutas.addAll(frutas);
+    }
+
+    /** Cocodrilos como arreglos paralelos (para los loops del tick). */
+    public EntityStore<Cocodrilo> getCrocStore() { return cocodrilos; }
+
+    /** Frutas como arreglos paralelos (para los loops del tick). */
+    public EntityStore<Fruta> getFruitStore() { return frutas; }
+
+    /** Ids de cocodrilos reclamados en este tick. */
+    public DespawnList getDespawnedCrocs() { return despawnedCrocs; }
+
+    /** Ids de frutas reclamadas en este tick. */
+    public DespawnList getDespawnedFruits() { return despawnedFruits; }
 
     public List<Liana> getLianas() { return lianas; }
     public void setLianas(List<Liana> lianas) { this.lianas = lianas; }
@@ -0,0 +1,136 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * IdAllocator
+ * -----------------------------------------------------
+ * Ids de las entidades de un EntityStore (uno por partida y tipo
+ * de entidad) con tabla directa id → slot.
+ *
+ * Un id es (índice << GENERATION_BITS) | generación y entra en
+ * 16 bits (el protocolo binario lo manda como u16):
+ * - el índice (1..MAX_INDEX) es la posición en la tabla: buscar
+ *   un id es leer un arreglo;
+ * - la generación sube cada vez que el índice se libera: un id
+ *   viejo ya no coincide y slotOf lo rechaza (NONE).
+ *
+ * Con solo 4 generaciones un id se repite a la cuarta reutilización
+ * de su índice, así que lo que protege de un id viejo es cuánto
+ * tarda un índice en volver: los libres se reutilizan en orden FIFO
+ * y solo cuando hay al menos MIN_FREE (4096) libres; mientras tanto
+ * se usan índices nuevos. Entre que un índice se libera y se vuelve
+ * a dar pasan al menos MIN_FREE - 1 otras bajas, y un id eliminado
+ * no vuelve a ser válido antes de ~4 * MIN_FREE (~16000) bajas en
+ * ese almacén. La excepción es con la tabla llena (más de
+ * MAX_INDEX - MIN_FREE entidades vivas): ahí se reutiliza cualquier
+ * libre. A cambio, la tabla crece hasta unas MIN_FREE + vivas
+ * entradas (~80 KB como máximo).
+ *
+ * Como la generación va en los bits bajos, recorrer la tabla por
+ * índice da los ids en orden ascendente (ver EntityStore.slotsInIdOrder).
+ */
+public final class IdAllocator {
+
+    public static final int GENERATION_BITS = 2;
+    private static final int GENERATION_MASK = (1 << GENERATION_BITS) - 1;
+
+    /** Mayor índice: con la generación, el id no pasa de 16 bits. */
+    public static final int MAX_INDEX = (1 << (16 - GENERATION_BITS)) - 1;
+
+    /** Índices libres necesarios antes de empezar a reutilizar (ver arriba). */
+    static final int MIN_FREE = 4096;
+
+    public static final int NONE = -1;
+
+    // Por índice (el 0 no se usa: ningún id vale 0)
+    private int[] slots = new int[32];
+    private byte[] generations = new byte[32];
+    private int next = 1;                   // primer índice nunca usado
+
+    // Cola FIFO de índices libres (anillo, capacidad potencia de 2)
+    private int[] free = new int[64];
+    private int freeHead = 0;
+    private int freeCount = 0;
+
+    private int live = 0;
+
+    /** Nuevo id para una entidad que queda en slot. */
+    int allocate(int slot) {
+        int index;
+        if (freeCount >= MIN_FREE || (next > MAX_INDEX && freeCount > 0)) {
+            index = free[freeHead];
+            freeHead = (freeHead + 1) & (free.length - 1);
+            freeCount--;
+        } else if (next <= MAX_INDEX) {
+            index = next++;
+            if (index >= slots.length) {
+                int n = Math.min(slots.length * 2, MAX_INDEX + 1);
+                slots = Arrays.copyOf(slots, n);
+                generations = Arrays.copyOf(generations, n);
+            }
+        } else {
+            throw new IllegalStateException("No quedan ids libres (máximo " + MAX_INDEX + " entidades)");
+        }
+        slots[index] = slot;
+        live++;
+        return (index << GENERATION_BITS) | generations[index];
+    }
+
+    /** Libera el id (debe estar vivo): desde ahora slotOf(id) es NONE. */
+    void release(int id) {
+        int index = id >>> GENERATION_BITS;
+        slots[index] = NONE;
+        generations[index] = (byte) ((generations[index] + 1) & GENERATION_MASK);
+        live--;
+        if (freeCount == free.length) {
+            int[] grown = new int[free.length * 2];
+            for (int i = 0; i < freeCount; i++) {
+                grown[i] = free[(freeHead + i) & (free.length - 1)];
+            }
+            free = grown;
+            freeHead = 0;
+        }
+        free[(freeHead + freeCount) & (free.length - 1)] = index;
+        freeCount++;
+    }
+
+    /** La entidad del id se movió a otro slot (compactación). */
+    void move(int id, int slot) {
+        slots[id >>> GENERATION_BITS] = slot;
+    }
+
+    /** Libera todos los ids vivos. */
+    void clear() {
+        for (int index = 1; index < next; index++) {
+            if (slots[index] != NONE) {
+                release((index << GENERATION_BITS) | generations[index]);
+            }
+        }
+    }
+
+    /** Slot del id, o NONE si no está vivo (nunca dado, liberado o de otra generación). */
+    public int slotOf(int id) {
+        int index = id >>> GENERATION_BITS;
+        if (index == 0 || index >= next || generations[index] != (id & GENERATION_MASK)) {
+            return NONE;
+        }
+        return slots[index];
+    }
+
+    /** Cantidad de ids vivos. */
+    public int live() { return live; }
+
+    /**
+     * Ids que todavía se pueden dar: índices nunca usados más los
+     * libres (allocate reutiliza uno aunque haya menos de MIN_FREE
+     * cuando ya no quedan nuevos).
+     */
+    public int available() { return (MAX_INDEX + 1 - next) + freeCount; }
+
+    /** Límite (exclusivo) de los índices usados hasta ahora. */
+    int indexLimit() { return next; }
+
+    /** Slot del índice, o NONE si está libre. */
+    int slotAt(int index) { return slots[index]; }
+}
@@ -0,0 +1,271 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static utils.GameConstants.LIANAS;
+import static utils.GameConstants.PLATFORMS;
+
+/**
+ * LevelGeometry
+ * -----------------------------------------------------
+ * Geometría fija del nivel (lianas y plataformas) compilada una
+ * sola vez a arreglos primitivos e inmutable: todas las partidas
+ * comparten la misma instancia (LevelGeometry.standard()) y
+ * reiniciar el nivel no crea objetos nuevos.
+ *
+ * - Lianas: por id (el índice en GameConstants.LIANAS), con su
+ *   inicio, fin y el rango vertical [minY, maxY] ya calculado.
+ * - Plataformas: ordenadas por Y (la de más arriba primero).
+ *
+ * Índice espacial por columnas: el ancho del nivel se parte en
+ * columnas de COLUMN_WIDTH px y cada columna guarda las plataformas
+ * que la cruzan (en orden de Y, con sus Y copiadas al lado) y las
+ * lianas cuyo inicio cae en ella. Una consulta mira solo las 1-3
+ * columnas que toca: búsqueda binaria por Y dentro de la columna
+ * y corte en la primera que coincide. El costo no depende de la
+ * cantidad de plataformas del nivel sino de cuántas comparten
+ * columna.
+ *
+ * Los objetos Liana también se crean una vez y se comparten:
+ * no se deben modificar.
+ */
+public final class LevelGeometry {
+
+    private static final LevelGeometry STANDARD = compile(LIANAS, PLATFORMS);
+
+    // Lianas por id
+    private final double[] lianaStartX, lianaStartY, lianaEndY;
+    private final double[] lianaMinY, lianaMaxY;
+    private final List<Liana> lianas;
+
+    // Plataformas ordenadas por platY
+    private final double[] platX, platY, platW;
+
+    // Índice por columnas (formato CSR: los ítems de la columna c
+    // están en [start[c], start[c + 1]) )
+    static final double COLUMN_WIDTH = 32.0;
+    private final double originX;
+    private final int columns;
+    private final int[] platColStart;
+    private final int[] platColItems;     // índice de plataforma
+    private final double[] platColY;      // platY del ítem (para la búsqueda binaria)
+    private final int[] lianaColStart;
+    private final int[] lianaColItems;    // id de liana, ascendente por columna
+
+    private LevelGeometry(double[][] lianaRows, double[][] platformRows) {
+        int n = lianaRows.length;
+        lianaStartX = new double[n];
+        lianaStartY = new double[n];
+        lianaEndY = new double[n];
+        lianaMinY = new double[n];
+        lianaMaxY = new double[n];
+        List<Liana> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double[] l = lianaRows[i];
+            lianaStartX[i] = l[0];
+            lianaStartY[i] = l[1];
+            lianaEndY[i] = l[3];
+            lianaMinY[i] = Math.min(l[1], l[3]);
+            lianaMaxY[i] = Math.max(l[1], l[3]);
+            list.add(new Liana(i, new Posicion(l[0], l[1]), new Posicion(l[2], l[3])));
+        }
+        lianas = Collections.unmodifiableList(list);
+
+        double[][] sorted = platformRows.clone();
+        Arrays.sort(sorted, Comparator.comparingDouble(p -> p[1]));
+        int m = sorted.length;
+        platX = new double[m];
+        platY = new double[m];
+        platW = new double[m];
+        for (int i = 0; i < m; i++) {
+            platX[i] = sorted[i][0];
+            platY[i] = sorted[i][1];
+            platW[i] = sorted[i][2];
+        }
+
+        // Columnas: cubren desde la X mínima hasta la máxima del nivel
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < m; i++) {
+            minX = Math.min(minX, platX[i]);
+            maxX = Math.max(maxX, platX[i] + platW[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, lianaStartX[i]);
+            maxX = Math.max(maxX, lianaStartX[i]);
+        }
+        if (minX > maxX) {          // nivel vacío
+            minX = 0.0;
+            maxX = 0.0;
+        }
+        originX = minX;
+        columns = (int) ((maxX - minX) / COLUMN_WIDTH) + 1;
+
+        platColStart = new int[columns + 1];
+        for (int i = 0; i < m; i++) {
+            for (int c = column(platX[i]); c <= column(platX[i] + platW[i]); c++) {
+                platColStart[c + 1]++;
+            }
+        }
+        prefixSum(platColStart);
+        platColItems = new int[platColStart[columns]];
+        platColY = new double[platColStart[columns]];
+        int[] fill = Arrays.copyOf(platColStart, columns);
+        for (int i = 0; i < m; i++) {            // en orden de Y: cada columna queda ordenada
+            for (int c = column(platX[i]); c <= column(platX[i] + platW[i]); c++) {
+                platColItems[fill[c]] = i;
+                platColY[fill[c]] = platY[i];
+                fill[c]++;
+            }
+        }
+
+        lianaColStart = new int[columns + 1];
+        for (int i = 0; i < n; i++) {
+            lianaColStart[column(lianaStartX[i]) + 1]++;
+        }
+        prefixSum(lianaColStart);
+        lianaColItems = new int[n];
+        fill = Arrays.copyOf(lianaColStart, columns);
+        for (int i = 0; i < n; i++) {
+            lianaColItems[fill[column(lianaStartX[i])]++] = i;
+        }
+    }
+
+    private static void prefixSum(int[] a) {
+        for (int i = 1; i < a.length; i++) {
+            a[i] += a[i - 1];
+        }
+    }
+
+    /** Columna de x, limitada al rango del nivel. */
+    private int column(double x) {
+        int c = (int) Math.floor((x - originX) / COLUMN_WIDTH);
+        return c < 0 ? 0 : Math.min(c, columns - 1);
+    }
+
+    /** Geometría del nivel estándar (GameConstants), compartida. */
+    public static LevelGeometry standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Compila lianas {x0, y0, x1, y1} y plataformas {x, y, ancho, alto}.
+     */
+    public static LevelGeometry compile(Double[][] lianaRows, Double[][] platformRows) {
+        return new LevelGeometry(unbox(lianaRows), unbox(platformRows));
+    }
+
+    private static double[][] unbox(Double[][] rows) {
+        double[][] out = new double[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            out[i] = new double[rows[i].length];
+            for (int j = 0; j < rows[i].length; j++) {
+                out[i][j] = rows[i][j];
+            }
+        }
+        return out;
+    }
+
+    /* =========================================================
+       LIANAS
+       ========================================================= */
+
+    public int lianaCount() { return lianaStartX.length; }
+
+    /** Lianas por id (lista inmutable y compartida). */
+    public List<Liana> getLianas() { return lianas; }
+
+    /** Extremo superior de la liana (menor Y). */
+    public double lianaMinY(int id) { return lianaMinY[id]; }
+
+    /** Extremo inferior de la liana (mayor Y). */
+    public double lianaMaxY(int id) { return lianaMaxY[id]; }
+
+    /**
+     * Liana de menor id a menos de range en X de centerX (medido en
+     * el inicio de la liana) que se cruza con el tramo vertical
+     * (top, bottom). -1 si no hay.
+     */
+    public int lianaAt(double centerX, double top, double bottom, double range) {
+        int found = -1;
+        int last = column(centerX + range);
+        for (int c = column(centerX - range); c <= last; c++) {
+            for (int k = lianaColStart[c]; k < lianaColStart[c + 1]; k++) {
+                int i = lianaColItems[k];
+                if (found >= 0 && i > found) break;          // ids ascendentes
+                if (Math.abs(lianaStartX[i] - centerX) < range &&
+                        bottom > lianaStartY[i] && top < lianaEndY[i]) {
+                    found = i;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    /* =========================================================
+       PLATAFORMAS
+       ========================================================= */
+
+    /**
+     * Y de la plataforma más alta con Y >= fromY que se solapa con
+     * el tramo horizontal (x, x + width), bordes excluidos.
+     * NaN si no hay.
+     */
+    public double platformTopBelow(double x, double width, double fromY) {
+        return platformLanding(x, width, fromY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Y de la plataforma más alta con fromY <= Y <= toY que se solapa
+     * con (x, x + width), bordes excluidos. NaN si no hay.
+     */
+    public double platformLanding(double x, double width, double fromY, double toY) {
+        double best = Double.NaN;
+        double limit = toY;
+        int last = column(x + width);
+        for (int c = column(x); c <= last; c++) {
+            int end = platColStart[c + 1];
+            for (int k = firstAtOrBelow(platColY, platColStart[c], end, fromY); k < end; k++) {
+                if (platColY[k] > limit) break;
+                int i = platColItems[k];
+                if (x + width > platX[i] && x < platX[i] + platW[i]) {
+                    best = platY[i];
+                    limit = best;           // las demás columnas solo pueden mejorar
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Y de la plataforma más alta con Y >= fromY bajo el punto x
+     * (bordes incluidos). NaN si no hay.
+     */
+    public double platformTopUnder(double x, double fromY) {
+        int c = column(x);
+        int end = platColStart[c + 1];
+        for (int k = firstAtOrBelow(platColY, platColStart[c], end, fromY); k < end; k++) {
+            int i = platColItems[k];
+            if (x >= platX[i] && x <= platX[i] + platW[i]) {
+                return platY[i];
+            }
+        }
+        return Double.NaN;
+    }
+
+    /** Primer índice en [lo, hi) con ys[k] >= y (búsqueda binaria). */
+    private static int firstAtOrBelow(double[] ys, int lo, int hi, double y) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ys[mid] < y) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -1,9 +1,15 @@
 package model;
 
+/**
+ * Liana
+ * -----------------------------------------------------
+ * Liana del nivel. Se crean una vez en LevelGeometry y las
+ * comparten todas las partidas: no se modifican.
+ */
 public class Liana {
-    private Integer id;
-    private Posicion inicio;
-    private Posicion fin;
+    private final Integer id;
+    private final Posicion inicio;
+    private final Posicion fin;
 
     public Liana(Integer id, Posicion inicio, Posicion fin) {
         this.id = id;
@@ -1,25 +1,30 @@
 package model;
 
+/**
+ * Posicion
+ * -----------------------------------------------------
+ * Coordenadas de una entidad. Los campos son double primitivos:
+ * las estrategias hacen "pos.y += velocidad" en cada tick y con
+ * Double eso creaba un objeto nuevo por movimiento.
+ */
 public class Posicion {
-    public Double x;
-    public Double y;
+    public double x;
+    public double y;
 
-    public Posicion(Double x, Double y) {
-        if (x == null || y == null) {
-            throw new IllegalArgumentException("Posición no puede tener valores nulos");
-        }
+    public Posicion(double x, double y) {
         this.x = x;
         this.y = y;
     }
 
+    // Adaptadores para el código que usa Double
     public Double getX() { return x; }
     public Double getY() { return y; }
 
-    public void setX(Double x) { this.x = x; }
-    public void setY(Double y) { this.y = y; }
+    public void setX(double x) { this.x = x; }
+    public void setY(double y) { this.y = y; }
 
     @Override
     public String toString() {
         return String.format("(%.1f, %.1f)", x, y);
     }
-}
\ No newline at end of file
+}
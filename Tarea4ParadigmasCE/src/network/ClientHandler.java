@@ -1,12 +1,31 @@
 package network;
 
+import model.GameSnapshot;
+import patterns.observer.GameEventRing;
 import patterns.observer.Observer;
+import server.AdminCommand;
+import server.AdminResult;
 import server.GameManager;
 import server.PlayerRegistry;
 import server.PlayerSession;
+import server.ServerMetrics;
+import server.TickEngine;
+import utils.DeltaFrameEncoder;
+import utils.JsonFrameEncoder;
+import utils.TipoCocodrilo;
+import utils.TipoFruta;
 
 import java.io.*;
 import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * ClientHandler
@@ -19,23 +38,129 @@ import java.net.Socket;
  *
  * Cada cliente de juego tiene su propia PlayerSession
  * con su propio GameManager (partida independiente).
+ *
+ * El protocolo no depende del transporte: con sockets
+ * bloqueantes se ejecuta run() en su propio hilo; con el
+ * transporte NIO (NioServer) el reactor entrega cada línea
+ * con onLine() y avisa el cierre con onDisconnect().
+ *
+ * Los frames de estado nunca se escriben en el hilo del tick:
+ * actualizar() los deja en una OutboundQueue (capacidad 1, el
+ * más nuevo reemplaza al pendiente) y otro hilo los envía.
+ *
+ * Los comandos ADMIN que cambian entidades tampoco se aplican en
+ * el hilo lector: se encolan en la partida (AdminCommand) y la
+ * respuesta se escribe cuando el tick los aplicó, en el mismo
+ * orden en que llegaron.
  */
 public class ClientHandler implements Observer, Runnable {
 
+    // Hilos que envían frames en el transporte bloqueante (se crean solo mientras hay envíos)
+    private static final ExecutorService FRAME_WRITERS = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "frame-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Conexiones abiertas (para ADMIN CONNECTIONS)
+    private static final Map<Integer, ClientHandler> connections = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextConnectionId = new AtomicInteger(0);
+
+    private final int connectionId = nextConnectionId.getAndIncrement();
+
     private final Socket socket;
     private PlayerSession session;          // solo si es jugador
     private GameManager game;               // partida del jugador
 
     private final PrintWriter out;
+    private final Object outLock;           // lock del PrintWriter (el Writer de destino)
+    private final OutputStream rawOut;      // stream del socket para frames binarios; null en NIO
     private BufferedReader in;
 
-    private Boolean isGameClient = false;   // true si es jugador, false si es admin
+    private volatile boolean isGameClient = false;   // true si es jugador, false si es admin
     private Integer adminTargetPlayerId = null; // jugador seleccionado en admin
     private Boolean isSpectator = false;
 
+    // Lote abierto con ADMIN BEGIN (null si no hay)
+    private List<AdminCommand> adminBatch = null;
+    private static final int MAX_ADMIN_BATCH = 1024;
+
+    // Respuestas ADMIN pendientes de que el tick aplique su comando (en orden)
+    private CompletableFuture<Void> adminReplies = CompletableFuture.completedFuture(null);
+
+    // ADMIN EVENTS ON: eventos de la partida seleccionada como líneas EVENT ...
+    private GameManager eventGame = null;
+    private GameEventRing.Subscription eventSubscription = null;
+
+    private final long acceptedAt = System.nanoTime();  // para medir accept → JOIN
+    private boolean disconnected = false;
+
+    // Frames de estado pendientes de envío
+    private final OutboundQueue outbound = new OutboundQueue();
+
+    // Latencia tick → cliente informada con ACK <tick> (solo el hilo lector escribe)
+    private volatile long ackCount = 0;
+    private volatile long ackLatencyTotalNanos = 0;
+    private volatile long ackLatencyMaxNanos = 0;
+
+    // Base del modo DELTA de esta conexión (solo el hilo que envía frames)
+    private final DeltaFrameEncoder delta = new DeltaFrameEncoder();
+
+    // Modo JSON: la geometría estática se envía una sola vez por conexión
+    private boolean geometrySent = false;
+
+    // Cómo se pide el envío de frames; NIO lo reemplaza por su reactor
+    private Runnable frameDrainRequest = () -> FRAME_WRITERS.execute(this::drainFrames);
+
+    // Líneas EVENT pendientes; salen por la misma cola que los frames
+    private final EventLineBuffer eventLines = new EventLineBuffer(outbound, () -> frameDrainRequest.run());
+
     public ClientHandler(Socket socket) throws IOException {
+        this(socket, socket.getOutputStream());
+    }
+
+    private ClientHandler(Socket socket, OutputStream rawOut) {
+        this(socket, new OutputStreamWriter(rawOut), rawOut);
+    }
+
+    /**
+     * Crea un handler que escribe sus respuestas en el Writer indicado
+     * (usado por el transporte NIO, que encola los bytes en la conexión).
+     */
+    public ClientHandler(Socket socket, Writer writer) {
+        this(socket, writer, null);
+    }
+
+    private ClientHandler(Socket socket, Writer writer, OutputStream rawOut) {
         this.socket = socket;
-        this.out = new PrintWriter(socket.getOutputStream(), true);
+        this.out = new PrintWriter(writer, true);
+        this.outLock = writer;
+        this.rawOut = rawOut;
+        ServerMetrics.connectionOpened();
+        connections.put(connectionId, this);
+    }
+
+    /**
+     * Reemplaza la forma de enviar frames (el transporte NIO los
+     * envía desde su reactor en lugar del pool de escritores).
+     */
+    void setFrameDrainRequest(Runnable frameDrainRequest) {
+        this.frameDrainRequest = frameDrainRequest;
+    }
+
+    OutboundQueue getOutbound() {
+        return outbound;
+    }
+
+    DeltaFrameEncoder getDelta() {
+        return delta;
+    }
+
+    /** true solo la primera vez: quien envía debe anteponer la geometría. */
+    boolean takeGeometry() {
+        if (geometrySent) return false;
+        geometrySent = true;
+        return true;
     }
 
     @Override
@@ -51,18 +176,37 @@ public class ClientHandler implements Observer, Runnable {
         } catch (IOException e) {
             System.out.println("[SERVER] Error con cliente: " + e.getMessage());
         } finally {
-            // Si era jugador, quitarlo del registro y de su GameManager
-            if (session != null) {
-                if (game != null) {
-                    game.removeObserver(this);
-                }
-                PlayerRegistry.removeSession(session.id);
-            }
-
+            onDisconnect();
             try { socket.close(); } catch (IOException ignored) {}
         }
     }
 
+    /**
+     * Entrega una línea completa recibida por el transporte.
+     */
+    public void onLine(String line) {
+        processLine(line.trim());
+    }
+
+    /**
+     * Limpieza al cerrarse la conexión: deja de observar la partida
+     * y, si era jugador, quita su sesión del registro.
+     */
+    public void onDisconnect() {
+        if (disconnected) return;
+        disconnected = true;
+        ServerMetrics.connectionClosed();
+        connections.remove(connectionId);
+
+        if (game != null) {
+            game.removeObserver(this);
+        }
+        stopEvents();
+        if (session != null) {
+            PlayerRegistry.removeSession(session.id);
+        }
+    }
+
     /**
      * Procesa una línea recibida del cliente.
      */
@@ -88,6 +232,7 @@ public class ClientHandler implements Observer, Runnable {
             game.addObserver(this);
 
             isGameClient = true;
+            ServerMetrics.recordJoinLatency(System.nanoTime() - acceptedAt);
 
             System.out.println("[SERVER] Cliente " + session.id +
                     " se identifica como JUGADOR (" + session.name + ")");
@@ -132,6 +277,62 @@ public class ClientHandler implements Observer, Runnable {
                 return;
             }
 
+            // ========================================
+            // COMANDO: ADMIN SHARDS
+            // Carga de cada shard del TickEngine
+            // ========================================
+            if ("SHARDS".equals(cmd)) {
+                out.println(TickEngine.getShardLoadJson());
+                return;
+            }
+
+            // ========================================
+            // COMANDO: ADMIN SERVERSTATS
+            // Hilos, heap por conexión y latencia accept → JOIN
+            // ========================================
+            if ("SERVERSTATS".equals(cmd)) {
+                out.println(ServerMetrics.toJson());
+                return;
+            }
+
+            // ========================================
+            // COMANDO: ADMIN CONNECTIONS
+            // Frames enviados / descartados por conexión
+            // ========================================
+            if ("CONNECTIONS".equals(cmd)) {
+                out.println(getConnectionsJson());
+                return;
+            }
+
+            // ========================================
+            // COMANDO: ADMIN STATS [playerId]
+            // Perfil del tick por fase (p50/p99/max), overruns y
+            // entidades; sin id usa el jugador seleccionado y, si no
+            // hay, devuelve todas las partidas
+            // ========================================
+            if ("STATS".equals(cmd)) {
+                Integer statsId = adminTargetPlayerId;
+                if (p.length > 2) {
+                    try {
+                        statsId = Integer.parseInt(p[2]);
+                    } catch (NumberFormatException e) {
+                        out.println("ERR id inválido");
+                        return;
+                    }
+                }
+                if (statsId == null) {
+                    out.println(getAllStatsJson());
+                    return;
+                }
+                GameManager statsGame = PlayerRegistry.getGameManager(statsId);
+                if (statsGame == null) {
+                    out.println("ERR jugador no encontrado");
+                    return;
+                }
+                out.println(statsJson(statsId, statsGame));
+                return;
+            }
+
             // ========================================
             // COMANDO: ADMIN SELECT <playerId>
             // ========================================
@@ -164,6 +365,138 @@ public class ClientHandler implements Observer, Runnable {
                 return;
             }
 
+            // ========================================
+            // COMANDO: ADMIN POOLS
+            // Libres, aciertos y fallos de los pools de esa partida
+            // ========================================
+            if ("POOLS".equals(cmd)) {
+                out.println(targetGame.getPoolsJson());
+                return;
+            }
+
+            // ========================================
+            // COMANDO: ADMIN MODE <TEXT|JSON|BINARY|DELTA>
+            // Protocolo de los frames de esa partida
+            // ========================================
+            if ("MODE".equals(cmd)) {
+                if (p.length < 3) {
+                    out.println("ERR formato: ADMIN MODE <TEXT|JSON|BINARY|DELTA>");
+                    return;
+                }
+                try {
+                    GameManager.CommunicationMode mode =
+                            GameManager.CommunicationMode.valueOf(p[2].toUpperCase());
+                    targetGame.setCommunicationMode(mode);
+                    out.println("OK modo " + mode + " para jugador " + adminTargetPlayerId);
+                } catch (IllegalArgumentException e) {
+                    out.println("ERR modo debe ser TEXT, JSON, BINARY o DELTA");
+                }
+                return;
+            }
+
+            // ========================================
+            // COMANDO: ADMIN BEGIN / COMMIT / ROLLBACK
+            // Lote transaccional: CROC, FRUIT, DELFRUIT y DELCROC se
+            // acumulan hasta COMMIT y el tick los aplica todos juntos
+            // o ninguno
+            // ========================================
+            if ("BEGIN".equals(cmd)) {
+                if (adminBatch != null) {
+                    out.println("ERR ya hay un lote abierto");
+                    return;
+                }
+                adminBatch = new ArrayList<>();
+                out.println("OK lote abierto");
+                return;
+            }
+
+            if ("ROLLBACK".equals(cmd)) {
+                if (adminBatch == null) {
+                    out.println("ERR no hay lote abierto");
+                    return;
+                }
+                out.println("OK lote descartado (" + adminBatch.size() + " comandos)");
+                adminBatch = null;
+                return;
+            }
+
+            if ("COMMIT".equals(cmd)) {
+                if (adminBatch == null) {
+                    out.println("ERR no hay lote abierto");
+                    return;
+                }
+                List<AdminCommand> batch = adminBatch;
+                adminBatch = null;
+                replyLater(targetGame.submitAdmin(batch), results -> {
+                    StringBuilder ids = new StringBuilder();
+                    for (AdminResult r : results) {
+                        if (!r.ok) return "ERR " + r.error;
+                        if (r.entityId == AdminResult.NO_ENTITY) continue;   // BULK / CLEAR
+                        if (ids.length() > 0) ids.append(',');
+                        ids.append(r.entityId);
+                    }
+                    return "OK lote aplicado (" + results.size() + " comandos) ids=" + ids;
+                });
+                System.out.println("[ADMIN CMD] → ADMIN COMMIT " + batch.size() + " comandos");
+                return;
+            }
+
+            // ========================================
+            // COMANDO: ADMIN EVENTS [ON|OFF]
+            // Sin argumento: publicados/entregados/perdidos. ON: esta
+            // conexión recibe una línea "EVENT ..." por evento de la partida
+            // ========================================
+            if ("EVENTS".equals(cmd)) {
+                String arg = (p.length > 2) ? p[2].toUpperCase() : "";
+                if ("ON".equals(arg)) {
+                    stopEvents();
+                    eventGame = targetGame;
+                    eventSubscription = targetGame.subscribeEvents("admin-" + connectionId, eventLines);
+                    out.println("OK eventos del jugador " + adminTargetPlayerId);
+                } else if ("OFF".equals(arg)) {
+                    stopEvents();
+                    out.println("OK eventos desactivados");
+                } else {
+                    out.println(targetGame.getEventsJson());
+                }
+                return;
+            }
+
+            // ========================================
+            // COMANDO: ADMIN SNAPSHOT
+            // Resumen del último tick publicado (no toca el estado vivo)
+            // ========================================
+            if ("SNAPSHOT".equals(cmd)) {
+                out.println(targetGame.getSnapshotJson());
+                return;
+            }
+
+            // ========================================
+            // COMANDO: ADMIN BULK
+            // Altas masivas pendientes de esa partida
+            // ========================================
+            if ("BULK".equals(cmd)) {
+                out.println(targetGame.getBulkJson());
+                return;
+            }
+
+            // ========================================
+            // COMANDO: ADMIN CROC|FRUIT BULK <TIPO> <N> <L1-L2> [PUNTOS]
+            // COMANDO: ADMIN CROC|FRUIT CLEAR <L1-L2> [N]
+            // Lianas de 1 a 9; las altas se reparten entre ticks
+            // ========================================
+            if (("CROC".equals(cmd) || "FRUIT".equals(cmd)) && p.length > 2) {
+                String sub = p[2].toUpperCase();
+                if ("BULK".equals(sub)) {
+                    handleBulkSpawn(p, "CROC".equals(cmd), targetGame);
+                    return;
+                }
+                if ("CLEAR".equals(sub)) {
+                    handleBulkClear(p, "CROC".equals(cmd), targetGame);
+                    return;
+                }
+            }
+
             // ========================================
             // COMANDO: ADMIN CROC <TIPO> <LIANA> <ALTURA>
             // ========================================
@@ -197,9 +530,10 @@ public class ClientHandler implements Observer, Runnable {
                     // Convertir índice 0-8 a 1-9 para GameManager
                     int lianaNum = liana + 1;
 
-                    // Crear cocodrilo en la posición especificada
-                    targetGame.crearCocodriloAdmin(tipo, lianaNum, altura);
-                    out.println("OK cocodrilo " + tipo + " creado en liana " + liana + " altura " + altura);
+                    // Crear cocodrilo en la posición especificada (en el próximo tick)
+                    submitAdmin(targetGame,
+                            AdminCommand.spawnCroc(TipoCocodrilo.valueOf(tipo), lianaNum, altura),
+                            "OK cocodrilo " + tipo + " creado en liana " + liana + " altura " + altura);
                     System.out.println("[ADMIN CMD] → ADMIN CROC " + tipo + " liana:" + liana + " altura:" + altura);
 
                 } catch (NumberFormatException e) {
@@ -247,10 +581,11 @@ public class ClientHandler implements Observer, Runnable {
                     // Convertir índice 0-8 a 1-9 para GameManager
                     int lianaNum = liana + 1;
 
-                    // Crear fruta
-                    targetGame.crearFrutaAdmin(tipo, lianaNum, altura, puntos);
-                    out.println("OK fruta " + tipo + " creada en liana " + liana +
-                            " altura " + altura + " con " + puntos + " puntos");
+                    // Crear fruta (en el próximo tick)
+                    submitAdmin(targetGame,
+                            AdminCommand.spawnFruit(TipoFruta.valueOf(tipo), lianaNum, altura, puntos),
+                            "OK fruta " + tipo + " creada en liana " + liana +
+                                    " altura " + altura + " con " + puntos + " puntos");
                     System.out.println("[ADMIN CMD] → ADMIN FRUIT " + tipo + " liana:" + liana +
                             " " + altura + " " + puntos);
 
@@ -284,15 +619,11 @@ public class ClientHandler implements Observer, Runnable {
                         return;
                     }
 
-                    // Eliminar fruta
-                    boolean eliminada = targetGame.eliminarFrutaAdmin(liana, altura);
-
-                    if (eliminada) {
-                        out.println("OK fruta eliminada en liana " + liana + " altura " + altura);
-                        System.out.println("[ADMIN CMD] → ADMIN DELFRUIT " + liana + " " + altura);
-                    } else {
-                        out.println("ERR no se encontró fruta en esa posición");
-                    }
+                    // Eliminar fruta (en el próximo tick; ERR si no hay)
+                    submitAdmin(targetGame,
+                            AdminCommand.deleteFruitAt(liana + 1, altura),
+                            "OK fruta eliminada en liana " + liana + " altura " + altura);
+                    System.out.println("[ADMIN CMD] → ADMIN DELFRUIT " + liana + " " + altura);
 
                 } catch (NumberFormatException e) {
                     out.println("ERR parámetros numéricos inválidos");
@@ -300,15 +631,59 @@ public class ClientHandler implements Observer, Runnable {
                 return;
             }
 
+            // ========================================
+            // COMANDO: ADMIN DELCROC <ID>
+            // ========================================
+            if ("DELCROC".equals(cmd)) {
+                if (p.length < 3) {
+                    out.println("ERR formato: ADMIN DELCROC <ID>");
+                    return;
+                }
+
+                try {
+                    int id = Integer.parseInt(p[2]);
+                    submitAdmin(targetGame, AdminCommand.deleteCroc(id),
+                            "OK cocodrilo " + id + " eliminado");
+                    System.out.println("[ADMIN CMD] → ADMIN DELCROC " + id);
+
+                } catch (NumberFormatException e) {
+                    out.println("ERR id inválido");
+                }
+                return;
+            }
+
             // Si llegamos aquí, comando desconocido
             out.println("ERR comando ADMIN desconocido: " + cmd);
             return;
         }
 
+        /* ============================
+       ACK de frame del cliente
+       Formato:
+       ACK <tick>
+       Mide la latencia desde que se construyó el frame hasta
+       que el cliente lo aplicó (sin respuesta).
+        ============================ */
+        if (line.startsWith("ACK")) {
+            if (game == null) return;
+            String[] parts = line.split("\\s+");
+            if (parts.length < 2) return;
+            try {
+                long sentAt = game.getFrameTimestamp(Long.parseLong(parts[1]));
+                if (sentAt > 0) {
+                    long latency = System.nanoTime() - sentAt;
+                    ackCount++;
+                    ackLatencyTotalNanos += latency;
+                    if (latency > ackLatencyMaxNanos) ackLatencyMaxNanos = latency;
+                }
+            } catch (NumberFormatException ignored) {}
+            return;
+        }
+
         /* ============================
        4) INPUT del jugador
        Formato:
-       INPUT 0 LEFT/RIGHT/UP/DOWN/JUMP/STOP
+       INPUT 0 LEFT/RIGHT/UP/DOWN/JUMP/STOP [secuencia]
         ============================ */
         if (line.startsWith("INPUT")) {
 
@@ -322,7 +697,15 @@ public class ClientHandler implements Observer, Runnable {
                 String[] parts = line.split("\\s+");
                 if (parts.length >= 3) {
                     String command = parts[2];
-                    game.handleInput(command);
+
+                    // Secuencia opcional del cliente: INPUT 0 LEFT <seq>
+                    long seq = 0L;
+                    if (parts.length >= 4) {
+                        try {
+                            seq = Long.parseLong(parts[3]);
+                        } catch (NumberFormatException ignored) {}
+                    }
+                    game.handleInput(command, seq);
                 }
             }
             return;
@@ -375,6 +758,138 @@ public class ClientHandler implements Observer, Runnable {
         }
     }
 
+    /** ADMIN STATS de una partida, con el id del jugador al principio. */
+    private static String statsJson(int playerId, GameManager game) {
+        return "{\"player\":" + playerId + "," + game.getStatsJson().substring(1);
+    }
+
+    /** ADMIN STATS sin jugador: todas las partidas. */
+    private static String getAllStatsJson() {
+        StringBuilder sb = new StringBuilder("[");
+        for (PlayerSession s : PlayerRegistry.getSessions()) {
+            if (sb.length() > 1) sb.append(",");
+            sb.append(statsJson(s.id, s.game));
+        }
+        return sb.append("]").toString();
+    }
+
+    /** Deja de recibir eventos (ADMIN EVENTS OFF o desconexión). */
+    private void stopEvents() {
+        if (eventSubscription != null) {
+            eventGame.unsubscribeEvents(eventSubscription);
+            eventSubscription = null;
+            eventGame = null;
+        }
+    }
+
+    /**
+     * ADMIN CROC BULK <ROJO|AZUL> <N> <L1-L2>
+     * ADMIN FRUIT BULK <TIPO> <N> <L1-L2> [PUNTOS]
+     */
+    private void handleBulkSpawn(String[] p, boolean crocs, GameManager targetGame) {
+        if (p.length < 6) {
+            out.println(crocs ? "ERR formato: ADMIN CROC BULK <TIPO> <N> <L1-L2>"
+                    : "ERR formato: ADMIN FRUIT BULK <TIPO> <N> <L1-L2> [PUNTOS]");
+            return;
+        }
+        int[] range = parseLianaRange(p[5]);
+        if (range == null) {
+            out.println("ERR rango de lianas inválido (ej: 1-9)");
+            return;
+        }
+        try {
+            String tipo = p[3].toUpperCase();
+            int count = Integer.parseInt(p[4]);
+            AdminCommand command;
+            if (crocs) {
+                command = AdminCommand.spawnCrocs(TipoCocodrilo.valueOf(tipo), count, range[0], range[1]);
+            } else {
+                int puntos = (p.length > 6) ? Integer.parseInt(p[6]) : 0;
+                command = AdminCommand.spawnFruits(TipoFruta.valueOf(tipo), count, range[0], range[1], puntos);
+            }
+            submitAdmin(targetGame, command, "OK bulk " + count + (crocs ? " cocodrilos " : " frutas ") + tipo +
+                    " en lianas " + range[0] + "-" + range[1] + " (repartido entre ticks)");
+            System.out.println("[ADMIN CMD] → ADMIN " + (crocs ? "CROC" : "FRUIT") + " BULK " + tipo +
+                    " " + count + " " + range[0] + "-" + range[1]);
+        } catch (NumberFormatException e) {
+            out.println("ERR parámetros numéricos inválidos");
+        } catch (IllegalArgumentException e) {
+            out.println(crocs ? "ERR tipo debe ser ROJO o AZUL" : "ERR tipo debe ser BANANA, NARANJA o CEREZA");
+        }
+    }
+
+    /** ADMIN CROC|FRUIT CLEAR <L1-L2> [N] */
+    private void handleBulkClear(String[] p, boolean crocs, GameManager targetGame) {
+        if (p.length < 4) {
+            out.println("ERR formato: ADMIN " + (crocs ? "CROC" : "FRUIT") + " CLEAR <L1-L2> [N]");
+            return;
+        }
+        int[] range = parseLianaRange(p[3]);
+        if (range == null) {
+            out.println("ERR rango de lianas inválido (ej: 1-9)");
+            return;
+        }
+        try {
+            int max = (p.length > 4) ? Integer.parseInt(p[4]) : 0;
+            AdminCommand command = crocs ? AdminCommand.clearCrocs(range[0], range[1], max)
+                    : AdminCommand.clearFruits(range[0], range[1], max);
+            submitAdmin(targetGame, command, r -> "OK " + r.count + (crocs ? " cocodrilos" : " frutas")
+                    + " eliminados en lianas " + range[0] + "-" + range[1]);
+            System.out.println("[ADMIN CMD] → ADMIN " + (crocs ? "CROC" : "FRUIT") + " CLEAR " +
+                    range[0] + "-" + range[1] + (max > 0 ? " " + max : ""));
+        } catch (NumberFormatException e) {
+            out.println("ERR parámetros numéricos inválidos");
+        }
+    }
+
+    /** "3-7" o "5" → {desde, hasta} con lianas 1-9; null si no es válido. */
+    private static int[] parseLianaRange(String text) {
+        try {
+            int dash = text.indexOf('-');
+            int from = Integer.parseInt(dash < 0 ? text : text.substring(0, dash));
+            int to = (dash < 0) ? from : Integer.parseInt(text.substring(dash + 1));
+            if (from < 1 || to > 9 || from > to) return null;
+            return new int[] { from, to };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Encola un comando ADMIN en la partida, o lo agrega al lote
+     * abierto con ADMIN BEGIN. okText se responde cuando el tick lo
+     * aplicó, con el id de la entidad al final.
+     */
+    private void submitAdmin(GameManager targetGame, AdminCommand command, String okText) {
+        submitAdmin(targetGame, command,
+                r -> (r.entityId != AdminResult.NO_ENTITY) ? okText + " id=" + r.entityId : okText);
+    }
+
+    private void submitAdmin(GameManager targetGame, AdminCommand command, Function<AdminResult, String> okReply) {
+        if (adminBatch != null) {
+            if (adminBatch.size() >= MAX_ADMIN_BATCH) {
+                out.println("ERR lote lleno (máximo " + MAX_ADMIN_BATCH + " comandos)");
+                return;
+            }
+            adminBatch.add(command);
+            out.println("OK en lote (" + adminBatch.size() + " comandos)");
+            return;
+        }
+        replyLater(targetGame.submitAdmin(command), r -> r.ok ? okReply.apply(r) : "ERR " + r.error);
+    }
+
+    /**
+     * Responde cuando el futuro se completa. El futuro lo completa el
+     * hilo del tick, así que se escribe desde el pool de escritores;
+     * encadenar las respuestas mantiene el orden de los comandos.
+     */
+    private <T> void replyLater(CompletableFuture<T> result, Function<T, String> reply) {
+        adminReplies = adminReplies.thenCombineAsync(result, (done, r) -> {
+            out.println(reply.apply(r));
+            return (Void) null;
+        }, FRAME_WRITERS);
+    }
+
     /**
      * Envía actualizaciones de estado de la partida a este cliente.
      * Solo se usa si el cliente es de JUEGO, no admin.
@@ -383,10 +898,101 @@ public class ClientHandler implements Observer, Runnable {
     public void actualizar(Object mensaje) {
         if (!isGameClient) return;               // admin NO recibe frames
 
-        if (mensaje instanceof String) {
-            out.print((String) mensaje);
-            out.flush();
+        // No escribir aquí: estamos en el hilo del tick
+        if (outbound.offer(mensaje)) {
+            frameDrainRequest.run();
+        }
+    }
+
+    /**
+     * Envía los frames pendientes (transporte bloqueante, hilo del pool).
+     * Si el socket es lento, solo se atrasa este hilo, no la partida.
+     */
+    private void drainFrames() {
+        Object frame;
+        while ((frame = outbound.pollFrame()) != null) {
+            if (frame instanceof EventLineBuffer) {
+                String text = ((EventLineBuffer) frame).take();
+                out.print(text);
+                out.flush();
+                continue;                             // no cuenta como frame
+            }
+            if (frame instanceof GameSnapshot) {
+                delta.encode((GameSnapshot) frame);
+                writeBytes(delta.buffer(), delta.length());
+                continue;
+            }
+
+            delta.reset();   // otro modo: el cliente ya no tiene la base
+            if (frame instanceof JsonFrameEncoder.Frame) {
+                if (takeGeometry()) {
+                    byte[] geometry = JsonFrameEncoder.geometry();
+                    writeBytes(geometry, geometry.length);
+                }
+                byte[] bytes = ((JsonFrameEncoder.Frame) frame).bytes;
+                writeBytes(bytes, bytes.length);
+            } else if (frame instanceof byte[]) {
+                byte[] bytes = (byte[]) frame;
+                writeBytes(bytes, bytes.length);
+            } else if (frame instanceof String) {
+                String text = (String) frame;
+                out.print(text);
+                out.flush();
+                outbound.recordSent(text.length());   // frames de texto: ASCII
+            }
+        }
+    }
+
+    /**
+     * Escribe un frame ya codificado directo al socket, sin pasar
+     * por el Writer. Se toma el mismo lock que usa el PrintWriter
+     * para no mezclarse con una respuesta a medio escribir.
+     */
+    private void writeBytes(byte[] frame, int length) {
+        if (rawOut == null) return;
+        synchronized (outLock) {
+            try {
+                out.flush();
+                rawOut.write(frame, 0, length);
+                rawOut.flush();
+                outbound.recordSent(length);
+            } catch (IOException e) {
+                // El hilo lector detecta el cierre y limpia la sesión
+            }
+        }
+    }
+
+    /** Construye un JSON con los contadores de salida de cada conexión. */
+    public static String getConnectionsJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        boolean first = true;
+        for (ClientHandler h : connections.values()) {
+            if (!first) sb.append(",");
+            first = false;
+
+            String role = h.isSpectator ? "spectator" : (h.session != null ? "player" : "admin");
+            OutboundQueue q = h.outbound;
+            sb.append("{\"conn\":").append(h.connectionId)
+                    .append(",\"role\":\"").append(role).append("\"")
+                    .append(",\"playerId\":").append(h.getObserverId())
+                    .append(",\"framesOffered\":").append(q.getOffered())
+                    .append(",\"framesSent\":").append(q.getSent())
+                    .append(",\"framesDropped\":").append(q.getDropped())
+                    .append(",\"bytesSent\":").append(q.getBytesSent())
+                    .append(",\"avgFrameBytes\":").append(q.getAvgFrameBytes())
+                    .append(",\"lastFrameBytes\":").append(q.getLastFrameBytes())
+                    .append(",\"keyframes\":").append(h.delta.getKeyframes())
+                    .append(",\"deltas\":").append(h.delta.getDeltas())
+                    .append(",\"acks\":").append(h.ackCount)
+                    .append(",\"ackLatencyAvgUs\":").append(h.ackCount == 0 ? 0
+                            : h.ackLatencyTotalNanos / h.ackCount / 1000)
+                    .append(",\"ackLatencyMaxUs\":").append(h.ackLatencyMaxNanos / 1000)
+                    .append(",\"eventsDropped\":").append(h.eventLines.getDropped())
+                    .append("}");
         }
+        sb.append("]");
+        return sb.toString();
     }
 
     @Override
@@ -0,0 +1,64 @@
+package network;
+
+import patterns.observer.GameEvent;
+import patterns.observer.GameEventListener;
+
+/**
+ * EventLineBuffer
+ * -----------------------------------------------------
+ * Líneas "EVENT ..." pendientes de UNA conexión con ADMIN EVENTS ON.
+ *
+ * El hilo de despacho de GameEventRing solo agrega el evento al
+ * texto pendiente y, si estaba vacío, lo avisa a la OutboundQueue
+ * de la conexión (offerEvents, aparte del frame); el envío lo
+ * hace el pool de escritores o el reactor NIO en el mismo drenado
+ * que los frames. Un socket admin lento nunca bloquea al despacho.
+ *
+ * Acotado a MAX_CHARS: si el cliente no lee, los eventos nuevos
+ * se descartan (y se cuentan) hasta que se envíe lo pendiente.
+ */
+final class EventLineBuffer implements GameEventListener {
+
+    static final int MAX_CHARS = 64 * 1024;
+
+    private final OutboundQueue outbound;
+    private final Runnable drainRequest;
+
+    // Protegidos por this (despacho agrega, el que envía toma)
+    private final StringBuilder pending = new StringBuilder(256);
+    private long dropped = 0;
+
+    EventLineBuffer(OutboundQueue outbound, Runnable drainRequest) {
+        this.outbound = outbound;
+        this.drainRequest = drainRequest;
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        boolean wasEmpty;
+        synchronized (this) {
+            if (pending.length() >= MAX_CHARS) {
+                dropped++;
+                return;
+            }
+            wasEmpty = pending.length() == 0;
+            event.appendTo(pending.append("EVENT ")).append('\n');
+        }
+        // Solo el primer evento desde el último envío avisa a la cola:
+        // los siguientes viajan en el mismo texto
+        if (wasEmpty && outbound.offerEvents(this)) {
+            drainRequest.run();
+        }
+    }
+
+    /** Devuelve todo el texto pendiente y vacía el buffer (hilo que envía). */
+    synchronized String take() {
+        String text = pending.toString();
+        pending.setLength(0);
+        return text;
+    }
+
+    synchronized long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,258 @@
+package network;
+
+import model.GameSnapshot;
+import utils.DeltaFrameEncoder;
+import utils.JsonFrameEncoder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * NioConnection
+ * -----------------------------------------------------
+ * Estado de una conexión en el transporte NIO.
+ *
+ * - Buffer de lectura propio y ensamblado de líneas ('\n'),
+ *   cada línea completa se entrega al ClientHandler.
+ * - Cola de escritura con ByteBuffers pendientes (respuestas)
+ *   y la OutboundQueue del handler (frames de estado); solo
+ *   el hilo del reactor escribe en el canal.
+ * - Si las respuestas pendientes superan MAX_PENDING_BYTES el
+ *   cliente no está leyendo y se cierra la conexión.
+ *
+ * Una conexión ociosa no ocupa ningún hilo: solo sus buffers.
+ */
+public class NioConnection {
+
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int MAX_LINE_LENGTH  = 8192;
+    private static final int MAX_PENDING_BYTES = 256 * 1024;
+
+    private final SocketChannel channel;
+    private final NioServer.Reactor reactor;
+    private final ClientHandler handler;
+
+    private SelectionKey key;
+
+    // Lectura: bytes del socket y línea en construcción
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private byte[] lineBuffer = new byte[256];
+    private int lineLength = 0;
+
+    // Escritura: buffers pendientes (productores: cualquier hilo)
+    private final ArrayDeque<ByteBuffer> writeQueue = new ArrayDeque<>();
+    private int pendingBytes = 0;
+    private final AtomicBoolean writeRequested = new AtomicBoolean(false);
+
+    // Frame de estado que se está escribiendo (puede quedar a medias)
+    private ByteBuffer currentFrame = null;
+    private boolean currentIsEvents = false;   // currentFrame son líneas EVENT, no un frame
+
+    private volatile boolean closed = false;
+
+    NioConnection(SocketChannel channel, NioServer.Reactor reactor) {
+        this.channel = channel;
+        this.reactor = reactor;
+        this.handler = new ClientHandler(channel.socket(), new ConnectionWriter());
+        this.handler.setFrameDrainRequest(this::requestWrite);
+    }
+
+    void attach(SelectionKey key) {
+        this.key = key;
+    }
+
+    /* =========================================================
+       LECTURA (hilo del reactor)
+       ========================================================= */
+
+    /**
+     * Lee lo disponible en el canal y entrega las líneas completas.
+     * @return false si el cliente cerró la conexión
+     */
+    boolean read() throws IOException {
+        int n = channel.read(readBuffer);
+        if (n < 0) return false;
+
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            byte b = readBuffer.get();
+
+            if (b == '\n') {
+                String line = new String(lineBuffer, 0, lineLength, StandardCharsets.UTF_8);
+                lineLength = 0;
+                handler.onLine(line);
+                continue;
+            }
+
+            if (lineLength == lineBuffer.length) {
+                if (lineLength >= MAX_LINE_LENGTH) {
+                    throw new IOException("línea demasiado larga");
+                }
+                lineBuffer = Arrays.copyOf(lineBuffer, lineBuffer.length * 2);
+            }
+            lineBuffer[lineLength++] = b;
+        }
+        readBuffer.clear();
+        return true;
+    }
+
+    /* =========================================================
+       ESCRITURA
+       ========================================================= */
+
+    /** Encola bytes para enviar y pide al reactor que los escriba. */
+    void enqueue(ByteBuffer data) {
+        if (closed) return;
+        synchronized (writeQueue) {
+            if (pendingBytes + data.remaining() > MAX_PENDING_BYTES) {
+                System.out.println("[NIO] Cliente no lee sus respuestas, cerrando conexión");
+                reactor.requestClose(this);
+                return;
+            }
+            writeQueue.add(data);
+            pendingBytes += data.remaining();
+        }
+        requestWrite();
+    }
+
+    /** Pide al reactor que active OP_WRITE (una sola vez hasta que lo aplique). */
+    private void requestWrite() {
+        if (writeRequested.compareAndSet(false, true)) {
+            reactor.requestWrite(this);
+        }
+    }
+
+    /** Activa OP_WRITE (hilo del reactor). */
+    void enableWriteInterest() {
+        writeRequested.set(false);
+        if (key != null && key.isValid()) {
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Escribe lo pendiente mientras el socket lo acepte (hilo del reactor):
+     * primero las respuestas y después los frames de estado.
+     * Si el socket se llena, deja OP_WRITE activo y continúa después.
+     */
+    void flushWrites() throws IOException {
+        synchronized (writeQueue) {
+            while (!writeQueue.isEmpty()) {
+                ByteBuffer head = writeQueue.peek();
+                pendingBytes -= channel.write(head);
+                if (head.hasRemaining()) {
+                    return;  // socket lleno
+                }
+                writeQueue.poll();
+            }
+        }
+
+        OutboundQueue outbound = handler.getOutbound();
+        while (true) {
+            if (currentFrame == null) {
+                Object frame = outbound.pollFrame();
+                if (frame == null) break;
+                currentIsEvents = frame instanceof EventLineBuffer;
+                currentFrame = encodeFrame(frame);
+                if (currentFrame == null) continue;
+            }
+            channel.write(currentFrame);
+            if (currentFrame.hasRemaining()) {
+                return;  // socket lleno: el resto del frame sale en el próximo OP_WRITE
+            }
+            if (!currentIsEvents) {
+                outbound.recordSent(currentFrame.limit());   // las líneas EVENT no son frames
+            }
+            currentFrame = null;
+        }
+
+        if (key.isValid()) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+    }
+
+    private ByteBuffer encodeFrame(Object frame) {
+        if (frame instanceof EventLineBuffer) {
+            // Líneas EVENT acumuladas desde el último envío
+            return ByteBuffer.wrap(((EventLineBuffer) frame).take().getBytes(StandardCharsets.UTF_8));
+        }
+        DeltaFrameEncoder delta = handler.getDelta();
+        if (frame instanceof GameSnapshot) {
+            // Buffer propio de la conexión: no se reutiliza hasta terminar este frame
+            delta.encode((GameSnapshot) frame);
+            return ByteBuffer.wrap(delta.buffer(), 0, delta.length());
+        }
+
+        delta.reset();   // otro modo: el cliente ya no tiene la base
+        if (frame instanceof JsonFrameEncoder.Frame) {
+            byte[] bytes = ((JsonFrameEncoder.Frame) frame).bytes;
+            if (!handler.takeGeometry()) {
+                return ByteBuffer.wrap(bytes);
+            }
+            byte[] geometry = JsonFrameEncoder.geometry();
+            ByteBuffer first = ByteBuffer.allocate(geometry.length + bytes.length);
+            first.put(geometry).put(bytes).flip();
+            return first;
+        }
+        if (frame instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) frame);   // compartido entre conexiones: solo lectura
+        }
+        if (frame instanceof String) {
+            return ByteBuffer.wrap(((String) frame).getBytes(StandardCharsets.UTF_8));
+        }
+        return null;
+    }
+
+    /* =========================================================
+       CIERRE
+       ========================================================= */
+
+    void close() {
+        if (closed) return;
+        closed = true;
+        handler.onDisconnect();
+        if (key != null) key.cancel();
+        try { channel.close(); } catch (IOException ignored) {}
+        synchronized (writeQueue) {
+            writeQueue.clear();
+        }
+    }
+
+    /**
+     * Writer que el ClientHandler usa como salida: acumula
+     * caracteres y en cada flush() los encola como un ByteBuffer.
+     */
+    private final class ConnectionWriter extends Writer {
+
+        private final StringBuilder pending = new StringBuilder();
+
+        @Override
+        public synchronized void write(char[] cbuf, int off, int len) {
+            pending.append(cbuf, off, len);
+        }
+
+        @Override
+        public synchronized void write(String str, int off, int len) {
+            pending.append(str, off, off + len);
+        }
+
+        @Override
+        public synchronized void flush() {
+            if (pending.length() == 0) return;
+            enqueue(ByteBuffer.wrap(pending.toString().getBytes(StandardCharsets.UTF_8)));
+            pending.setLength(0);
+        }
+
+        @Override
+        public void close() {
+            NioConnection.this.close();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package network;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * NioServer
+ * -----------------------------------------------------
+ * Transporte no bloqueante basado en Selector/SocketChannel.
+ *
+ * Un hilo acepta conexiones y las reparte (round-robin) entre
+ * un número fijo de reactores. Cada reactor atiende muchas
+ * conexiones con un solo Selector: lee líneas, las pasa al
+ * ClientHandler y escribe las respuestas/frames pendientes.
+ *
+ * Los comandos (JOIN / INPUT / ADMIN / SPECTATE) son los mismos
+ * que en el transporte bloqueante: los interpreta ClientHandler.
+ */
+public class NioServer {
+
+    private final int port;
+    private final Reactor[] reactors;
+
+    public NioServer(int port, int reactorCount) throws IOException {
+        this.port = port;
+        this.reactors = new Reactor[Math.max(1, reactorCount)];
+        for (int i = 0; i < reactors.length; i++) {
+            reactors[i] = new Reactor(i);
+        }
+    }
+
+    /**
+     * Arranca los reactores y acepta conexiones en el hilo actual (no retorna).
+     */
+    public void serve() throws IOException {
+        for (Reactor r : reactors) {
+            Thread t = new Thread(r, "nio-reactor-" + r.index);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(port));
+            System.out.println("Servidor NIO corriendo en puerto " + port +
+                    " (" + reactors.length + " reactores)...");
+
+            int next = 0;
+            while (true) {
+                SocketChannel client = server.accept();   // bloqueante: solo este hilo
+                System.out.println("Cliente conectado desde: " + client.socket().getInetAddress());
+
+                client.configureBlocking(false);
+                client.socket().setTcpNoDelay(true);
+
+                reactors[next].register(client);
+                next = (next + 1) % reactors.length;
+            }
+        }
+    }
+
+    /**
+     * Reactor: un hilo + un Selector para muchas conexiones.
+     */
+    static final class Reactor implements Runnable {
+
+        private final int index;
+        private final Selector selector;
+
+        // Operaciones pedidas desde otros hilos; se aplican dentro del loop
+        private final ConcurrentLinkedQueue<SocketChannel> pendingRegistrations =
+                new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<NioConnection> pendingWrites =
+                new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<NioConnection> pendingCloses =
+                new ConcurrentLinkedQueue<>();
+
+        Reactor(int index) throws IOException {
+            this.index = index;
+            this.selector = Selector.open();
+        }
+
+        void register(SocketChannel channel) {
+            pendingRegistrations.add(channel);
+            selector.wakeup();
+        }
+
+        void requestWrite(NioConnection conn) {
+            pendingWrites.add(conn);
+            selector.wakeup();
+        }
+
+        void requestClose(NioConnection conn) {
+            pendingCloses.add(conn);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    selector.select();
+                    applyPending();
+
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        handle(key);
+                    }
+                } catch (IOException e) {
+                    System.out.println("[NIO] Error en reactor " + index + ": " + e.getMessage());
+                }
+            }
+        }
+
+        private void applyPending() {
+            SocketChannel channel;
+            while ((channel = pendingRegistrations.poll()) != null) {
+                try {
+                    NioConnection conn = new NioConnection(channel, this);
+                    conn.attach(channel.register(selector, SelectionKey.OP_READ, conn));
+                } catch (IOException e) {
+                    System.out.println("[NIO] No se pudo registrar cliente: " + e.getMessage());
+                    try { channel.close(); } catch (IOException ignored) {}
+                }
+            }
+
+            NioConnection conn;
+            while ((conn = pendingWrites.poll()) != null) {
+                conn.enableWriteInterest();
+            }
+            while ((conn = pendingCloses.poll()) != null) {
+                conn.close();
+            }
+        }
+
+        private void handle(SelectionKey key) {
+            NioConnection conn = (NioConnection) key.attachment();
+            try {
+                if (key.isValid() && key.isReadable()) {
+                    if (!conn.read()) {
+                        conn.close();
+                        return;
+                    }
+                }
+                if (key.isValid() && key.isWritable()) {
+                    conn.flushWrites();
+                }
+            } catch (IOException | RuntimeException e) {
+                System.out.println("[SERVER] Error con cliente: " + e.getMessage());
+                conn.close();
+            }
+        }
+    }
+}
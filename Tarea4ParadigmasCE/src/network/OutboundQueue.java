@@ -0,0 +1,101 @@
+package network;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * OutboundQueue
+ * -----------------------------------------------------
+ * Cola de salida de frames de estado de UNA conexión.
+ *
+ * El hilo del tick solo deja el frame en la cola (offer) y
+ * sigue; el envío lo hace otro hilo (pool de escritores o el
+ * reactor NIO) llamando a pollFrame().
+ *
+ * La cola tiene capacidad 1: si el cliente va atrasado, el
+ * frame pendiente se reemplaza por el más nuevo (los frames
+ * viejos no sirven) y se cuenta como descartado.
+ *
+ * Las líneas EVENT (ADMIN EVENTS ON) tienen su propio lugar: se
+ * envían en el mismo drenado, antes del frame, pero un frame
+ * nunca las reemplaza y no entran en los contadores de frames.
+ */
+public class OutboundQueue {
+
+    private final AtomicReference<Object> pending = new AtomicReference<>();
+    private final AtomicReference<EventLineBuffer> pendingEvents = new AtomicReference<>();
+
+    // true mientras hay un drenado pedido o en curso
+    private final AtomicBoolean signaled = new AtomicBoolean(false);
+
+    // Contadores por conexión
+    private final AtomicLong offered = new AtomicLong(0);
+    private final AtomicLong sent = new AtomicLong(0);
+    private final AtomicLong dropped = new AtomicLong(0);
+    private final AtomicLong bytesSent = new AtomicLong(0);
+    private volatile int lastFrameBytes = 0;
+
+    /**
+     * Deja un frame para enviar, reemplazando el pendiente si lo hay.
+     * @return true si quien llama debe pedir un drenado (no había uno en curso)
+     */
+    public boolean offer(Object frame) {
+        offered.incrementAndGet();
+        if (pending.getAndSet(frame) != null) {
+            dropped.incrementAndGet();
+        }
+        return signaled.compareAndSet(false, true);
+    }
+
+    /**
+     * Avisa que el buffer de eventos tiene texto para enviar.
+     * @return true si quien llama debe pedir un drenado (no había uno en curso)
+     */
+    boolean offerEvents(EventLineBuffer events) {
+        pendingEvents.set(events);
+        return signaled.compareAndSet(false, true);
+    }
+
+    /**
+     * Toma lo siguiente a enviar: primero las líneas EVENT (un
+     * EventLineBuffer), después el frame.
+     * Devuelve null cuando no queda nada: en ese momento el drenado
+     * termina y el próximo offer() volverá a pedir uno.
+     */
+    public Object pollFrame() {
+        Object next = take();
+        if (next != null) return next;
+
+        signaled.set(false);
+        // Un offer() pudo llegar entre take y set(false)
+        if ((pending.get() != null || pendingEvents.get() != null) && signaled.compareAndSet(false, true)) {
+            return take();
+        }
+        return null;
+    }
+
+    private Object take() {
+        Object events = pendingEvents.getAndSet(null);
+        return (events != null) ? events : pending.getAndSet(null);
+    }
+
+    /** Registra un frame efectivamente escrito en el socket. */
+    public void recordSent(int bytes) {
+        sent.incrementAndGet();
+        bytesSent.addAndGet(bytes);
+        lastFrameBytes = bytes;
+    }
+
+    public long getOffered() { return offered.get(); }
+    public long getSent() { return sent.get(); }
+    public long getDropped() { return dropped.get(); }
+    public long getBytesSent() { return bytesSent.get(); }
+    public int getLastFrameBytes() { return lastFrameBytes; }
+
+    /** Promedio de bytes por frame enviado (por tick efectivamente enviado). */
+    public long getAvgFrameBytes() {
+        long n = sent.get();
+        return n == 0 ? 0 : bytesSent.get() / n;
+    }
+}
@@ -35,8 +35,8 @@ public class CrocodileFactory {
         // Seguridad: velocidad y límites por defecto
         if (c != null) {
             if (c.getVelocidad() <= 0) c.setVelocidad(GameConstants.CROC_SPEED);
-            if (c.getPosicion().y < GameConstants.CROC_MIN_Y)
-                c.getPosicion().y = GameConstants.CROC_MIN_Y + 50;
+            if (c.y() < GameConstants.CROC_MIN_Y)
+                c.setY(GameConstants.CROC_MIN_Y + 50);
         }
 
         return c;
@@ -0,0 +1,109 @@
+package patterns.factory;
+
+import entities.Cocodrilo;
+import entities.CocodriloAzul;
+import entities.CocodriloRojo;
+import entities.Fruta;
+import model.Posicion;
+import utils.TipoCocodrilo;
+
+/**
+ * EntityPools
+ * -----------------------------------------------------
+ * Pools de una partida para cocodrilos (rojos y azules), frutas y
+ * posiciones. GameObjectFactoryImpl saca de acá antes de crear y
+ * GameManager devuelve lo que sale del EntityStore: reclamación de
+ * fin de tick, bajas ADMIN y el vaciado al reiniciar el nivel.
+ * Así ganar o perder no crea entidades nuevas, solo las reinicia.
+ *
+ * Una entidad reutilizada recibe un id nuevo al volver a entrar
+ * al almacén (IdAllocator): el id dado de baja no se le pasa.
+ *
+ * Solo se guardan las clases exactas que crea la factory
+ * (CocodriloRojo, CocodriloAzul, Fruta); el resto se descarta.
+ */
+public final class EntityPools {
+
+    public static final int CROC_CAPACITY = 128;
+    public static final int FRUIT_CAPACITY = 128;
+    public static final int POSITION_CAPACITY = 256;
+
+    private final ObjectPool<CocodriloRojo> rojos = new ObjectPool<>(CROC_CAPACITY);
+    private final ObjectPool<CocodriloAzul> azules = new ObjectPool<>(CROC_CAPACITY);
+    private final ObjectPool<Fruta> frutas = new ObjectPool<>(FRUIT_CAPACITY);
+    private final ObjectPool<Posicion> posiciones = new ObjectPool<>(POSITION_CAPACITY);
+
+    /* =========================================================
+       SACAR
+       ========================================================= */
+
+    /** Posición (x, y), reutilizada si hay una libre. */
+    public Posicion position(double x, double y) {
+        Posicion p = posiciones.acquire();
+        if (p == null) {
+            return new Posicion(x, y);
+        }
+        p.x = x;
+        p.y = y;
+        return p;
+    }
+
+    /** Cocodrilo del pool reiniciado en posicion, o null si no hay. */
+    public Cocodrilo reuseCroc(TipoCocodrilo tipo, Posicion posicion) {
+        Cocodrilo c = (tipo == TipoCocodrilo.ROJO) ? rojos.acquire() : azules.acquire();
+        if (c != null) {
+            releasePosition(c.reset(posicion));
+        }
+        return c;
+    }
+
+    /** Fruta del pool reiniciada en posicion, o null si no hay. */
+    public Fruta reuseFruit(Posicion posicion) {
+        Fruta f = frutas.acquire();
+        if (f != null) {
+            releasePosition(f.reset(posicion));
+        }
+        return f;
+    }
+
+    /* =========================================================
+       DEVOLVER (entidades ya fuera del almacén)
+       ========================================================= */
+
+    public void releaseCroc(Cocodrilo c) {
+        if (c.getClass() == CocodriloRojo.class) {
+            rojos.release((CocodriloRojo) c);
+        } else if (c.getClass() == CocodriloAzul.class) {
+            azules.release((CocodriloAzul) c);
+        }
+    }
+
+    public void releaseFruit(Fruta f) {
+        if (f.getClass() == Fruta.class) {
+            frutas.release(f);
+        }
+    }
+
+    public void releasePosition(Posicion p) {
+        if (p != null) {
+            posiciones.release(p);
+        }
+    }
+
+    /* =========================================================
+       ESTADÍSTICAS
+       ========================================================= */
+
+    public ObjectPool<CocodriloRojo> redCrocs() { return rojos; }
+    public ObjectPool<CocodriloAzul> blueCrocs() { return azules; }
+    public ObjectPool<Fruta> fruits() { return frutas; }
+    public ObjectPool<Posicion> positions() { return posiciones; }
+
+    /** Aciertos / fallos / libres de cada pool (ADMIN POOLS). */
+    public String toJson() {
+        return "{\"redCrocs\":" + rojos.toJson() +
+                ",\"blueCrocs\":" + azules.toJson() +
+                ",\"fruits\":" + frutas.toJson() +
+                ",\"positions\":" + posiciones.toJson() + "}";
+    }
+}
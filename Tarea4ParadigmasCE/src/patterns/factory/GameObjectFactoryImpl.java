@@ -11,23 +11,46 @@ import utils.TipoFruta;
  * -----------------------------------------------------
  * Implementación concreta del patrón Abstract Factory.
  * Crea todas las entidades del juego (cocodrilos y frutas).
+ *
+ * Con EntityPools primero intenta reutilizar una entidad libre de
+ * la partida y solo crea una nueva si el pool está vacío.
+ *
+ * Sin log no escribe una línea por entidad (altas masivas).
  */
 public class GameObjectFactoryImpl implements GameObjectFactory {
 
+    private final EntityPools pools;   // null: siempre crea
+    private final boolean log;
+
+    public GameObjectFactoryImpl() {
+        this(null);
+    }
+
+    public GameObjectFactoryImpl(EntityPools pools) {
+        this(pools, true);
+    }
+
+    public GameObjectFactoryImpl(EntityPools pools, boolean log) {
+        this.pools = pools;
+        this.log = log;
+    }
+
     @Override
     public Cocodrilo crearCocodrilo(TipoCocodrilo tipo, Posicion posicion) {
-        Cocodrilo cocodrilo = null;
-
-        switch (tipo) {
-            case ROJO:
-                cocodrilo = new CocodriloRojo(posicion);
-                break;
-            case AZUL:
-                cocodrilo = new CocodriloAzul(posicion);
-                break;
+        Cocodrilo cocodrilo = (pools != null) ? pools.reuseCroc(tipo, posicion) : null;
+
+        if (cocodrilo == null) {
+            switch (tipo) {
+                case ROJO:
+                    cocodrilo = new CocodriloRojo(posicion);
+                    break;
+                case AZUL:
+                    cocodrilo = new CocodriloAzul(posicion);
+                    break;
+            }
         }
 
-        if (cocodrilo != null) {
+        if (cocodrilo != null && log) {
             System.out.println("[Factory] Cocodrilo creado: " + tipo + " en posición " + posicion);
         }
 
@@ -53,19 +76,24 @@ public class GameObjectFactoryImpl implements GameObjectFactory {
 
         // Crear posición en la liana
         Double x = liana.getPosicionInicio().x;
-        Posicion posicion = new Posicion(x, altura);
+        Posicion posicion = crearPosicion(x, altura);
 
         return crearCocodrilo(tipo, posicion);
     }
 
     @Override
     public Fruta crearFruta(TipoFruta tipo, Posicion posicion) {
-        Fruta fruta = new Fruta();
+        Fruta fruta = (pools != null) ? pools.reuseFruit(posicion) : null;
+        if (fruta == null) {
+            fruta = new Fruta();
+            fruta.setPosicion(posicion);
+        }
         fruta.setTipo(tipo);
-        fruta.setPosicion(posicion);
         fruta.setActiva(Boolean.TRUE);
 
-        System.out.println("[Factory] Fruta creada: " + tipo + " en posición " + posicion);
+        if (log) {
+            System.out.println("[Factory] Fruta creada: " + tipo + " en posición " + posicion);
+        }
 
         return fruta;
     }
@@ -89,11 +117,15 @@ public class GameObjectFactoryImpl implements GameObjectFactory {
 
         // Crear posición en la liana
         Double x = liana.getPosicionInicio().x;
-        Posicion posicion = new Posicion(x, altura);
+        Posicion posicion = crearPosicion(x, altura);
 
         Fruta fruta = crearFruta(tipo, posicion);
         fruta.setLiana(liana);
 
         return fruta;
     }
+
+    private Posicion crearPosicion(double x, double y) {
+        return (pools != null) ? pools.position(x, y) : new Posicion(x, y);
+    }
 }
\ No newline at end of file
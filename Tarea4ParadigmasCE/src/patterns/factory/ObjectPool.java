@@ -0,0 +1,72 @@
+package patterns.factory;
+
+import java.util.Arrays;
+
+/**
+ * ObjectPool
+ * -----------------------------------------------------
+ * Pila acotada de objetos libres para reutilizarlos en vez de
+ * crear nuevos. acquire() devuelve uno libre (acierto) o null
+ * (fallo: el llamador lo crea); release() lo guarda si hay lugar.
+ *
+ * No inicializa nada: quien saca un objeto lo deja como nuevo.
+ * Cuenta aciertos, fallos y descartes (devueltos con el pool lleno).
+ *
+ * Solo lo usa el hilo del tick de la partida: las altas y bajas
+ * ADMIN también se aplican en el tick (AdminCommandBus), así que no
+ * lleva locks. Los contadores son volátiles para que toJson (ADMIN
+ * POOLS) los lea desde otro hilo.
+ */
+public final class ObjectPool<T> {
+
+    private final Object[] free;
+    private volatile int size = 0;
+
+    private volatile long hits = 0;
+    private volatile long misses = 0;
+    private volatile long dropped = 0;
+
+    public ObjectPool(int capacity) {
+        free = new Object[capacity];
+    }
+
+    /** Un objeto libre, o null si no hay (el llamador crea uno). */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if (size == 0) {
+            misses++;
+            return null;
+        }
+        hits++;
+        T item = (T) free[--size];
+        free[size] = null;
+        return item;
+    }
+
+    /** Guarda el objeto para reutilizarlo; false si el pool está lleno. */
+    public boolean release(T item) {
+        if (size == free.length) {
+            dropped++;
+            return false;
+        }
+        free[size++] = item;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(free, 0, size, null);
+        size = 0;
+    }
+
+    public int size() { return size; }
+    public int capacity() { return free.length; }
+    public long hits() { return hits; }
+    public long misses() { return misses; }
+    public long dropped() { return dropped; }
+
+    /** {"free":n,"hits":n,"misses":n,"dropped":n} */
+    public String toJson() {
+        return "{\"free\":" + size + ",\"hits\":" + hits +
+                ",\"misses\":" + misses + ",\"dropped\":" + dropped + "}";
+    }
+}
@@ -0,0 +1,79 @@
+package patterns.observer;
+
+/**
+ * GameEvent
+ * -----------------------------------------------------
+ * Evento de dominio de una partida (fruta recogida, muerte, victoria,
+ * subida de nivel...). A diferencia de los frames del GameObservable,
+ * lleva solo los datos del hecho, así un suscriptor no tiene que
+ * decodificar el estado completo.
+ *
+ * Los objetos están preasignados: GameEventRing los reutiliza como
+ * celdas del anillo y cada suscripción recibe siempre la misma copia.
+ * Un GameEvent es válido solo durante onEvent(); para guardarlo hay
+ * que copiar sus valores.
+ */
+public final class GameEvent {
+
+    public enum Type {
+        FRUIT_PICKUP,   // entityId = fruta, value = puntos
+        DEATH,          // value = vidas restantes
+        GAME_OVER,      // value = nivel alcanzado
+        WIN,            // value = nivel siguiente
+        EXTRA_LIFE,     // value = vidas
+        LEVEL_UP        // value = nivel nuevo (al reiniciar después de ganar)
+    }
+
+    public static final int NO_ENTITY = -1;
+
+    private Type type;
+    private long tick;
+    private int entityId;
+    private int value;
+    private double x, y;
+    private int score;
+    private int lives;
+
+    GameEvent() {}
+
+    void set(Type type, long tick, int entityId, int value, double x, double y, int score, int lives) {
+        this.type = type;
+        this.tick = tick;
+        this.entityId = entityId;
+        this.value = value;
+        this.x = x;
+        this.y = y;
+        this.score = score;
+        this.lives = lives;
+    }
+
+    void copyFrom(GameEvent other) {
+        set(other.type, other.tick, other.entityId, other.value, other.x, other.y, other.score, other.lives);
+    }
+
+    public Type getType() { return type; }
+    public long getTick() { return tick; }
+    public int getEntityId() { return entityId; }
+    public int getValue() { return value; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public int getScore() { return score; }
+    public int getLives() { return lives; }
+
+    /**
+     * Escribe el evento en sb con el mismo formato que toString(),
+     * sin crear un String por evento (líneas EVENT de ADMIN EVENTS).
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        sb.append(type.name()).append(" tick=").append(tick);
+        if (entityId != NO_ENTITY) sb.append(" id=").append(entityId);
+        return sb.append(" value=").append(value)
+                .append(" x=").append((int) x).append(" y=").append((int) y)
+                .append(" score=").append(score).append(" lives=").append(lives);
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(64)).toString();
+    }
+}
@@ -0,0 +1,14 @@
+package patterns.observer;
+
+/**
+ * GameEventListener
+ * -----------------------------------------------------
+ * Suscriptor de eventos de dominio (ver GameEventRing). Se llama
+ * desde un hilo de despacho, nunca desde el hilo del tick, y con
+ * los eventos en orden. El GameEvent recibido se reutiliza: solo
+ * es válido durante la llamada.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+    void onEvent(GameEvent event);
+}
@@ -0,0 +1,213 @@
+package patterns.observer;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GameEventRing
+ * -----------------------------------------------------
+ * Canal de eventos de dominio de UNA partida: anillo preasignado
+ * de GameEvent con un solo productor (el hilo del tick) y
+ * suscriptores asíncronos.
+ *
+ * - publish() escribe en la celda siguiente y nunca bloquea ni
+ *   asigna memoria: si un suscriptor se atrasa más que el anillo,
+ *   pierde los eventos más viejos (se cuentan en lost).
+ * - signal() (una vez por tick) pide a los suscriptores con eventos
+ *   nuevos que los consuman en el pool de despacho, igual que los
+ *   frames de ClientHandler se envían fuera del tick.
+ * - Cada suscripción tiene su propio cursor y lee cada celda como un
+ *   seqlock: copia el evento y comprueba que el productor no la
+ *   reescribió mientras tanto.
+ */
+public final class GameEventRing {
+
+    // Hilos que entregan eventos (se crean solo mientras hay entregas)
+    private static final ExecutorService DISPATCHERS = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "game-events");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final long WRITING = -1;
+
+    private static final class Slot {
+        volatile long seq = WRITING;    // secuencia escrita, o WRITING
+        final GameEvent event = new GameEvent();
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+
+    private long next = 0;                  // solo el productor
+    private volatile long published = 0;    // eventos [0, published) visibles
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /** @param capacity potencia de 2 */
+    public GameEventRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity debe ser potencia de 2: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /* =========================================================
+       PRODUCTOR (hilo del tick)
+       ========================================================= */
+
+    public void publish(GameEvent.Type type, long tick, int entityId, int value,
+                        double x, double y, int score, int lives) {
+        long seq = next++;
+        Slot slot = slots[(int) seq & mask];
+        slot.seq = WRITING;
+        VarHandle.storeStoreFence();    // nadie ve los campos nuevos con la secuencia vieja
+        slot.event.set(type, tick, entityId, value, x, y, score, lives);
+        slot.seq = seq;
+        published = seq + 1;
+    }
+
+    /** Despierta a los suscriptores que tengan eventos sin leer. */
+    public void signal() {
+        long end = published;
+        for (Subscription s : subscriptions) {
+            if (s.cursor < end) {
+                s.schedule();
+            }
+        }
+    }
+
+    /* =========================================================
+       SUSCRIPTORES
+       ========================================================= */
+
+    /** Suscribe desde el próximo evento publicado. */
+    public Subscription subscribe(String name, GameEventListener listener) {
+        Subscription s = new Subscription(name, listener, published);
+        subscriptions.add(s);
+        System.out.println("[Events] Suscriptor agregado: " + name);
+        return s;
+    }
+
+    public void unsubscribe(Subscription s) {
+        if (s != null && subscriptions.remove(s)) {
+            s.closed = true;
+            System.out.println("[Events] Suscriptor eliminado: " + s.name);
+        }
+    }
+
+    /** Quita todas las suscripciones (la partida terminó). */
+    public void close() {
+        for (Subscription s : subscriptions) {
+            unsubscribe(s);
+        }
+    }
+
+    public final class Subscription {
+        private final String name;
+        private final GameEventListener listener;
+        private final GameEvent scratch = new GameEvent();   // copia entregada al listener
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private volatile boolean closed = false;
+
+        // Solo el hilo de despacho que tiene scheduled
+        private volatile long cursor;
+        private volatile long delivered = 0;
+        private volatile long lost = 0;
+
+        private Subscription(String name, GameEventListener listener, long start) {
+            this.name = name;
+            this.listener = listener;
+            this.cursor = start;
+        }
+
+        private void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                DISPATCHERS.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                long end;
+                while (!closed && cursor < (end = published)) {
+                    long seq = cursor;
+                    if (end - seq > slots.length) {
+                        lost += end - slots.length - seq;   // el productor dio la vuelta
+                        seq = end - slots.length;
+                    }
+                    if (read(seq)) {
+                        deliver();
+                    } else {
+                        lost++;
+                    }
+                    cursor = seq + 1;
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // Un evento publicado justo antes de soltar scheduled no se pierde
+            if (!closed && cursor < published) {
+                schedule();
+            }
+        }
+
+        /** Copia la celda de seq en scratch; false si fue reescrita. */
+        private boolean read(long seq) {
+            Slot slot = slots[(int) seq & mask];
+            if (slot.seq != seq) {
+                return false;
+            }
+            scratch.copyFrom(slot.event);
+            VarHandle.acquireFence();       // la copia terminó antes de volver a mirar seq
+            return slot.seq == seq;
+        }
+
+        private void deliver() {
+            try {
+                listener.onEvent(scratch);
+                delivered++;
+            } catch (RuntimeException e) {
+                System.out.println("[Events] Error en suscriptor " + name + ": " + e);
+            }
+        }
+
+        public String getName() { return name; }
+        public long getDelivered() { return delivered; }
+        public long getLost() { return lost; }
+    }
+
+    /* =========================================================
+       ESTADÍSTICAS
+       ========================================================= */
+
+    public long getPublished() { return published; }
+
+    public int getSubscriberCount() { return subscriptions.size(); }
+
+    /** Publicados y, por suscriptor, entregados / perdidos (ADMIN EVENTS). */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"published\":").append(published)
+                .append(",\"capacity\":").append(slots.length)
+                .append(",\"subscribers\":[");
+        boolean first = true;
+        for (Subscription s : subscriptions) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append("{\"name\":\"").append(s.name)
+                    .append("\",\"delivered\":").append(s.delivered)
+                    .append(",\"lost\":").append(s.lost).append('}');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+}
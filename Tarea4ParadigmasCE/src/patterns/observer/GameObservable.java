@@ -1,22 +1,28 @@
 package patterns.observer;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * GameObservable
  * -----------------------------------------------------
  * Implementación concreta del patrón Observer para el juego.
  * Mantiene una lista de observadores y los notifica de cambios.
+ *
+ * Los observadores se agregan y quitan desde los hilos de las
+ * conexiones mientras el tick notifica: la lista es copy-on-write,
+ * así notificar recorre una copia estable sin locks. Cada
+ * actualizar() solo encola el frame (ver ClientHandler).
+ *
+ * Los eventos sueltos (fruta recogida, muerte, victoria) van por
+ * GameEventRing, no por acá.
  */
 public class GameObservable implements Observable {
 
-    private final List<Observer> observers = new ArrayList<>();
+    private final CopyOnWriteArrayList<Observer> observers = new CopyOnWriteArrayList<>();
 
     @Override
     public void agregarObservador(Observer obs) {
-        if (!observers.contains(obs)) {
-            observers.add(obs);
+        if (observers.addIfAbsent(obs)) {
             System.out.println("[Observable] Observador agregado: " + obs.getObserverId());
         }
     }
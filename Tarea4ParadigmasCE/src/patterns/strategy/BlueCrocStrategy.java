@@ -1,7 +1,6 @@
 package patterns.strategy;
 
 import entities.Cocodrilo;
-import model.Posicion;
 
 /**
  * BlueCrocStrategy
@@ -11,18 +10,17 @@ import model.Posicion;
  */
 public class BlueCrocStrategy implements MovementStrategy {
 
-    private static final Double MAX_Y = 550.0;
+    static final double MAX_Y = 550.0;
 
     @Override
     public void move(Cocodrilo cocodrilo) {
-        Posicion pos = cocodrilo.getPosicion();
-        Double velocidad = cocodrilo.getVelocidad();
+        double y = cocodrilo.y() + cocodrilo.velocidad();
 
         // Siempre desciende
-        pos.y += velocidad;
+        cocodrilo.setY(y);
 
         // Si sale del límite, se desactiva
-        if (pos.y >= MAX_Y) {
+        if (y >= MAX_Y) {
             cocodrilo.setActivo(Boolean.FALSE);
         }
     }
@@ -0,0 +1,99 @@
+package patterns.strategy;
+
+import entities.Cocodrilo;
+import model.EntityStore;
+import model.LevelGeometry;
+import utils.EntityKernels;
+
+import static patterns.strategy.RedCrocStrategy.CROC_HEIGHT;
+import static patterns.strategy.RedCrocStrategy.DEFAULT_MAX_Y;
+import static patterns.strategy.RedCrocStrategy.DEFAULT_MIN_Y;
+import static patterns.strategy.RedCrocStrategy.TOP_MARGIN;
+import static patterns.strategy.RedCrocStrategy.VERTICAL_SPEED;
+
+/**
+ * CrocBatchMovement
+ * -----------------------------------------------------
+ * Mueve en una sola llamada todos los cocodrilos de un tipo
+ * directamente sobre los arreglos del EntityStore: un loop
+ * monomórfico para los rojos y otro para los azules, sin
+ * llamada por interfaz ni getters por cocodrilo.
+ *
+ * Hace exactamente lo mismo que RedCrocStrategy y BlueCrocStrategy.
+ * Los límites de cada liana (min/max con márgenes) salen de la
+ * LevelGeometry compartida y se calculan una vez, no en cada tick.
+ *
+ * Solo toca los slots marcados como batched (estrategia estándar);
+ * los cocodrilos con otra estrategia se siguen moviendo con
+ * Cocodrilo.update().
+ */
+public final class CrocBatchMovement {
+
+    // Límites verticales de los rojos por id de liana
+    private final double[] laneMinY;
+    private final double[] laneMaxY;
+
+    private final EntityKernels kernels = EntityKernels.get();
+
+    public CrocBatchMovement(LevelGeometry geometry) {
+        int lanes = geometry.lianaCount();
+        laneMinY = new double[lanes];
+        laneMaxY = new double[lanes];
+        // Mismos márgenes que RedCrocStrategy.minY/maxY
+        for (int i = 0; i < lanes; i++) {
+            laneMinY[i] = geometry.lianaMinY(i) + TOP_MARGIN;
+            laneMaxY[i] = geometry.lianaMaxY(i) - CROC_HEIGHT;
+        }
+    }
+
+    /** Un tick de movimiento para todos los cocodrilos estándar. */
+    public void moveAll(EntityStore<Cocodrilo> crocs) {
+        moveRed(crocs);
+        moveBlue(crocs);
+    }
+
+    /**
+     * Rojos: suben y bajan a velocidad fija entre los límites de su
+     * liana (o los límites por defecto si no tienen).
+     */
+    public void moveRed(EntityStore<Cocodrilo> crocs) {
+        int n = crocs.size();
+        double[] y = crocs.y;
+        int[] dir = crocs.direction;
+        int[] type = crocs.type;
+        int[] lane = crocs.lane;
+        boolean[] active = crocs.active;
+        boolean[] batched = crocs.batched;
+        double[] minY = laneMinY;
+        double[] maxY = laneMaxY;
+
+        for (int i = 0; i < n; i++) {
+            if (!active[i] || !batched[i] || type[i] != Cocodrilo.TIPO_ROJO) continue;
+
+            int l = lane[i];
+            double lo = DEFAULT_MIN_Y;
+            double hi = DEFAULT_MAX_Y;
+            if (l >= 0 && l < minY.length) {
+                lo = minY[l];
+                hi = maxY[l];
+            }
+
+            // Rebote en los límites
+            int d = dir[i] == 0 ? 1 : dir[i];
+            double ny = y[i] + VERTICAL_SPEED * d;
+            boolean top = ny <= lo;
+            boolean bottom = !top && ny >= hi;
+            y[i] = top ? lo : (bottom ? hi : ny);
+            dir[i] = top ? 1 : (bottom ? -1 : d);
+            crocs.moved(i);
+        }
+    }
+
+    /**
+     * Azules: descienden a su velocidad y se desactivan al salir por
+     * abajo (con la Vector API si está disponible, ver EntityKernels).
+     */
+    public void moveBlue(EntityStore<Cocodrilo> crocs) {
+        kernels.moveBlue(crocs, BlueCrocStrategy.MAX_Y);
+    }
+}
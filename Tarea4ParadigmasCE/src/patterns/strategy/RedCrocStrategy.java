@@ -2,7 +2,6 @@ package patterns.strategy;
 
 import entities.Cocodrilo;
 import model.Liana;
-import model.Posicion;
 
 /**
  * RedCrocStrategy
@@ -13,11 +12,18 @@ import model.Posicion;
  */
 public class RedCrocStrategy implements MovementStrategy {
 
-    private static final Double VERTICAL_SPEED = 1.2;  // Velocidad vertical
+    static final double VERTICAL_SPEED = 1.2;  // Velocidad vertical
+
+    // Tamaño del sprite del cocodrilo y margen superior en la liana
+    static final double CROC_HEIGHT = 30.0;
+    static final double TOP_MARGIN = 15.0;
+
+    // Límites cuando no tiene liana asignada
+    static final double DEFAULT_MIN_Y = 150.0;
+    static final double DEFAULT_MAX_Y = 520.0;
 
     @Override
     public void move(Cocodrilo cocodrilo) {
-        Posicion pos = cocodrilo.getPosicion();
         Liana liana = cocodrilo.getLiana();
 
         // Si no tiene liana asignada, usar movimiento vertical por defecto
@@ -26,19 +32,12 @@ public class RedCrocStrategy implements MovementStrategy {
             return;
         }
 
-        // Obtener límites verticales de la liana
-        double lianaMinY = Math.min(liana.getPosicionInicio().y, liana.getPosicionFin().y);
-        double lianaMaxY = Math.max(liana.getPosicionInicio().y, liana.getPosicionFin().y);
-
-        // Tamaño del sprite del cocodrilo
-        final double CROC_HEIGHT = 30.0;
-
-        // Ajustar límites verticales con márgenes
-        double minY = lianaMinY + 15;  // Margen superior
-        double maxY = lianaMaxY - CROC_HEIGHT;  // Sin margen inferior adicional
+        // Límites verticales de la liana con márgenes
+        double minY = minY(liana);
+        double maxY = maxY(liana);
 
         // Obtener dirección vertical actual
-        Integer direccion = cocodrilo.getDireccion();
+        int direccion = cocodrilo.direccion();
 
         // Si la dirección es 0, establecer una dirección inicial
         if (direccion == 0) {
@@ -47,27 +46,24 @@ public class RedCrocStrategy implements MovementStrategy {
         }
 
         // Movimiento vertical continuo
-        pos.y += VERTICAL_SPEED * direccion;
+        double y = cocodrilo.y() + VERTICAL_SPEED * direccion;
 
         // Rebote en los límites verticales
-        if (pos.y <= minY) {
-            pos.y = minY;
+        if (y <= minY) {
+            y = minY;
             cocodrilo.setDireccion(1); // Cambiar a bajar
-        } else if (pos.y >= maxY) {
-            pos.y = maxY;
+        } else if (y >= maxY) {
+            y = maxY;
             cocodrilo.setDireccion(-1); // Cambiar a subir
         }
+        cocodrilo.setY(y);
     }
 
     /**
      * Movimiento vertical por defecto cuando no hay liana asignada
      */
     private void moveVerticalDefault(Cocodrilo cocodrilo) {
-        Posicion pos = cocodrilo.getPosicion();
-        Integer direccion = cocodrilo.getDireccion();
-
-        final Double MIN_Y = 150.0;
-        final Double MAX_Y = 520.0;
+        int direccion = cocodrilo.direccion();
 
         // Si la dirección es 0, establecer una dirección inicial
         if (direccion == 0) {
@@ -76,15 +72,26 @@ public class RedCrocStrategy implements MovementStrategy {
         }
 
         // Movimiento vertical
-        pos.y += VERTICAL_SPEED * direccion;
+        double y = cocodrilo.y() + VERTICAL_SPEED * direccion;
 
         // Cambiar dirección en los límites
-        if (pos.y <= MIN_Y) {
-            pos.y = MIN_Y;
+        if (y <= DEFAULT_MIN_Y) {
+            y = DEFAULT_MIN_Y;
             cocodrilo.setDireccion(1); // cambiar a bajar
-        } else if (pos.y >= MAX_Y) {
-            pos.y = MAX_Y;
+        } else if (y >= DEFAULT_MAX_Y) {
+            y = DEFAULT_MAX_Y;
             cocodrilo.setDireccion(-1); // cambiar a subir
         }
+        cocodrilo.setY(y);
+    }
+
+    /** Límite superior del recorrido en la liana (margen superior incluido). */
+    static double minY(Liana liana) {
+        return Math.min(liana.getPosicionInicio().y, liana.getPosicionFin().y) + TOP_MARGIN;
+    }
+
+    /** Límite inferior del recorrido: el cocodrilo no pasa del final de la liana. */
+    static double maxY(Liana liana) {
+        return Math.max(liana.getPosicionInicio().y, liana.getPosicionFin().y) - CROC_HEIGHT;
     }
-}
\ No newline at end of file
+}
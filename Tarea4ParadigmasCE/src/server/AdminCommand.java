@@ -0,0 +1,199 @@
+package server;
+
+import patterns.observer.GameEvent;
+import utils.TipoCocodrilo;
+import utils.TipoFruta;
+
+/**
+ * AdminCommand
+ * -----------------------------------------------------
+ * Cambio pedido por un administrador (ADMIN ... o AdminConsole).
+ * No se aplica en el hilo que lo pide: se encola en el
+ * AdminCommandBus de la partida y lo aplica el hilo del tick entre
+ * dos frames, así nunca toca las listas mientras el tick las recorre.
+ *
+ * apply() registra en la transacción cómo deshacer el cambio (por si
+ * falla otro comando del mismo lote). Las bajas solo marcan la
+ * entidad inactiva: la reclamación de fin de tick la saca, y
+ * deshacer la reactiva con el mismo id y slot.
+ *
+ * Las lianas van de 1 a 9, como en GameConstants.getLianaX.
+ */
+public abstract class AdminCommand {
+
+    AdminCommand() {}
+
+    /** Aplica el comando (hilo del tick). */
+    abstract AdminResult apply(GameManager game, AdminCommandBus.Transaction tx);
+
+    /* =========================================================
+       COMANDOS
+       ========================================================= */
+
+    public static AdminCommand spawnCroc(TipoCocodrilo tipo, int lianaNum, double altura) {
+        return new SpawnCroc(tipo, lianaNum, altura);
+    }
+
+    /** @param puntos puntos de la fruta; 0 usa los del tipo */
+    public static AdminCommand spawnFruit(TipoFruta tipo, int lianaNum, double altura, int puntos) {
+        return new SpawnFruit(tipo, lianaNum, altura, puntos);
+    }
+
+    public static AdminCommand deleteCroc(int id) {
+        return new DeleteCroc(id);
+    }
+
+    /** Elimina la fruta más antigua a menos de 30 px del punto de la liana. */
+    public static AdminCommand deleteFruitAt(int lianaNum, double altura) {
+        return new DeleteFruitAt(lianaNum, altura);
+    }
+
+    /** Encola count cocodrilos repartidos entre las lianas (BulkSpawner). */
+    public static AdminCommand spawnCrocs(TipoCocodrilo tipo, int count, int firstLiana, int lastLiana) {
+        return new BulkSpawn(tipo, null, count, firstLiana, lastLiana, 0);
+    }
+
+    /** @param puntos puntos de cada fruta; 0 usa los del tipo */
+    public static AdminCommand spawnFruits(TipoFruta tipo, int count, int firstLiana, int lastLiana, int puntos) {
+        return new BulkSpawn(null, tipo, count, firstLiana, lastLiana, puntos);
+    }
+
+    /** Elimina hasta max cocodrilos (0 = todos) de las lianas del rango. */
+    public static AdminCommand clearCrocs(int firstLiana, int lastLiana, int max) {
+        return new Clear(true, firstLiana, lastLiana, max);
+    }
+
+    /** Elimina hasta max frutas (0 = todas) de las lianas del rango. */
+    public static AdminCommand clearFruits(int firstLiana, int lastLiana, int max) {
+        return new Clear(false, firstLiana, lastLiana, max);
+    }
+
+    private static final class SpawnCroc extends AdminCommand {
+        private final TipoCocodrilo tipo;
+        private final int lianaNum;
+        private final double altura;
+
+        SpawnCroc(TipoCocodrilo tipo, int lianaNum, double altura) {
+            this.tipo = tipo;
+            this.lianaNum = lianaNum;
+            this.altura = altura;
+        }
+
+        @Override
+        AdminResult apply(GameManager game, AdminCommandBus.Transaction tx) {
+            int id = game.spawnCroc(tipo, lianaNum, altura);
+            tx.onRollback(() -> game.discardCroc(id));
+            return AdminResult.ok(id);
+        }
+    }
+
+    private static final class SpawnFruit extends AdminCommand {
+        private final TipoFruta tipo;
+        private final int lianaNum;
+        private final double altura;
+        private final int puntos;
+
+        SpawnFruit(TipoFruta tipo, int lianaNum, double altura, int puntos) {
+            this.tipo = tipo;
+            this.lianaNum = lianaNum;
+            this.altura = altura;
+            this.puntos = puntos;
+        }
+
+        @Override
+        AdminResult apply(GameManager game, AdminCommandBus.Transaction tx) {
+            int id = game.spawnFruit(tipo, lianaNum, altura, puntos);
+            tx.onRollback(() -> game.discardFruit(id));
+            return AdminResult.ok(id);
+        }
+    }
+
+    private static final class DeleteCroc extends AdminCommand {
+        private final int id;
+
+        DeleteCroc(int id) {
+            this.id = id;
+        }
+
+        @Override
+        AdminResult apply(GameManager game, AdminCommandBus.Transaction tx) {
+            if (!game.deleteCroc(id)) {
+                return AdminResult.error("no existe el cocodrilo " + id);
+            }
+            // Solo queda marcado: deshacer lo reactiva con el mismo id y slot
+            tx.onRollback(() -> game.undelete(true, id));
+            return AdminResult.ok(id);
+        }
+    }
+
+    private static final class DeleteFruitAt extends AdminCommand {
+        private final int lianaNum;
+        private final double altura;
+
+        DeleteFruitAt(int lianaNum, double altura) {
+            this.lianaNum = lianaNum;
+            this.altura = altura;
+        }
+
+        @Override
+        AdminResult apply(GameManager game, AdminCommandBus.Transaction tx) {
+            int id = game.deleteFruitNear(lianaNum, altura);
+            if (id == GameEvent.NO_ENTITY) {
+                return AdminResult.error("no se encontró fruta en esa posición");
+            }
+            tx.onRollback(() -> game.undelete(false, id));
+            return AdminResult.ok(id);
+        }
+    }
+
+    private static final class BulkSpawn extends AdminCommand {
+        private final TipoCocodrilo crocType;
+        private final TipoFruta fruitType;
+        private final int count;
+        private final int firstLiana;
+        private final int lastLiana;
+        private final int puntos;
+
+        BulkSpawn(TipoCocodrilo crocType, TipoFruta fruitType, int count,
+                  int firstLiana, int lastLiana, int puntos) {
+            this.crocType = crocType;
+            this.fruitType = fruitType;
+            this.count = count;
+            this.firstLiana = firstLiana;
+            this.lastLiana = lastLiana;
+            this.puntos = puntos;
+        }
+
+        @Override
+        AdminResult apply(GameManager game, AdminCommandBus.Transaction tx) {
+            // Solo encola: las entidades se crean en los próximos ticks
+            BulkSpawner.Job job = (crocType != null)
+                    ? game.startBulkCrocs(crocType, count, firstLiana, lastLiana)
+                    : game.startBulkFruits(fruitType, count, firstLiana, lastLiana, puntos);
+            tx.onRollback(() -> game.cancelBulk(job));
+            return AdminResult.okCount(count);
+        }
+    }
+
+    private static final class Clear extends AdminCommand {
+        private final boolean crocs;
+        private final int firstLiana;
+        private final int lastLiana;
+        private final int max;
+
+        Clear(boolean crocs, int firstLiana, int lastLiana, int max) {
+            this.crocs = crocs;
+            this.firstLiana = firstLiana;
+            this.lastLiana = lastLiana;
+            this.max = max;
+        }
+
+        @Override
+        AdminResult apply(GameManager game, AdminCommandBus.Transaction tx) {
+            int from = game.clearedMark();
+            int count = game.clearLianas(crocs, firstLiana, lastLiana, max);
+            tx.onRollback(() -> game.unclearLianas(crocs, from, count));
+            return AdminResult.okCount(count);
+        }
+    }
+}
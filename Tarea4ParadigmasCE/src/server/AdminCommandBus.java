@@ -0,0 +1,138 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AdminCommandBus
+ * -----------------------------------------------------
+ * Cola de comandos ADMIN de UNA partida. Cualquier hilo encola
+ * lotes (submit) y el hilo del tick los aplica al principio del
+ * tick, antes de mover nada, así el frame de ese tick ya los
+ * incluye y ningún frame muestra un lote a medias.
+ *
+ * Un lote es transaccional: si un comando falla, se deshacen los
+ * anteriores del mismo lote (en orden inverso) y todos responden
+ * error. Cada lote completa su CompletableFuture en el hilo del
+ * tick: quien responda por un socket debe hacerlo en otro hilo
+ * (thenAcceptAsync), nunca en el tick.
+ */
+final class AdminCommandBus {
+
+    private static final class Batch {
+        final List<AdminCommand> commands;
+        final CompletableFuture<List<AdminResult>> future = new CompletableFuture<>();
+
+        Batch(List<AdminCommand> commands) {
+            this.commands = commands;
+        }
+    }
+
+    /**
+     * Acciones para deshacer lo que hizo un lote.
+     * Se reutiliza entre lotes (solo el hilo del tick).
+     */
+    static final class Transaction {
+        private final List<Runnable> rollback = new ArrayList<>();
+
+        void onRollback(Runnable action) { rollback.add(action); }
+
+        private void commit() {
+            rollback.clear();
+        }
+
+        private void rollback() {
+            for (int i = rollback.size() - 1; i >= 0; i--) rollback.get(i).run();
+            rollback.clear();
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Batch> pending = new ConcurrentLinkedQueue<>();
+    private final Transaction tx = new Transaction();
+    private volatile boolean closed = false;
+
+    private final AtomicLong committed = new AtomicLong(0);
+    private final AtomicLong rolledBack = new AtomicLong(0);
+
+    /** Encola un lote (cualquier hilo); se completa con un resultado por comando. */
+    CompletableFuture<List<AdminResult>> submit(List<AdminCommand> commands) {
+        Batch batch = new Batch(List.copyOf(commands));
+        if (closed) {
+            batch.future.complete(failAll(batch.commands.size(), "la partida terminó"));
+            return batch.future;
+        }
+        pending.offer(batch);
+        if (closed) {
+            failPending();      // se cerró mientras encolábamos
+        }
+        return batch.future;
+    }
+
+    /**
+     * Aplica todos los lotes pendientes (hilo del tick).
+     * @return cantidad de lotes aplicados
+     */
+    int applyPending(GameManager game) {
+        int applied = 0;
+        Batch batch;
+        while ((batch = pending.poll()) != null) {
+            batch.future.complete(apply(game, batch.commands));
+            applied++;
+        }
+        return applied;
+    }
+
+    private List<AdminResult> apply(GameManager game, List<AdminCommand> commands) {
+        List<AdminResult> results = new ArrayList<>(commands.size());
+        for (AdminCommand command : commands) {
+            AdminResult result;
+            try {
+                result = command.apply(game, tx);
+            } catch (RuntimeException e) {
+                result = AdminResult.error(e.getMessage() != null ? e.getMessage() : e.toString());
+            }
+            results.add(result);
+
+            if (!result.ok) {
+                tx.rollback();
+                rolledBack.incrementAndGet();
+                if (commands.size() == 1) {
+                    return results;
+                }
+                return failAll(commands.size(), "lote revertido (comando " + results.size()
+                        + ": " + result.error + ")");
+            }
+        }
+        tx.commit();
+        committed.incrementAndGet();
+        return results;
+    }
+
+    /** No acepta más lotes y responde error a los pendientes. */
+    void close() {
+        closed = true;
+        failPending();
+    }
+
+    private void failPending() {
+        Batch batch;
+        while ((batch = pending.poll()) != null) {
+            batch.future.complete(failAll(batch.commands.size(), "la partida terminó"));
+        }
+    }
+
+    private static List<AdminResult> failAll(int count, String error) {
+        return Collections.nCopies(count, AdminResult.error(error));
+    }
+
+    /** Lotes aplicados, revertidos y en cola (ADMIN STATS). */
+    String toJson() {
+        return "\"committed\":" + committed.get() +
+                ",\"rolledBack\":" + rolledBack.get() +
+                ",\"pending\":" + pending.size();
+    }
+}
@@ -4,12 +4,18 @@ import utils.TipoCocodrilo;
 import utils.TipoFruta;
 
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * AdminConsole
  * -----------------------------------------------------
  * Consola administrativa para gestionar entidades del juego.
  * Permite crear/eliminar cocodrilos y frutas en tiempo real.
+ *
+ * Los cambios se encolan como AdminCommand y los aplica el tick
+ * de la partida; la consola espera la respuesta (máximo 1 s).
  */
 public class AdminConsole implements Runnable {
 
@@ -33,7 +39,7 @@ public class AdminConsole implements Runnable {
         System.out.println("  crearfruta <tipo> <lianaId> <altura>");
         System.out.println("  eliminarfruta <lianaId> <altura>");
         System.out.println("  listar");
-        System.out.println("  modo <TEXT/JSON>");
+        System.out.println("  modo <TEXT/JSON/BINARY/DELTA>");
         System.out.println("  exit");
         System.out.println("================================\n");
 
@@ -71,10 +77,29 @@ public class AdminConsole implements Runnable {
         }
     }
 
+    /**
+     * Encola el comando en la partida y espera hasta 1 s a que el tick
+     * lo aplique. Si tarda más devuelve null: el comando sigue en cola
+     * y su resultado se imprime cuando llegue.
+     */
+    private AdminResult ejecutar(AdminCommand command) throws Exception {
+        CompletableFuture<AdminResult> future = manager.submitAdmin(command);
+        try {
+            return future.get(1, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // Tick lento: el comando sigue en cola y se aplica igual
+            System.out.println("⏳ El comando sigue en cola; se aplicará en un próximo tick");
+            future.thenAcceptAsync(r -> System.out.println(r.ok
+                    ? "✅ Comando en cola aplicado" + (r.entityId != AdminResult.NO_ENTITY ? " (ID " + r.entityId + ")" : "")
+                    : "❌ Comando en cola falló: " + r.error));
+            return null;
+        }
+    }
+
     /**
      * crearcroc <tipo> <lianaId> <altura>
      */
-    private void handleCrearCroc(String[] parts) {
+    private void handleCrearCroc(String[] parts) throws Exception {
 
         if (parts.length < 4) {
             System.out.println("Uso correcto:");
@@ -95,18 +120,19 @@ public class AdminConsole implements Runnable {
                 return;
         }
 
-        Boolean resultado = manager.crearCocodrilo(tipo, lianaId, altura);
+        AdminResult resultado = ejecutar(AdminCommand.spawnCroc(tipo, lianaId, altura));
+        if (resultado == null) return;   // sigue en cola
 
-        if (resultado)
-            System.out.println("✅ Cocodrilo creado exitosamente");
+        if (resultado.ok)
+            System.out.println("✅ Cocodrilo creado exitosamente (ID " + resultado.entityId + ")");
         else
-            System.out.println("❌ Error al crear cocodrilo");
+            System.out.println("❌ Error al crear cocodrilo: " + resultado.error);
     }
 
     /**
      * eliminarcroc <id>
      */
-    private void handleEliminarCroc(String[] parts) {
+    private void handleEliminarCroc(String[] parts) throws Exception {
 
         if (parts.length < 2) {
             System.out.println("Uso: eliminarcroc <id>");
@@ -114,9 +140,10 @@ public class AdminConsole implements Runnable {
         }
 
         Integer id = Integer.parseInt(parts[1]);
-        Boolean resultado = manager.eliminarCocodrilo(id);
+        AdminResult resultado = ejecutar(AdminCommand.deleteCroc(id));
+        if (resultado == null) return;   // sigue en cola
 
-        if (resultado)
+        if (resultado.ok)
             System.out.println("✅ Cocodrilo eliminado");
         else
             System.out.println("❌ Error: ID no encontrado");
@@ -125,7 +152,7 @@ public class AdminConsole implements Runnable {
     /**
      * crearfruta <tipo> <lianaId> <altura>
      */
-    private void handleCrearFruta(String[] parts) {
+    private void handleCrearFruta(String[] parts) throws Exception {
 
         if (parts.length < 4) {
             System.out.println("Uso: crearfruta <BANANA/NARANJA/CEREZA> <lianaId> <altura>");
@@ -147,18 +174,19 @@ public class AdminConsole implements Runnable {
                 return;
         }
 
-        Boolean resultado = manager.crearFruta(tipo, lianaId, altura);
+        AdminResult resultado = ejecutar(AdminCommand.spawnFruit(tipo, lianaId, altura, 0));
+        if (resultado == null) return;   // sigue en cola
 
-        if (resultado)
-            System.out.println("✅ Fruta creada");
+        if (resultado.ok)
+            System.out.println("✅ Fruta creada (ID " + resultado.entityId + ")");
         else
-            System.out.println("❌ Error al crear fruta");
+            System.out.println("❌ Error al crear fruta: " + resultado.error);
     }
 
     /**
      * eliminarfruta <lianaId> <altura>
      */
-    private void handleEliminarFruta(String[] parts) {
+    private void handleEliminarFruta(String[] parts) throws Exception {
 
         if (parts.length < 3) {
             System.out.println("Uso: eliminarfruta <lianaId> <altura>");
@@ -168,21 +196,22 @@ public class AdminConsole implements Runnable {
         Integer lianaId = Integer.parseInt(parts[1]);
         Double altura = Double.parseDouble(parts[2]);
 
-        Boolean resultado = manager.eliminarFruta(lianaId, altura);
+        AdminResult resultado = ejecutar(AdminCommand.deleteFruitAt(lianaId, altura));
+        if (resultado == null) return;   // sigue en cola
 
-        if (resultado)
+        if (resultado.ok)
             System.out.println("Fruta eliminada");
         else
             System.out.println("Error al eliminar fruta");
     }
 
     /**
-     * modo <TEXT/JSON>
+     * modo <TEXT/JSON/BINARY/DELTA>
      */
     private void handleCambiarModo(String[] parts) {
 
         if (parts.length < 2) {
-            System.out.println("Uso: modo <TEXT/JSON>");
+            System.out.println("Uso: modo <TEXT/JSON/BINARY/DELTA>");
             return;
         }
 
@@ -196,7 +225,7 @@ public class AdminConsole implements Runnable {
             System.out.println("Modo cambiado a " + newMode);
 
         } catch (Exception e) {
-            System.out.println("Modo inválido. Use TEXT o JSON");
+            System.out.println("Modo inválido. Use TEXT, JSON, BINARY o DELTA");
         }
     }
 }
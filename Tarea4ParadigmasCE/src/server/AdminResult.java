@@ -0,0 +1,45 @@
+package server;
+
+/**
+ * AdminResult
+ * -----------------------------------------------------
+ * Respuesta de un AdminCommand ya aplicado por el tick: si salió
+ * bien, el id de la entidad creada o eliminada (o NO_ENTITY) y
+ * cuántas entidades tocó (los comandos BULK encolan o bajan varias);
+ * si no, el motivo.
+ */
+public final class AdminResult {
+
+    public static final int NO_ENTITY = -1;
+
+    public final boolean ok;
+    public final int entityId;
+    public final int count;
+    public final String error;
+
+    private AdminResult(boolean ok, int entityId, int count, String error) {
+        this.ok = ok;
+        this.entityId = entityId;
+        this.count = count;
+        this.error = error;
+    }
+
+    public static AdminResult ok(int entityId) {
+        return new AdminResult(true, entityId, 1, null);
+    }
+
+    /** Comando sobre varias entidades (sin un id propio). */
+    public static AdminResult okCount(int count) {
+        return new AdminResult(true, NO_ENTITY, count, null);
+    }
+
+    public static AdminResult error(String error) {
+        return new AdminResult(false, NO_ENTITY, 0, error);
+    }
+
+    @Override
+    public String toString() {
+        if (!ok) return "ERR " + error;
+        return (entityId != NO_ENTITY) ? "OK id=" + entityId : "OK count=" + count;
+    }
+}
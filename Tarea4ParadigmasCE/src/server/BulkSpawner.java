@@ -0,0 +1,176 @@
+package server;
+
+import model.LevelGeometry;
+import utils.TipoCocodrilo;
+import utils.TipoFruta;
+
+import java.util.ArrayDeque;
+
+/**
+ * BulkSpawner
+ * -----------------------------------------------------
+ * Altas masivas de UNA partida (ADMIN CROC BULK / ADMIN FRUIT BULK).
+ * El comando solo encola el pedido; cada tick crea como máximo
+ * MAX_PER_TICK entidades o lo que entre en TIME_BUDGET_NANOS, así
+ * pedir 10.000 cocodrilos se reparte en varios frames en lugar de
+ * trabar uno.
+ *
+ * Las entidades se reparten en orden entre las lianas del rango
+ * (1, 2, ..., n, 1, 2, ...) y cada vuelta baja un escalón dentro
+ * del tramo de la liana. No escriben una línea por entidad: cada
+ * pedido avisa una vez cuando termina.
+ *
+ * Solo lo usa el hilo del tick; toJson lee contadores volátiles
+ * que el tick publica después de cada cambio.
+ */
+final class BulkSpawner {
+
+    static final int MAX_PER_TICK = 512;
+    static final long TIME_BUDGET_NANOS = 2_000_000;   // 2 ms de los 16 del tick
+    private static final int CHECK_EVERY = 16;         // cada cuántas altas mirar el reloj
+    private static final double ROW_STEP = 53.0;       // separación entre vueltas (px)
+
+    /** Pedido pendiente: cocodrilos (crocType) o frutas (fruitType). */
+    static final class Job {
+        final int id;
+        final TipoCocodrilo crocType;
+        final TipoFruta fruitType;
+        final int puntos;
+        final int firstLiana;
+        final int lianaCount;
+        final int total;
+        int done = 0;
+        int ticks = 0;
+
+        private Job(int id, TipoCocodrilo crocType, TipoFruta fruitType, int puntos,
+                    int firstLiana, int lastLiana, int total) {
+            this.id = id;
+            this.crocType = crocType;
+            this.fruitType = fruitType;
+            this.puntos = puntos;
+            this.firstLiana = firstLiana;
+            this.lianaCount = lastLiana - firstLiana + 1;
+            this.total = total;
+        }
+
+        String describe() {
+            return total + " " + (crocType != null ? "cocodrilos " + crocType : "frutas " + fruitType)
+                    + " en lianas " + firstLiana + "-" + (firstLiana + lianaCount - 1);
+        }
+    }
+
+    private final ArrayDeque<Job> jobs = new ArrayDeque<>();
+    private int nextJobId = 1;
+
+    // Publicados para ADMIN BULK (los escribe solo el tick)
+    private volatile int pendingJobs = 0;
+    private volatile long remaining = 0;
+    private volatile long spawned = 0;
+
+    Job addCrocs(TipoCocodrilo tipo, int total, int firstLiana, int lastLiana) {
+        Job job = new Job(nextJobId++, tipo, null, 0, firstLiana, lastLiana, total);
+        jobs.addLast(job);
+        publish(0);
+        return job;
+    }
+
+    Job addFruits(TipoFruta tipo, int total, int firstLiana, int lastLiana, int puntos) {
+        Job job = new Job(nextJobId++, null, tipo, puntos, firstLiana, lastLiana, total);
+        jobs.addLast(job);
+        publish(0);
+        return job;
+    }
+
+    /** Saca un pedido que todavía no empezó (lote ADMIN revertido). */
+    void cancel(Job job) {
+        jobs.remove(job);
+        publish(0);
+    }
+
+    /** Descarta todos los pedidos (el nivel se vacía al reiniciar). */
+    void clear() {
+        if (!jobs.isEmpty()) {
+            System.out.println("[GameManager] Bulk cancelado: " + jobs.size() + " pedidos (reinicio de nivel)");
+            jobs.clear();
+            publish(0);
+        }
+    }
+
+    /**
+     * Crea las entidades que entren en el presupuesto de este tick.
+     * @return cantidad creada
+     */
+    int step(GameManager game) {
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        LevelGeometry geometry = game.getGeometry();
+        long start = System.nanoTime();
+        int created = 0;
+
+        while (created < MAX_PER_TICK && !jobs.isEmpty()) {
+            Job job = jobs.peekFirst();
+            if (job.done == 0 && job.ticks == 0) {
+                System.out.println("[GameManager] Bulk #" + job.id + " iniciado: " + job.describe());
+            }
+            job.ticks++;
+
+            boolean full = false;
+            while (job.done < job.total && created < MAX_PER_TICK) {
+                int lianaNum = job.firstLiana + job.done % job.lianaCount;
+                double altura = altura(geometry, lianaNum - 1, job.done / job.lianaCount);
+                boolean ok = (job.crocType != null)
+                        ? game.spawnCrocQuiet(job.crocType, lianaNum, altura)
+                        : game.spawnFruitQuiet(job.fruitType, lianaNum, altura, job.puntos);
+                if (!ok) {
+                    full = true;
+                    break;
+                }
+                job.done++;
+                created++;
+                if ((created % CHECK_EVERY) == 0 && System.nanoTime() - start > TIME_BUDGET_NANOS) {
+                    break;
+                }
+            }
+
+            if (full || job.done == job.total) {
+                jobs.pollFirst();
+                System.out.println("[GameManager] Bulk #" + job.id + (full ? " detenido (almacén lleno)" : " terminado")
+                        + ": " + job.done + "/" + job.total + " en " + job.ticks + " ticks");
+            } else {
+                break;   // se acabó el presupuesto: sigue en el próximo tick
+            }
+            if (System.nanoTime() - start > TIME_BUDGET_NANOS) {
+                break;
+            }
+        }
+        publish(created);
+        return created;
+    }
+
+    private void publish(int created) {
+        long left = 0;
+        for (Job job : jobs) {
+            left += job.total - job.done;
+        }
+        pendingJobs = jobs.size();
+        remaining = left;
+        spawned += created;
+    }
+
+    /** Altura del escalón row dentro del tramo vertical de la liana. */
+    private static double altura(LevelGeometry geometry, int lianaId, int row) {
+        double minY = geometry.lianaMinY(lianaId);
+        double span = geometry.lianaMaxY(lianaId) - minY;
+        return (span <= 0) ? minY : minY + (row * ROW_STEP) % span;
+    }
+
+    /** Pedidos pendientes y altas hechas (ADMIN BULK). */
+    String toJson() {
+        return "{\"jobs\":" + pendingJobs +
+                ",\"remaining\":" + remaining +
+                ",\"spawned\":" + spawned +
+                ",\"maxPerTick\":" + MAX_PER_TICK +
+                ",\"budgetUs\":" + (TIME_BUDGET_NANOS / 1000) + "}";
+    }
+}
@@ -3,20 +3,37 @@ package server;
 import entities.Cocodrilo;
 import entities.Fruta;
 import entities.Mario;
+import model.DespawnList;
+import model.EntityGrid;
+import model.EntityStore;
+import model.GameSnapshot;
 import model.GameState;
+import model.IdAllocator;
+import model.LevelGeometry;
 import model.Liana;
 import model.Posicion;
+import patterns.factory.EntityPools;
 import patterns.factory.GameObjectFactory;
 import patterns.factory.GameObjectFactoryImpl;
+import patterns.observer.GameEvent;
+import patterns.observer.GameEventListener;
+import patterns.observer.GameEventRing;
 import patterns.observer.GameObservable;
+import patterns.strategy.CrocBatchMovement;
+import server.TickProfiler.Phase;
 import utils.GameConstants;
-import utils.GameStateSerializer;
+import utils.BinaryFrameEncoder;
+import utils.EntityKernels;
+import utils.JsonFrameEncoder;
+import utils.TextFrameEncoder;
 import utils.TipoFruta;
 import utils.TipoCocodrilo;
 
-import java.util.Locale;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
 
 import static utils.GameConstants.*;
 
@@ -31,16 +48,47 @@ public class GameManager {
     // Estado del juego encapsulado
     private final GameState state = new GameState();
 
-    // Ejecuta el loop del juego cada TICK_RATE_MS
-    private final ScheduledExecutorService executor =
-            Executors.newSingleThreadScheduledExecutor();
+    // Pools de la partida: la factory saca de acá y la reclamación
+    // (y el reinicio del nivel) devuelve lo que sale del almacén
+    private final EntityPools pools = new EntityPools();
+    private final Consumer<Cocodrilo> crocRecycler = pools::releaseCroc;
+    private final Consumer<Fruta> fruitRecycler = pools::releaseFruit;
 
     // Factory para crear entidades
-    private final GameObjectFactory factory = new GameObjectFactoryImpl();
+    private final GameObjectFactory factory = new GameObjectFactoryImpl(pools);
+    private final GameObjectFactory bulkFactory = new GameObjectFactoryImpl(pools, false);  // sin log por entidad
 
     // Observable para notificar a los ClientHandler
     private final GameObservable observable = new GameObservable();
 
+    // Eventos de dominio (fruta, muerte, victoria, nivel) para suscriptores asíncronos
+    private static final int EVENT_RING_CAPACITY = 1024;
+    private final GameEventRing events = new GameEventRing(EVENT_RING_CAPACITY);
+
+    // Lianas y plataformas compiladas (compartidas por todas las partidas)
+    private final LevelGeometry geometry = LevelGeometry.standard();
+
+    // Movimiento por lotes de los cocodrilos (límites por liana de geometry)
+    private final CrocBatchMovement crocMovement = new CrocBatchMovement(geometry);
+
+    // Loops de colisión (vectoriales si la Vector API está disponible)
+    private final EntityKernels kernels = EntityKernels.get();
+
+    // Broad phase: con muchas entidades se miran solo las celdas de la
+    // grilla alrededor del jugador; con pocas, el recorrido lineal gana
+    private static final Integer GRID_MIN_ENTITIES = 64;
+    private final EntityGrid.Query crocQuery = state.getCrocStore().grid().query();
+    private final EntityGrid.Query fruitQuery = state.getFruitStore().grid().query();
+
+    // Comandos ADMIN pendientes (los aplica el tick entre frames)
+    private final AdminCommandBus adminCommands = new AdminCommandBus();
+
+    // Altas masivas (ADMIN ... BULK), repartidas entre ticks
+    private final BulkSpawner bulk = new BulkSpawner();
+
+    // Tiempo por fase del tick (ADMIN STATS)
+    private final TickProfiler profiler = new TickProfiler();
+
     // Jugadores conectados (para la lista en el panel admin)
     private final Map<Integer, String> connectedPlayers = new ConcurrentHashMap<>();
 
@@ -52,18 +100,92 @@ public class GameManager {
     private Long invincibilityEndTime = 0L;
     private static final Long INVINCIBILITY_DURATION = 2000L;  // 2 segundos en milisegundos
 
+    // Pausa de victoria antes de reiniciar el nivel (sin bloquear el hilo del shard)
+    private static final Long VICTORY_PAUSE = 2000L;           // 2 segundos en milisegundos
+    private Long restartLevelAt = 0L;
+
+    // Distancia horizontal máxima al inicio de una liana para agarrarla
+    private static final Double LIANA_GRAB_RANGE = 15.0;
+
     // Modo de comunicación con los clientes
     public enum CommunicationMode {
         TEXT,   // Protocolo de texto actual
-        JSON    // Protocolo JSON
+        JSON,   // Protocolo JSON
+        BINARY, // Registros binarios little-endian (ver BinaryFrameEncoder)
+        DELTA   // BINARY con solo los cambios por conexión + keyframes (ver DeltaFrameEncoder)
     }
 
-    private CommunicationMode mode = CommunicationMode.TEXT;
+    private volatile CommunicationMode mode = CommunicationMode.TEXT;
+
+    // Codificador del protocolo TEXT (buffer reutilizable, solo hilo del tick)
+    private final TextFrameEncoder textEncoder = new TextFrameEncoder();
+    private final BinaryFrameEncoder binaryEncoder = new BinaryFrameEncoder();
+    private final JsonFrameEncoder jsonEncoder = new JsonFrameEncoder();
+
+    // Ids marcados por ADMIN CLEAR en este tick (para deshacer un lote; solo hilo del tick)
+    private final DespawnList clearedIds = new DespawnList();
+
+    // Entidades reclamadas desde que arrancó la partida (ver listarEntidades)
+    private volatile long reclaimedCrocs = 0;
+    private volatile long reclaimedFruits = 0;
+
+    // Copia inmutable del último tick publicado: la leen otros hilos sin locks
+    private volatile GameSnapshot snapshot;
+    // Alguien leyó getSnapshot(): publicar una nueva al final del próximo tick
+    private volatile boolean snapshotWanted = false;
+    // Sin lectores, se publica una cada tantos ticks (~1 s)
+    private static final int SNAPSHOT_REFRESH_TICKS = 60;
+    // Copia privada del tick para codificar BINARY (se reescribe, nunca se publica)
+    private final GameSnapshot frameSnapshot = GameSnapshot.reusable();
+
+    // Ticks ejecutados por esta partida (va en el header de cada frame)
+    private volatile long tickCount = 0;
+
+    // Momento en que se construyó el frame de cada tick reciente (para ACK <tick>)
+    private static final Integer FRAME_TIME_SLOTS = 256;
+    private final AtomicLongArray frameTimes = new AtomicLongArray(FRAME_TIME_SLOTS);
+
+    // Entradas del jugador: varios hilos publican, el tick las consume
+    private static final Integer INPUT_RING_CAPACITY = 256;
+    private final InputRing inputs = new InputRing(INPUT_RING_CAPACITY);
+    private volatile long lastInputSeq = 0;
+
+    // Intención colapsada del tick actual (solo hilo del tick)
+    private int pendingHorizontal = InputRing.NONE;
+    private int pendingVertical = InputRing.NONE;
+    private boolean pendingJump = false;
+
+    private final InputRing.Consumer inputCollector = (command, clientSeq) -> {
+        if (clientSeq > 0) {
+            if (clientSeq <= lastInputSeq) return;    // repetida o fuera de orden
+            lastInputSeq = clientSeq;
+        }
+        switch (command) {
+            case InputRing.LEFT, InputRing.RIGHT -> pendingHorizontal = command;
+            case InputRing.UP, InputRing.DOWN -> pendingVertical = command;
+            case InputRing.JUMP -> pendingJump = true;
+            case InputRing.STOP -> {
+                pendingHorizontal = InputRing.STOP;
+                pendingVertical = InputRing.STOP;
+            }
+        }
+    };
 
     public GameManager() {
         initLevel();
-        executor.scheduleAtFixedRate(this::tick, 0,
-                TICK_RATE_MS.longValue(), TimeUnit.MILLISECONDS);
+        publishSnapshot();
+        // El loop lo ejecuta el TickEngine compartido (un hilo por núcleo)
+        TickEngine.register(this);
+    }
+
+    /**
+     * Detiene la partida: deja de recibir ticks del TickEngine.
+     * Se llama cuando el jugador dueño de la partida se desconecta.
+     */
+    public void shutdown() {
+        TickEngine.unregister(this);
+        adminCommands.close();
+        events.close();
     }
 
     /* =========================================================
@@ -71,43 +193,42 @@ public class GameManager {
        ========================================================= */
 
     private void initLevel() {
-        state.getLianas().clear();
-        state.getFrutas().clear();
-        state.getCocodrilos().clear();
-
-        // Crear lianas
-        for (int i = 0; i < LIANAS.length; i++) {
-            Double[] l = LIANAS[i];
-            state.getLianas().add(
-                    new Liana(i,
-                            new Posicion(l[0], l[1]),
-                            new Posicion(l[2], l[3])));
-        }
+        // Las entidades del nivel anterior vuelven a los pools
+        bulk.clear();
+        state.getFruitStore().clear(fruitRecycler);
+        state.getCrocStore().clear(crocRecycler);
+
+        // Lianas: las de la geometría compartida (no se recrean por nivel)
+        state.setLianas(geometry.getLianas());
 
         // CREAR MARIO
         Double marioSpeed = 1.5;  // Velocidad base
-        state.setMario(new Mario(marioSpeed));
+        if (state.getMario() == null) {
+            state.setMario(new Mario(marioSpeed));
+        } else {
+            state.getMario().reiniciar(marioSpeed);
+        }
         System.out.println("[GameManager] Mario creado con velocidad: " + marioSpeed);
 
         // Cocodrilos iniciales de ejemplo
         Cocodrilo crocRojo = factory.crearCocodrilo(TipoCocodrilo.ROJO,
-                new Posicion(GameConstants.getLianaX(1), 300.0)); // Liana 1, X=85
+                pools.position(GameConstants.getLianaX(1), 300.0)); // Liana 1, X=85
         crocRojo.setLiana(state.getLianas().get(0)); // Asignar Liana 1 (índice 0)
         state.getCocodrilos().add(crocRojo);
 
         Cocodrilo crocAzul = factory.crearCocodrilo(TipoCocodrilo.AZUL,
-                new Posicion(GameConstants.getLianaX(5), 200.0)); // Liana 5, X=480
+                pools.position(GameConstants.getLianaX(5), 200.0)); // Liana 5, X=480
         crocAzul.setLiana(state.getLianas().get(4)); // Asignar Liana 5 (índice 4)
         state.getCocodrilos().add(crocAzul);
 
         // Frutas iniciales
         state.getFrutas().add(
                 factory.crearFruta(TipoFruta.BANANA,
-                        new Posicion(GameConstants.getLianaX(3), 250.0))); // Liana 3, X=220
+                        pools.position(GameConstants.getLianaX(3), 250.0))); // Liana 3, X=220
 
         state.getFrutas().add(
                 factory.crearFruta(TipoFruta.CEREZA,
-                        new Posicion(GameConstants.getLianaX(7), 350.0))); // Liana 7, X=695
+                        pools.position(GameConstants.getLianaX(7), 350.0))); // Liana 7, X=695
 
         // Jugador
         state.setPlayerX(PLAYER_START_X);
@@ -125,46 +246,132 @@ public class GameManager {
        LOOP PRINCIPAL DEL JUEGO
        ========================================================= */
 
-    private void tick() {
+    void tick() {
+        long tickStart = profiler.start();
+        tickCount++;
+
+        // Las bajas se avisan en un solo frame
+        state.getDespawnedCrocs().clear();
+        state.getDespawnedFruits().clear();
+        clearedIds.clear();
+
+        // Comandos ADMIN encolados desde el tick anterior (por lotes)
+        adminCommands.applyPending(this);
+        long t = profiler.lap(Phase.ADMIN, tickStart);
+
+        // Altas masivas pendientes, hasta el presupuesto del tick
+        bulk.step(this);
+        t = profiler.lap(Phase.BULK, t);
+
+        // Entradas acumuladas desde el tick anterior (colapsadas)
+        applyInputs();
+        t = profiler.lap(Phase.INPUTS, t);
+
+        // Pausa de victoria: el nivel se congela hasta que toque reiniciar
+        if (state.won()) {
+            if (System.currentTimeMillis() >= restartLevelAt) {
+                System.out.println("Reiniciando nivel...");
+                restartLevel();
+            }
+            // Bajas ADMIN de este tick (el nivel congelado no mata nada)
+            reclaimDead();
+            t = profiler.lap(Phase.RECLAIM, t);
+            publishSnapshot();
+            t = profiler.lap(Phase.SNAPSHOT, t);
+            broadcast();
+            t = profiler.lap(Phase.BROADCAST, t);
+            events.signal();
+            profiler.lap(Phase.EVENTS, t);
+            profiler.endTick(tickStart);
+            return;
+        }
+
         updatePlayer();
+        t = profiler.lap(Phase.PLAYER, t);
         updateMario();
+        t = profiler.lap(Phase.MARIO, t);
         updateCrocs();
+        t = profiler.lap(Phase.CROCS, t);
         updateInvincibility();  //Actualizar invencibilidad
+        t = profiler.lap(Phase.INVINCIBILITY, t);
         checkCollisions();
+        t = profiler.lap(Phase.COLLISIONS, t);
         checkAbyssfall();
+        t = profiler.lap(Phase.ABYSS, t);
+        reclaimDead();
+        t = profiler.lap(Phase.RECLAIM, t);
+        publishSnapshot();
+        t = profiler.lap(Phase.SNAPSHOT, t);
         broadcast();
+        t = profiler.lap(Phase.BROADCAST, t);
+        events.signal();
+        profiler.lap(Phase.EVENTS, t);
 
         // Resetear flag de vida extra después de enviar
-        if (state.getJustGainedLife()) {
+        if (state.justGainedLife()) {
             state.setJustGainedLife(false);
         }
+
+        profiler.endTick(tickStart);
     }
 
     /* =========================================================
        ENTRADA DEL JUGADOR (desde ClientHandler)
        ========================================================= */
 
+    /**
+     * Encola una entrada del jugador. No toca el GameState: el hilo
+     * del socket solo publica en el InputRing y el tick la aplica.
+     */
     public void handleInput(String input) {
-        switch (input.toUpperCase()) {
-            case "LEFT"  -> state.setVelocityX(-PLAYER_SPEED_X);
-            case "RIGHT" -> state.setVelocityX(PLAYER_SPEED_X);
-            case "UP" -> {
-                if (state.isOnLiana()) state.setVelocityY(-PLAYER_SPEED_Y);
-            }
-            case "DOWN" -> {
-                if (state.isOnLiana()) state.setVelocityY(PLAYER_SPEED_Y);
+        handleInput(input, 0L);
+    }
+
+    /**
+     * Encola una entrada con el número de secuencia del cliente
+     * (0 = sin secuencia). Las entradas con secuencia menor o igual
+     * a la última aplicada se ignoran.
+     */
+    public void handleInput(String input, long clientSeq) {
+        int command = InputRing.parse(input);
+        if (command != InputRing.NONE) {
+            inputs.offer(command, clientSeq);
+        }
+    }
+
+    /**
+     * Drena el InputRing al inicio del tick y colapsa las entradas:
+     * una ráfaga de "INPUT 0 LEFT" cuesta lo mismo que una sola.
+     * Solo importa la última intención horizontal, la última vertical
+     * y si hubo algún salto.
+     */
+    private void applyInputs() {
+        pendingHorizontal = InputRing.NONE;
+        pendingVertical = InputRing.NONE;
+        pendingJump = false;
+
+        inputs.drain(inputCollector);
+
+        switch (pendingHorizontal) {
+            case InputRing.LEFT  -> state.setVelocityX(-PLAYER_SPEED_X);
+            case InputRing.RIGHT -> state.setVelocityX(PLAYER_SPEED_X);
+            case InputRing.STOP  -> state.setVelocityX(0.0);
+        }
+        switch (pendingVertical) {
+            case InputRing.UP -> {
+                if (state.onLiana()) state.setVelocityY(-PLAYER_SPEED_Y);
             }
-            case "JUMP" -> {
-                if (!state.isOnLiana() && !state.isJumping()) {
-                    state.setJumping(true);
-                    state.setVelocityY(-PLAYER_JUMP_VELOCITY);
-                }
+            case InputRing.DOWN -> {
+                if (state.onLiana()) state.setVelocityY(PLAYER_SPEED_Y);
             }
-            case "STOP" -> {
-                state.setVelocityX(0.0);
-                if (state.isOnLiana()) state.setVelocityY(0.0);
+            case InputRing.STOP -> {
+                if (state.onLiana()) state.setVelocityY(0.0);
             }
         }
+        if (pendingJump && !state.onLiana() && !state.jumping()) {
+            state.setJumping(true);
+            state.setVelocityY(-PLAYER_JUMP_VELOCITY);
+        }
     }
 
     /* =========================================================
@@ -174,44 +381,36 @@ public class GameManager {
     private void updatePlayer() {
 
         // --- Movimiento horizontal ---
-        double newX = state.getPlayerX() + state.getVelocityX();
+        double newX = state.playerX() + state.velocityX();
 
         // Suavizado cuando está en liana
-        if (state.isOnLiana()) {
-            newX = state.getPlayerX() + (state.getVelocityX() * 0.35);
+        if (state.onLiana()) {
+            newX = state.playerX() + (state.velocityX() * 0.35);
         }
 
         state.setPlayerX(clamp(newX, MIN_X, MAX_X));
 
         // --- Detectar si está en una liana ---
-        state.setOnLiana(false);
-
-        for (Liana liana : state.getLianas()) {
-            double lx = liana.getPosicionInicio().x;
-            double dx = Math.abs(lx - (state.getPlayerX() + PLAYER_WIDTH / 2.0));
-
-            if (dx < 15.0 &&
-                    state.getPlayerY() + PLAYER_HEIGHT > liana.getPosicionInicio().y &&
-                    state.getPlayerY() < liana.getPosicionFin().y) {
-                state.setOnLiana(true);
-                break;
-            }
-        }
+        state.setOnLiana(geometry.lianaAt(
+                state.playerX() + PLAYER_WIDTH / 2.0,
+                state.playerY(),
+                state.playerY() + PLAYER_HEIGHT,
+                LIANA_GRAB_RANGE) >= 0);
 
         // Si el jugador cayó fuera de la pantalla (abajo)
-        //if (state.getPlayerY() > 500) {  // Más cerca del fondo visible
+        //if (state.playerY() > 500) {  // Más cerca del fondo visible
         //    System.out.println("¡Caíste al abismo!");
         //    playerDeath();
         //    return;
         //}
 
         // --- Movimiento vertical ---
-        if (state.isOnLiana()) {
+        if (state.onLiana()) {
             // En liana → sin salto
             state.setJumping(false);
-            state.setVelocityY(state.getVelocityY() * 0.7);
+            state.setVelocityY(state.velocityY() * 0.7);
 
-            double newY = state.getPlayerY() + state.getVelocityY();
+            double newY = state.playerY() + state.velocityY();
             state.setPlayerY(clamp(newY, MIN_Y, MAX_Y));
             return;
         }
@@ -224,17 +423,17 @@ public class GameManager {
         }
 
         // En el aire: gravedad + anti-tunneling
-        double vy = state.getVelocityY() + GRAVITY;
+        double vy = state.velocityY() + GRAVITY;
         if (vy > MAX_FALL_SPEED) vy = MAX_FALL_SPEED;
 
-        double nextY = state.getPlayerY() + vy;
+        double nextY = state.playerY() + vy;
 
-        Double landingY = getPlatformLandingY(
-                state.getPlayerX(),
-                state.getPlayerY(),
+        double landingY = getPlatformLandingY(
+                state.playerX(),
+                state.playerY(),
                 nextY);
 
-        if (landingY != null) {
+        if (!Double.isNaN(landingY)) {
             state.setPlayerY(landingY - PLAYER_HEIGHT);
             state.setVelocityY(0.0);
             state.setJumping(false);
@@ -243,7 +442,7 @@ public class GameManager {
             state.setVelocityY(vy);
         }
 
-        state.setPlayerY(clamp(state.getPlayerY(), MIN_Y, MAX_Y));
+        state.setPlayerY(clamp(state.playerY(), MIN_Y, MAX_Y));
     }
 
     /**
@@ -270,38 +469,21 @@ public class GameManager {
         }
 
         // Solo verificar si está cayendo
-        if (state.getVelocityY() <= 0) {
+        if (state.velocityY() <= 0) {
             return;  // Subiendo o quieto
         }
 
         // Solo verificar si está en zona baja
-        if (state.getPlayerY() < 500) {
+        if (state.playerY() < 500) {
             return;  // Zona segura arriba
         }
 
-        // Verificar si hay plataforma debajo
-        boolean hasPlatformBelow = false;
-        double playerBottomY = state.getPlayerY() + PLAYER_HEIGHT;
-        double playerCenterX = state.getPlayerX() + PLAYER_WIDTH / 2.0;
-
-        for (Double[] plat : PLATFORMS) {
-            double px = plat[0];
-            double py = plat[1];
-            double pw = plat[2];
+        // Verificar si hay plataforma debajo (dentro de 100px) alineada con el centro
+        double playerBottomY = state.playerY() + PLAYER_HEIGHT;
+        double playerCenterX = state.playerX() + PLAYER_WIDTH / 2.0;
 
-            // Plataforma horizontalmente alineada?
-            boolean horizontalMatch =
-                    (playerCenterX >= px) && (playerCenterX <= px + pw);
-
-            // Plataforma debajo (dentro de 100px)?
-            boolean verticalMatch =
-                    (py >= playerBottomY) && (py <= playerBottomY + 100);
-
-            if (horizontalMatch && verticalMatch) {
-                hasPlatformBelow = true;
-                break;
-            }
-        }
+        double below = geometry.platformTopUnder(playerCenterX, playerBottomY);
+        boolean hasPlatformBelow = below <= playerBottomY + 100;   // NaN → false
 
         // Cayendo sin plataforma = ABISMO
         if (!hasPlatformBelow) {
@@ -310,52 +492,26 @@ public class GameManager {
         }
     }
 
-    private Double getPlatformLandingY(double x, double yActual, double yNext) {
-        for (Double[] plat : PLATFORMS) {
-            double px = plat[0];
-            double py = plat[1];
-            double pw = plat[2];
-
-            boolean dentroX = x + PLAYER_WIDTH > px && x < px + pw;
-            if (!dentroX) continue;
-
-            boolean caeSobre =
-                    yActual + PLAYER_HEIGHT <= py &&
-                            yNext + PLAYER_HEIGHT >= py;
-
-            if (caeSobre) return py;
-        }
-        return null;
+    /**
+     * Y de la plataforma sobre la que aterriza el jugador entre
+     * yActual e yNext, o NaN si no aterriza (sin Double: no asigna).
+     */
+    private double getPlatformLandingY(double x, double yActual, double yNext) {
+        return geometry.platformLanding(x, PLAYER_WIDTH,
+                yActual + PLAYER_HEIGHT, yNext + PLAYER_HEIGHT);
     }
 
     private boolean isOnPlatform() {
-        double nextY = state.getPlayerY() + state.getVelocityY();
+        double nextY = state.playerY() + state.velocityY();
         double playerBottomNext = nextY + PLAYER_HEIGHT;
-        double currentBottom = state.getPlayerY() + PLAYER_HEIGHT;
-
-        Double closestPlatformY = null;
-
-        for (Double[] plat : PLATFORMS) {
-            double px = plat[0];
-            double py = plat[1];
-            double pw = plat[2];
+        double currentBottom = state.playerY() + PLAYER_HEIGHT;
 
-            boolean insideX =
-                    (state.getPlayerX() + PLAYER_WIDTH > px) &&
-                            (state.getPlayerX() < px + pw);
+        double closestPlatformY =
+                geometry.platformTopBelow(state.playerX(), PLAYER_WIDTH, currentBottom);
 
-            if (!insideX) continue;
+        if (Double.isNaN(closestPlatformY)) return false;
 
-            if (py >= currentBottom) {
-                if (closestPlatformY == null || py < closestPlatformY) {
-                    closestPlatformY = py;
-                }
-            }
-        }
-
-        if (closestPlatformY == null) return false;
-
-        if (state.getVelocityY() >= 0 &&
+        if (state.velocityY() >= 0 &&
                 currentBottom <= closestPlatformY &&
                 playerBottomNext >= closestPlatformY) {
             state.setPlayerY(closestPlatformY - PLAYER_HEIGHT);
@@ -374,11 +530,33 @@ public class GameManager {
        ========================================================= */
 
     private void updateCrocs() {
-        for (Cocodrilo c : state.getCocodrilos()) {
-            c.update();
+        EntityStore<Cocodrilo> crocs = state.getCrocStore();
+
+        // Rojos y azules estándar: un loop por tipo sobre los arreglos
+        crocMovement.moveAll(crocs);
+
+        // Estrategias propias: una llamada por cocodrilo
+        for (int i = 0; i < crocs.size(); i++) {
+            if (crocs.active[i] && !crocs.batched[i]) {
+                crocs.get(i).update();
+            }
         }
     }
 
+    /**
+     * Fase de reclamación (fin del tick): elimina los cocodrilos que
+     * salieron por abajo y las frutas recogidas, compactando los
+     * arreglos en una pasada. Sus ids quedan en las DespawnList del
+     * estado para el frame de este tick y los objetos vuelven a los
+     * pools.
+     */
+    private void reclaimDead() {
+        int crocs = state.getCrocStore().removeInactive(state.getDespawnedCrocs(), crocRecycler);
+        int fruits = state.getFruitStore().removeInactive(state.getDespawnedFruits(), fruitRecycler);
+        reclaimedCrocs += crocs;
+        reclaimedFruits += fruits;
+    }
+
     private void checkCollisions() {
         checkFruits();
         checkCrocs();
@@ -387,46 +565,75 @@ public class GameManager {
     }
 
     private void checkFruits() {
-        for (Fruta f : state.getFrutas()) {
-            if (!f.isActiva()) continue;
-
-            double dx = Math.abs(f.getPosicion().x - state.getPlayerX());
-            double dy = Math.abs(f.getPosicion().y - state.getPlayerY());
+        EntityStore<Fruta> fruits = state.getFruitStore();
+        double px = state.playerX();
+        double py = state.playerY();
+        double w = PLAYER_WIDTH;
+        double h = PLAYER_HEIGHT;
+
+        if (fruits.size() < GRID_MIN_ENTITIES) {
+            for (int i = kernels.nextHit(fruits, 0, px, py, w, h); i >= 0;
+                 i = kernels.nextHit(fruits, i + 1, px, py, w, h)) {
+                collectFruit(fruits, i);
+            }
+            return;
+        }
 
-            if (dx < PLAYER_WIDTH && dy < PLAYER_HEIGHT) {
-                f.setActiva(false);
-                state.setScore(state.getScore() + f.getPuntos());
-                System.out.println("Fruta " + f.getTipo().getNombre()
-                        + " recogida! +" + f.getPuntos() + " pts");
+        fruitQuery.reset(px - w, py - h, px + w, py + h);
+        for (int i = fruitQuery.next(); i >= 0; i = fruitQuery.next()) {
+            if (overlaps(fruits, i, px, py, w, h)) {
+                collectFruit(fruits, i);
             }
         }
     }
 
+    private void collectFruit(EntityStore<Fruta> fruits, int i) {
+        fruits.active[i] = false;
+        state.setScore(state.score() + fruits.value[i]);
+        emit(GameEvent.Type.FRUIT_PICKUP, fruits.ids[i], fruits.value[i], fruits.x[i], fruits.y[i]);
+        System.out.println("Fruta " + fruits.get(i).getTipo().getNombre()
+                + " recogida! +" + fruits.value[i] + " pts");
+    }
+
+    /** Misma prueba que EntityKernels.nextHit, para un slot. */
+    private static boolean overlaps(EntityStore<?> store, int i,
+                                    double px, double py, double w, double h) {
+        return store.active[i] && Math.abs(store.x[i] - px) < w && Math.abs(store.y[i] - py) < h;
+    }
+
     private void checkCrocs() {
         // Si es invencible, no verificar colisiones
         if (isInvincible) {
             return;  //Protección contra cocodrilos
         }
 
-        for (Cocodrilo c : state.getCocodrilos()) {
-            if (!c.isActivo()) continue;
-
-            double dx = Math.abs(c.getPosicion().x - state.getPlayerX());
-            double dy = Math.abs(c.getPosicion().y - state.getPlayerY());
+        EntityStore<Cocodrilo> crocs = state.getCrocStore();
+        double px = state.playerX();
+        double py = state.playerY();
+        double w = PLAYER_WIDTH;
+        double h = PLAYER_HEIGHT;
 
-            if (dx < PLAYER_WIDTH && dy < PLAYER_HEIGHT) {
-                System.out.println("¡Cocodrilo te atrapó!");
-                playerDeath();
-                return;
+        boolean hit = false;
+        if (crocs.size() < GRID_MIN_ENTITIES) {
+            hit = kernels.nextHit(crocs, 0, px, py, w, h) >= 0;
+        } else {
+            crocQuery.reset(px - w, py - h, px + w, py + h);
+            for (int i = crocQuery.next(); i >= 0 && !hit; i = crocQuery.next()) {
+                hit = overlaps(crocs, i, px, py, w, h);
             }
         }
+
+        if (hit) {
+            System.out.println("¡Cocodrilo te atrapó!");
+            playerDeath();
+        }
     }
 
     private void checkCage() {
-        if (state.hasWon()) return;
+        if (state.won()) return;
 
-        double playerCenterX = state.getPlayerX() + PLAYER_WIDTH / 2.0;
-        double playerCenterY = state.getPlayerY() + PLAYER_HEIGHT / 2.0;
+        double playerCenterX = state.playerX() + PLAYER_WIDTH / 2.0;
+        double playerCenterY = state.playerY() + PLAYER_HEIGHT / 2.0;
 
         boolean inCageX = playerCenterX >= CAGE_X &&
                 playerCenterX <= CAGE_X + CAGE_WIDTH;
@@ -454,10 +661,10 @@ public class GameManager {
 
         // Verificar colisión
         if (mario.colisionaConJugador(
-                state.getPlayerX(),
-                state.getPlayerY(),
-                PLAYER_WIDTH.doubleValue(),
-                PLAYER_HEIGHT.doubleValue())) {
+                state.playerX(),
+                state.playerY(),
+                PLAYER_WIDTH,
+                PLAYER_HEIGHT)) {
 
             System.out.println("¡Mario te atrapó!");
             playerDeath();
@@ -468,25 +675,26 @@ public class GameManager {
         state.setHasWon(true);
 
         // Agregar puntos de victoria
-        state.setScore(state.getScore() + WIN_SCORE_BONUS);
+        state.setScore(state.score() + WIN_SCORE_BONUS);
 
         // OTORGAR VIDA EXTRA (con límite)
-        Integer currentLives = state.getLives();
+        int currentLives = state.lives();
 
         if (currentLives < PLAYER_MAX_LIVES) {
             state.setLives(currentLives + 1);
             state.setJustGainedLife(true);  // ← NUEVO: Activar animación
-            System.out.println("¡VIDA EXTRA OTORGADA! Vidas: " + state.getLives());
+            emit(GameEvent.Type.EXTRA_LIFE, GameEvent.NO_ENTITY, state.lives(), state.playerX(), state.playerY());
+            System.out.println("¡VIDA EXTRA OTORGADA! Vidas: " + state.lives());
         } else {
             // Si ya tiene máximo de vidas, dar bonus de puntos
             Integer bonusPuntos = 500;
-            state.setScore(state.getScore() + bonusPuntos);
+            state.setScore(state.score() + bonusPuntos);
             System.out.println("Máximo de vidas alcanzado! Bonus: +" + bonusPuntos + " pts");
         }
 
         System.out.println("¡VICTORIA! Has rescatado a Donkey Kong!");
         System.out.println("Bonus: +" + WIN_SCORE_BONUS + " puntos");
-        System.out.println("Puntuación: " + state.getScore());
+        System.out.println("Puntuación: " + state.score());
 
         // INCREMENTAR NIVEL Y VELOCIDAD
         currentLevel++;
@@ -494,17 +702,12 @@ public class GameManager {
 
         System.out.println("¡Nivel " + currentLevel + "! Velocidad de enemigos: x" +
                 String.format("%.2f", speedMultiplier));
+        emit(GameEvent.Type.WIN, GameEvent.NO_ENTITY, currentLevel, state.playerX(), state.playerY());
 
-        // Esperar un momento antes de reiniciar (2 segundos)
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        // REINICIAR NIVEL
-        System.out.println("Reiniciando nivel...");
-        restartLevel();
+        // Esperar un momento antes de reiniciar (2 segundos).
+        // No se duerme el hilo: comparte shard con otras partidas,
+        // tick() reinicia el nivel cuando se cumple el plazo.
+        restartLevelAt = System.currentTimeMillis() + VICTORY_PAUSE;
     }
 
     /**
@@ -513,8 +716,8 @@ public class GameManager {
      */
     private void restartLevel() {
         // Guardar valores importantes
-        Integer savedLives = state.getLives();
-        Integer savedScore = state.getScore();
+        int savedLives = state.lives();
+        int savedScore = state.score();
 
         // Reiniciar el nivel (limpia entidades y recrear)
         initLevel();
@@ -525,9 +728,9 @@ public class GameManager {
         state.setHasWon(false);
 
         // APLICAR MULTIPLICADOR DE VELOCIDAD A COCODRILOS
-        for (Cocodrilo croc : state.getCocodrilos()) {
-            Double velocidadActual = croc.getVelocidad();
-            croc.setVelocidad(velocidadActual * speedMultiplier);
+        EntityStore<Cocodrilo> crocs = state.getCrocStore();
+        for (int i = 0; i < crocs.size(); i++) {
+            crocs.velocity[i] *= speedMultiplier;
         }
 
         // APLICAR MULTIPLICADOR A MARIO
@@ -538,22 +741,25 @@ public class GameManager {
                     (velocidadMario * speedMultiplier));
         }
 
+        emit(GameEvent.Type.LEVEL_UP, GameEvent.NO_ENTITY, currentLevel, state.playerX(), state.playerY());
+
         System.out.println("Nivel reiniciado con velocidad x" +
                 String.format("%.2f", speedMultiplier));
         System.out.println("Vidas: " + savedLives + " | Puntos: " + savedScore);
     }
 
     private void playerDeath() {
-        System.out.println("[DEBUG] playerDeath llamado - Vidas ANTES: " + state.getLives());
-        state.setLives(state.getLives() - 1);
-        System.out.println("[DEBUG] playerDeath - Vidas DESPUÉS: " + state.getLives());
+        System.out.println("[DEBUG] playerDeath llamado - Vidas ANTES: " + state.lives());
+        state.setLives(state.lives() - 1);
+        System.out.println("[DEBUG] playerDeath - Vidas DESPUÉS: " + state.lives());
 
-        if (state.getLives() <= 0) {
+        if (state.lives() <= 0) {
             // GAME OVER COMPLETO
+            emit(GameEvent.Type.GAME_OVER, GameEvent.NO_ENTITY, currentLevel, state.playerX(), state.playerY());
             System.out.println(" ╔════════════════════════════╗");
             System.out.println(" ║       GAME OVER            ║");
             System.out.println(" ╚════════════════════════════╝");
-            System.out.println("Puntuación final: " + state.getScore());
+            System.out.println("Puntuación final: " + state.score());
             System.out.println("Nivel alcanzado: " + currentLevel);
 
             // REINICIAR TODO
@@ -572,6 +778,8 @@ public class GameManager {
             return;
         }
 
+        emit(GameEvent.Type.DEATH, GameEvent.NO_ENTITY, state.lives(), state.playerX(), state.playerY());
+
         // ACTIVAR INVENCIBILIDAD TEMPORAL
         isInvincible = true;
         invincibilityEndTime = System.currentTimeMillis() + INVINCIBILITY_DURATION;
@@ -603,42 +811,89 @@ public class GameManager {
     }
 
     /* =========================================================
-       SERIALIZACIÓN / BROADCAST
+       EVENTOS DE DOMINIO
        ========================================================= */
 
-    private String buildGameState() {
-        if (mode == CommunicationMode.JSON) {
-            return GameStateSerializer.toJson(state);
-        } else {
-            StringBuilder sb = new StringBuilder();
-
-            sb.append(String.format(Locale.US,
-                    "PLAYER 0 x=%.0f y=%.0f vx=%.2f vy=%.2f lives=%d score=%d jumping=%d onliana=%d won=%d gained_life=%d\n",
-                    state.getPlayerX(), state.getPlayerY(),
-                    state.getVelocityX(), state.getVelocityY(),
-                    state.getLives(),
-                    state.getScore(),
-                    state.isJumping() ? 1 : 0,
-                    state.isOnLiana() ? 1 : 0,
-                    state.hasWon() ? 1 : 0,
-                    state.getJustGainedLife() ? 1 : 0));
-
-            sb.append(String.format("CAGE x=%.0f y=%.0f w=%d h=%d\n",
-                    CAGE_X, CAGE_Y, CAGE_WIDTH, CAGE_HEIGHT));
-
-            // ENVIAR POSICIÓN DE MARIO
-            if (state.getMario() != null) {
-                sb.append(state.getMario().toNetworkString()).append("\n");
-            }
+    /** Publica un evento en el anillo (hilo del tick; no bloquea ni asigna). */
+    private void emit(GameEvent.Type type, int entityId, int value, double x, double y) {
+        events.publish(type, tickCount, entityId, value, x, y, state.score(), state.lives());
+    }
+
+    /**
+     * Suscribe un listener a los eventos de la partida (cualquier hilo).
+     * Se le entregan en un hilo de despacho, después del tick que los generó.
+     */
+    public GameEventRing.Subscription subscribeEvents(String name, GameEventListener listener) {
+        return events.subscribe(name, listener);
+    }
+
+    public void unsubscribeEvents(GameEventRing.Subscription subscription) {
+        events.unsubscribe(subscription);
+    }
+
+    /** Eventos publicados y entregados/perdidos por suscriptor (ADMIN EVENTS). */
+    public String getEventsJson() {
+        return events.toJson();
+    }
+
+    /* =========================================================
+       SERIALIZACIÓN / BROADCAST
+       ========================================================= */
 
-            for (Cocodrilo c : state.getCocodrilos())
-                sb.append(c.toNetworkString()).append("\n");
+    /**
+     * Fin del tick: publica una copia inmutable del estado si alguien
+     * la va a leer. Desde acá la leen las conexiones DELTA, las
+     * consultas ADMIN y la consola sin tocar el GameState que el tick
+     * sigue modificando.
+     *
+     * Una copia publicada no se puede reutilizar (una conexión DELTA
+     * la guarda como base sin plazo), así que solo se captura cuando
+     * hace falta: cada tick en modo DELTA con observadores, el tick
+     * siguiente a un getSnapshot(), o cada SNAPSHOT_REFRESH_TICKS.
+     * TEXT y JSON codifican desde el estado y BINARY desde
+     * frameSnapshot, así que no generan copias.
+     */
+    private void publishSnapshot() {
+        boolean delta = mode == CommunicationMode.DELTA && observable.getObserverCount() > 0;
+        if (delta || snapshotWanted || snapshot == null
+                || tickCount - snapshot.tick >= SNAPSHOT_REFRESH_TICKS) {
+            snapshotWanted = false;
+            snapshot = GameSnapshot.capture(state, tickCount);
+        }
+    }
 
-            for (Fruta f : state.getFrutas())
-                if (f.isActiva())
-                    sb.append(f.toNetworkString()).append("\n");
+    /**
+     * Estado del último tick publicado (cualquier hilo, sin locks).
+     * Sin lectores recientes puede tener hasta SNAPSHOT_REFRESH_TICKS
+     * ticks; la llamada pide que el próximo tick publique uno nuevo.
+     */
+    public GameSnapshot getSnapshot() {
+        snapshotWanted = true;
+        return snapshot;
+    }
 
-            return sb.toString();
+    /**
+     * Construye el frame a enviar: byte[] en modo TEXT (codificado sin
+     * String.format, ver TextFrameEncoder) y BINARY, o JsonFrameEncoder.Frame
+     * en modo JSON (la conexión antepone la geometría la primera vez).
+     * Los bytes son una copia exacta que comparten todas las conexiones.
+     *
+     * En modo DELTA se envía el GameSnapshot: cada conexión lo codifica
+     * contra el último frame que ella misma envió.
+     */
+    private Object buildGameState() {
+        if (mode == CommunicationMode.JSON) {
+            return jsonEncoder.encode(state, tickCount);
+        } else if (mode == CommunicationMode.BINARY) {
+            GameSnapshot s = snapshot.tick == tickCount ? snapshot : frameSnapshot.recapture(state, tickCount);
+            return binaryEncoder.encode(s).toByteArray();
+        } else if (mode == CommunicationMode.DELTA) {
+            if (snapshot.tick != tickCount) {
+                snapshot = GameSnapshot.capture(state, tickCount);   // el observador llegó después de publishSnapshot
+            }
+            return snapshot;
+        } else {
+            return textEncoder.encode(state, tickCount).toByteArray();
         }
     }
 
@@ -656,340 +911,309 @@ public class GameManager {
     }
 
     private void broadcast() {
+        if (observable.getObserverCount() == 0) return;   // nadie mira: no codificar
+        frameTimes.lazySet((int) (tickCount % FRAME_TIME_SLOTS), System.nanoTime());
         observable.notificarObservadores(buildGameState());
     }
 
+    /**
+     * Momento (System.nanoTime) en que se construyó el frame del tick,
+     * o -1 si es muy viejo o todavía no existe.
+     */
+    public long getFrameTimestamp(long tick) {
+        long current = tickCount;
+        if (tick <= 0 || tick > current || current - tick >= FRAME_TIME_SLOTS) return -1L;
+        return frameTimes.get((int) (tick % FRAME_TIME_SLOTS));
+    }
+
     /* =========================================================
        MÉTODOS ADMIN - CREAR/ELIMINAR ENTIDADES
        ========================================================= */
 
     /**
-     * Crea un cocodrilo en una posición específica (comando ADMIN)
-     * @param tipo "ROJO" o "AZUL"
-     * @param lianaNum Número de liana (1-9) ← CAMBIO: antes era 1-6
-     * @param altura Altura en píxeles (0-540)
+     * Encola un comando ADMIN (cualquier hilo). Lo aplica el tick al
+     * principio del próximo tick; el futuro se completa en el hilo
+     * del tick con el id de la entidad creada o eliminada.
      */
-    public void crearCocodriloAdmin(String tipo, int lianaNum, int altura) {
-        // Validar rango 1-9
-        if (lianaNum < 1 || lianaNum > 9) {
-            System.out.println("[GameManager] Error: liana inválida " + lianaNum);
-            return;
-        }
-
-        double x = GameConstants.getLianaX(lianaNum);
-        double y = (double) altura;
+    public CompletableFuture<AdminResult> submitAdmin(AdminCommand command) {
+        return adminCommands.submit(List.of(command)).thenApply(results -> results.get(0));
+    }
 
-        Posicion pos = new Posicion(x, y);
+    /**
+     * Encola un lote de comandos ADMIN que se aplica completo en un
+     * mismo tick o, si alguno falla, no se aplica (transacción).
+     */
+    public CompletableFuture<List<AdminResult>> submitAdmin(List<AdminCommand> batch) {
+        return adminCommands.submit(batch);
+    }
 
-        Cocodrilo croc;
-        if ("ROJO".equals(tipo)) {
-            croc = factory.crearCocodrilo(TipoCocodrilo.ROJO, pos);
-        } else if ("AZUL".equals(tipo)) {
-            croc = factory.crearCocodrilo(TipoCocodrilo.AZUL, pos);
-        } else {
-            System.out.println("[GameManager] Error: tipo de cocodrilo inválido " + tipo);
-            return;
-        }
+    /**
+     * Crea un cocodrilo en una liana (hilo del tick, desde AdminCommand).
+     * @param lianaNum Número de liana (1-9)
+     * @param altura Altura en píxeles (0-540)
+     * @return id del cocodrilo creado
+     */
+    int spawnCroc(TipoCocodrilo tipo, int lianaNum, double altura) {
+        checkLianaAltura(lianaNum, altura);
+        Cocodrilo croc = addCroc(factory, tipo, lianaNum, altura);
 
-        // Asignar liana
-        if (lianaNum >= 1 && lianaNum <= state.getLianas().size()) {
-            try {
-                Liana liana = state.getLianas().get(lianaNum - 1);
-                croc.setLiana(liana);
+        System.out.println("[GameManager] Cocodrilo creado → ID: " + croc.getId() +
+                ", Tipo: " + tipo + ", Liana: " + lianaNum +
+                ", X: " + croc.x() + ", Altura: " + altura);
+        return croc.getId();
+    }
 
-                System.out.println("[GameManager] Cocodrilo asignado a liana " + lianaNum + " en X=" + x);
-            } catch (Exception e) {
-                System.out.println("[GameManager] Advertencia: No se pudo asignar liana al cocodrilo");
-            }
+    /** Alta de un pedido BULK, sin log; false si ya no quedan ids. */
+    boolean spawnCrocQuiet(TipoCocodrilo tipo, int lianaNum, double altura) {
+        if (state.getCrocStore().freeIds() == 0) {
+            return false;
         }
+        addCroc(bulkFactory, tipo, lianaNum, altura);
+        return true;
+    }
 
+    private Cocodrilo addCroc(GameObjectFactory f, TipoCocodrilo tipo, int lianaNum, double altura) {
+        double x = GameConstants.getLianaX(lianaNum);
+        Cocodrilo croc = f.crearCocodrilo(tipo, pools.position(x, altura));
+        croc.setLiana(state.getLianas().get(lianaNum - 1));
         state.getCocodrilos().add(croc);
-
-        System.out.println("[GameManager] Cocodrilo creado → ID: " + croc.getId() +
-                ", Tipo: " + tipo + ", Liana: " + lianaNum +
-                ", X: " + x + ", Altura: " + altura);
+        return croc;
     }
 
     /**
-     * Crea una fruta en una posición específica (comando ADMIN)
-     * @param tipo "BANANA", "NARANJA" o "CEREZA"
-     * @param lianaNum Número de liana (1-9) ← CAMBIO: antes era 1-6
+     * Crea una fruta en una liana (hilo del tick, desde AdminCommand).
+     * @param lianaNum Número de liana (1-9)
      * @param altura Altura en píxeles (0-540)
-     * @param puntos Puntos que otorga (10-100)
+     * @param puntos Puntos que otorga; 0 usa los del tipo
+     * @return id de la fruta creada
      */
-    public void crearFrutaAdmin(String tipo, int lianaNum, int altura, int puntos) {
-
-        // Validar rango 1-9
-        if (lianaNum < 1 || lianaNum > 9) {
-            System.out.println("[GameManager] Error: liana inválida " + lianaNum);
-            return;
-        }
-
-        // USAR getLianaX()
-        double x = GameConstants.getLianaX(lianaNum);
-        double y = (double) altura;
-
-        Posicion pos = new Posicion(x, y);
-
-        TipoFruta tipoFruta;
-        switch (tipo) {
-            case "BANANA":
-                tipoFruta = TipoFruta.BANANA;
-                break;
-            case "NARANJA":
-                tipoFruta = TipoFruta.NARANJA;
-                break;
-            case "CEREZA":
-                tipoFruta = TipoFruta.CEREZA;
-                break;
-            default:
-                System.out.println("[GameManager] Error: tipo de fruta inválido " + tipo);
-                return;
-        }
-
-        Fruta fruta = factory.crearFruta(tipoFruta, pos);
-        fruta.setPuntos(puntos);
-
-        // Asignar liana
-        if (lianaNum >= 1 && lianaNum <= state.getLianas().size()) {
-            try {
-                Liana liana = state.getLianas().get(lianaNum - 1);
-                fruta.setLiana(liana);
-
-                System.out.println("[GameManager] Fruta asignada a liana " + lianaNum + " en X=" + x);
-            } catch (Exception e) {
-                System.out.println("[GameManager] Advertencia: No se pudo asignar liana a la fruta");
-            }
-        }
-
-        state.getFrutas().add(fruta);
+    int spawnFruit(TipoFruta tipo, int lianaNum, double altura, int puntos) {
+        checkLianaAltura(lianaNum, altura);
+        Fruta fruta = addFruit(factory, tipo, lianaNum, altura, puntos);
 
         System.out.println("[GameManager] Fruta creada → ID: " + fruta.getId() +
                 ", Tipo: " + tipo + ", Liana: " + lianaNum +
-                ", X: " + x + ", Altura: " + altura + ", Puntos: " + puntos);
+                ", X: " + fruta.x() + ", Altura: " + altura + ", Puntos: " + fruta.getPuntos());
+        return fruta.getId();
     }
 
-    /**
-     * Elimina una fruta en una posición específica (comando ADMIN)
-     * @param lianaNum Número de liana (0-8)
-     * @param altura Altura en píxeles (0-540)
-     * @return true si se eliminó, false si no se encontró
-     */
-    public boolean eliminarFrutaAdmin(int lianaNum, int altura) {
-        // Validar rango 0-8
-        if (lianaNum < 0 || lianaNum > 8) {
-            System.out.println("[GameManager] Error: liana inválida " + lianaNum);
+    /** Alta de un pedido BULK, sin log; false si ya no quedan ids. */
+    boolean spawnFruitQuiet(TipoFruta tipo, int lianaNum, double altura, int puntos) {
+        if (state.getFruitStore().freeIds() == 0) {
             return false;
         }
+        addFruit(bulkFactory, tipo, lianaNum, altura, puntos);
+        return true;
+    }
 
-        // Convertir índice 0-8 a 1-9 para getLianaX
-        double targetX = GameConstants.getLianaX(lianaNum + 1);
-        double targetY = (double) altura;
-        double tolerance = 30.0;
+    private Fruta addFruit(GameObjectFactory f, TipoFruta tipo, int lianaNum, double altura, int puntos) {
+        double x = GameConstants.getLianaX(lianaNum);
+        Fruta fruta = f.crearFruta(tipo, pools.position(x, altura));
+        if (puntos > 0) {
+            fruta.setPuntos(puntos);
+        }
+        fruta.setLiana(state.getLianas().get(lianaNum - 1));
+        state.getFrutas().add(fruta);
+        return fruta;
+    }
 
-        for (int i = 0; i < state.getFrutas().size(); i++) {
-            Fruta fruta = state.getFrutas().get(i);
-            Posicion pos = fruta.getPosicion();
+    /** Encola un pedido BULK de cocodrilos (lo crea bulk.step en los próximos ticks). */
+    BulkSpawner.Job startBulkCrocs(TipoCocodrilo tipo, int total, int firstLiana, int lastLiana) {
+        checkBulk(total, firstLiana, lastLiana);
+        return bulk.addCrocs(tipo, total, firstLiana, lastLiana);
+    }
 
-            if (Math.abs(pos.x - targetX) < tolerance &&
-                    Math.abs(pos.y - targetY) < tolerance) {
+    BulkSpawner.Job startBulkFruits(TipoFruta tipo, int total, int firstLiana, int lastLiana, int puntos) {
+        checkBulk(total, firstLiana, lastLiana);
+        return bulk.addFruits(tipo, total, firstLiana, lastLiana, puntos);
+    }
 
-                Integer frutaId = fruta.getId();
-                state.getFrutas().remove(i);
+    void cancelBulk(BulkSpawner.Job job) {
+        bulk.cancel(job);
+    }
 
-                System.out.println("[GameManager] Fruta eliminada → ID: " + frutaId +
-                        ", Liana: " + lianaNum + ", X: " + targetX + ", Altura: " + altura);
-                return true;
-            }
+    private static void checkBulk(int total, int firstLiana, int lastLiana) {
+        if (total < 1 || total > IdAllocator.MAX_INDEX) {
+            throw new IllegalArgumentException("cantidad inválida " + total + " (1-" + IdAllocator.MAX_INDEX + ")");
+        }
+        if (firstLiana < 1 || lastLiana > 9 || firstLiana > lastLiana) {
+            throw new IllegalArgumentException("rango de lianas inválido " + firstLiana + "-" + lastLiana + " (1-9)");
         }
-
-        System.out.println("[GameManager] No se encontró fruta en liana " + lianaNum +
-                " altura " + altura);
-        return false;
     }
 
     /**
-     * Crea un cocodrilo (versión para AdminConsole con tipos enumerados)
-     * @param tipo Tipo de cocodrilo (TipoCocodrilo.ROJO o TipoCocodrilo.AZUL)
-     * @param lianaId Número de liana (1-6)
-     * @param altura Altura en píxeles (0-540)
-     * @return true si se creó exitosamente, false si hubo error
+     * Baja masiva: marca inactivas hasta max entidades (0 = todas) de
+     * las lianas firstLiana..lastLiana. La reclamación de fin de tick
+     * las saca en una pasada y avisa DESPAWN en el frame de este tick.
+     * Los ids marcados quedan en clearedIds desde clearedMark()
+     * (para deshacer), sin arreglos nuevos.
+     * @return cantidad marcada
      */
-    public Boolean crearCocodrilo(TipoCocodrilo tipo, Integer lianaId, Double altura) {
-        //  Validar liana 1-9
-        if (lianaId < 1 || lianaId > 9) {
-            System.out.println("[GameManager] Error: liana inválida " + lianaId);
-            return false;
-        }
-
-        // Validar altura
-        if (altura < 0 || altura > 540) {
-            System.out.println("[GameManager] Error: altura inválida " + altura);
-            return false;
-        }
-
-        try {
-            double x = GameConstants.getLianaX(lianaId);
-            double y = altura;
-            Posicion pos = new Posicion(x, y);
-
-            // Crear cocodrilo usando el factory
-            Cocodrilo croc = factory.crearCocodrilo(tipo, pos);
-
-            // Asignar liana
-            if (lianaId >= 1 && lianaId <= state.getLianas().size()) {
-                croc.setLiana(state.getLianas().get(lianaId - 1));
+    int clearLianas(boolean crocs, int firstLiana, int lastLiana, int max) {
+        checkBulk(1, firstLiana, lastLiana);
+        EntityStore<?> store = crocs ? state.getCrocStore() : state.getFruitStore();
+        int firstLane = state.getLianas().get(firstLiana - 1).getId();
+        int lastLane = state.getLianas().get(lastLiana - 1).getId();
+        int limit = (max > 0) ? max : store.size();
+
+        int count = 0;
+        for (int i = 0; i < store.size() && count < limit; i++) {
+            if (store.active[i] && store.lane[i] >= firstLane && store.lane[i] <= lastLane) {
+                store.active[i] = false;
+                clearedIds.accept(store.ids[i]);
+                count++;
             }
-
-            state.getCocodrilos().add(croc);
-
-            System.out.println("[GameManager] Cocodrilo creado → ID: " + croc.getId() +
-                    ", Tipo: " + tipo + ", Liana: " + lianaId +
-                    ", X: " + x + ", Altura: " + altura);
-
-            return true;
-
-        } catch (Exception e) {
-            System.out.println("[GameManager] Error al crear cocodrilo: " + e.getMessage());
-            return false;
         }
+        System.out.println("[GameManager] Baja masiva: " + count + (crocs ? " cocodrilos" : " frutas") +
+                " en lianas " + firstLiana + "-" + lastLiana);
+        return count;
+    }
+
+    /** Posición en clearedIds donde empieza el próximo clearLianas. */
+    int clearedMark() {
+        return clearedIds.size();
     }
 
     /**
-     * Elimina un cocodrilo por su ID
-     * @param id ID del cocodrilo a eliminar
-     * @return true si se eliminó, false si no se encontró
+     * Deshace el clearLianas que marcó clearedIds[from, from + count)
+     * (lote ADMIN revertido en el mismo tick).
      */
-    public Boolean eliminarCocodrilo(Integer id) {
-        try {
-            for (int i = 0; i < state.getCocodrilos().size(); i++) {
-                Cocodrilo croc = state.getCocodrilos().get(i);
-                if (croc.getId().equals(id)) {
-                    state.getCocodrilos().remove(i);
-                    System.out.println("[GameManager] Cocodrilo eliminado → ID: " + id);
-                    return true;
-                }
-            }
-            System.out.println("[GameManager] Error: Cocodrilo con ID " + id + " no encontrado");
-            return false;
-
-        } catch (Exception e) {
-            System.out.println("[GameManager] Error al eliminar cocodrilo: " + e.getMessage());
-            return false;
+    void unclearLianas(boolean crocs, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            undelete(crocs, clearedIds.id(i));
         }
     }
 
     /**
-     * Crea una fruta (versión para AdminConsole con tipos enumerados)
-     * @param tipo Tipo de fruta (TipoFruta.BANANA, NARANJA, CEREZA)
-     * @param lianaId Número de liana (1-6)
-     * @param altura Altura en píxeles (0-540)
-     * @return true si se creó exitosamente, false si hubo error
+     * Deshace una baja marcada en este tick: la entidad sigue en su
+     * slot con su id (la reclamación todavía no pasó), así que basta
+     * con volver a activarla.
      */
-    public Boolean crearFruta(TipoFruta tipo, Integer lianaId, Double altura) {
-        // Validar liana 1-9
-        if (lianaId < 1 || lianaId > 9) {
-            System.out.println("[GameManager] Error: liana inválida " + lianaId);
-            return false;
+    void undelete(boolean crocs, int id) {
+        EntityStore<?> store = crocs ? state.getCrocStore() : state.getFruitStore();
+        int slot = store.slotOf(id);
+        if (slot >= 0) {
+            store.active[slot] = true;
         }
+    }
+
+    /** Pedidos BULK pendientes (ADMIN BULK). */
+    public String getBulkJson() {
+        return bulk.toJson();
+    }
 
-        // Validar altura
+    private static void checkLianaAltura(int lianaNum, double altura) {
+        if (lianaNum < 1 || lianaNum > 9) {
+            throw new IllegalArgumentException("liana inválida " + lianaNum + " (1-9)");
+        }
         if (altura < 0 || altura > 540) {
-            System.out.println("[GameManager] Error: altura inválida " + altura);
-            return false;
+            throw new IllegalArgumentException("altura inválida " + altura + " (0-540)");
         }
+    }
 
-        try {
-            double x = GameConstants.getLianaX(lianaId);
-            double y = altura;
-            Posicion pos = new Posicion(x, y);
-
-            // Crear fruta usando el factory
-            Fruta fruta = factory.crearFruta(tipo, pos);
-
-            // Asignar liana
-            if (lianaId >= 1 && lianaId <= state.getLianas().size()) {
-                fruta.setLiana(state.getLianas().get(lianaId - 1));
-            }
-
-            state.getFrutas().add(fruta);
-
-            System.out.println("[GameManager] Fruta creada → ID: " + fruta.getId() +
-                    ", Tipo: " + tipo + ", Liana: " + lianaId +
-                    ", X: " + x + ", Altura: " + altura + ", Puntos: " + fruta.getPuntos());
-
-            return true;
-
-        } catch (Exception e) {
-            System.out.println("[GameManager] Error al crear fruta: " + e.getMessage());
+    /**
+     * Baja del cocodrilo con ese id (tabla id → slot): lo marca
+     * inactivo, como clearLianas, y la reclamación de fin de tick lo
+     * saca y avisa DESPAWN. Hasta entonces conserva id y slot, así
+     * un lote revertido lo deja como estaba (undelete).
+     * @return false si no está (o ya tiene la baja)
+     */
+    boolean deleteCroc(int id) {
+        EntityStore<Cocodrilo> crocs = state.getCrocStore();
+        int slot = crocs.slotOf(id);
+        if (slot < 0 || !crocs.active[slot]) {
             return false;
         }
+        crocs.active[slot] = false;
+        System.out.println("[GameManager] Cocodrilo eliminado → ID: " + id);
+        return true;
     }
 
     /**
-     * Elimina una fruta por posición (liana + altura)
-     * @param lianaId Número de liana (1-6)
-     * @param altura Altura en píxeles (0-540)
-     * @return true si se eliminó, false si no se encontró
+     * Baja de la fruta activa más antigua a menos de 30 px (en X e Y)
+     * del punto de la liana, igual que deleteCroc.
+     * @param lianaNum Número de liana (1-9)
+     * @return id de la fruta, o GameEvent.NO_ENTITY si no hay
      */
-    public Boolean eliminarFruta(Integer lianaId, Double altura) {
-        double[] lianasX = {20.0, 100.0, 220.0, 370.0, 480.0, 570.0,660.0, 760.0, 890.0};
+    int deleteFruitNear(int lianaNum, double altura) {
+        checkLianaAltura(lianaNum, altura);
+        double targetX = GameConstants.getLianaX(lianaNum);
+        double tolerance = 30.0;
 
-        // Validar liana
-        if (lianaId < 1 || lianaId > 9) {
-            System.out.println("[GameManager] Error: liana inválida " + lianaId);
-            return false;
+        EntityStore<Fruta> fruits = state.getFruitStore();
+        int i = findFruitNear(fruits, targetX, altura, tolerance);
+        if (i < 0) {
+            return GameEvent.NO_ENTITY;
         }
+        fruits.active[i] = false;
+        System.out.println("[GameManager] Fruta eliminada → ID: " + fruits.ids[i] +
+                ", Liana: " + lianaNum + ", X: " + targetX + ", Altura: " + altura);
+        return fruits.ids[i];
+    }
 
-        try {
-            double targetX = lianasX[lianaId - 1];
-            double targetY = altura;
-            double tolerance = 30.0; // Tolerancia de 30 píxeles
-
-            for (int i = 0; i < state.getFrutas().size(); i++) {
-                Fruta fruta = state.getFrutas().get(i);
-                Posicion pos = fruta.getPosicion();
-
-                // Verificar si la fruta está cerca de la posición objetivo
-                if (Math.abs(pos.x - targetX) < tolerance &&
-                        Math.abs(pos.y - targetY) < tolerance) {
-
-                    Integer frutaId = fruta.getId();
-                    state.getFrutas().remove(i);
+    /**
+     * Saca una entidad creada en este mismo tick por un lote revertido
+     * y la devuelve a su pool. Ningún frame la mostró, así que no se
+     * avisa DESPAWN.
+     */
+    void discardCroc(int id) {
+        Cocodrilo croc = state.getCrocStore().removeById(id);
+        if (croc != null) pools.releaseCroc(croc);
+    }
 
-                    System.out.println("[GameManager] Fruta eliminada → ID: " + frutaId +
-                            ", Liana: " + lianaId + ", Altura: " + altura);
+    void discardFruit(int id) {
+        Fruta fruta = state.getFruitStore().removeById(id);
+        if (fruta != null) pools.releaseFruit(fruta);
+    }
 
-                    return true;
-                }
+    /**
+     * Slot de la fruta a menos de tolerance (en X e Y) del punto, o -1.
+     * Mira solo las celdas de la grilla alrededor del punto; si hay
+     * varias, devuelve la de menor slot (la más antigua), como el
+     * recorrido lineal.
+     */
+    private static int findFruitNear(EntityStore<Fruta> fruits, double x, double y, double tolerance) {
+        EntityGrid.Query query = fruits.grid().query()
+                .reset(x - tolerance, y - tolerance, x + tolerance, y + tolerance);
+        int found = -1;
+        for (int i = query.next(); i >= 0; i = query.next()) {
+            if ((found < 0 || i < found) && fruits.active[i] &&
+                    Math.abs(fruits.x[i] - x) < tolerance &&
+                    Math.abs(fruits.y[i] - y) < tolerance) {
+                found = i;
             }
-
-            System.out.println("[GameManager] Error: No se encontró fruta en Liana " +
-                    lianaId + ", Altura " + altura);
-            return false;
-
-        } catch (Exception e) {
-            System.out.println("[GameManager] Error al eliminar fruta: " + e.getMessage());
-            return false;
         }
+        return found;
     }
 
     /* =========================================================
        UTILIDADES
        ========================================================= */
 
+    /**
+     * Lista las entidades del último tick publicado (hilo de la consola:
+     * lee el GameSnapshot, nunca las listas vivas).
+     */
     public void listarEntidades() {
-        System.out.println("\n=== ENTIDADES ACTIVAS ===");
-        System.out.println("-- Cocodrilos (" + state.getCocodrilos().size() + ") --");
-        for (Cocodrilo c : state.getCocodrilos()) {
-            System.out.println("  " + c);
+        GameSnapshot s = getSnapshot();
+        System.out.println("\n=== ENTIDADES ACTIVAS (tick " + s.tick + ") ===");
+        System.out.println("-- Cocodrilos (" + s.crocCount + ") --");
+        for (int i = 0; i < s.crocCount; i++) {
+            System.out.println("  Cocodrilo{id=" + s.crocIds[i] +
+                    ", tipo=" + (s.crocRed[i] ? TipoCocodrilo.ROJO : TipoCocodrilo.AZUL) +
+                    ", pos=(" + s.crocX[i] + ", " + s.crocY[i] + ")" +
+                    ", liana=" + s.crocLane[i] + ", activo=" + s.crocAlive[i] + "}");
         }
-        System.out.println("-- Frutas (" + state.getFrutas().size() + ") --");
-        for (Fruta f : state.getFrutas()) {
-            if (f.isActiva()) {
-                System.out.println("  " + f);
-            }
+        System.out.println("-- Frutas (" + s.fruitCount + ") --");
+        for (int i = 0; i < s.fruitCount; i++) {
+            System.out.println("  Fruta{id=" + s.fruitIds[i] +
+                    ", tipo=" + (s.fruitType[i] >= 0 ? TipoFruta.values()[s.fruitType[i]] : "-") +
+                    ", pos=(" + s.fruitX[i] + ", " + s.fruitY[i] + ")" +
+                    ", liana=" + s.fruitLane[i] + ", puntos=" + s.fruitPoints[i] + "}");
         }
+        System.out.println("-- Reclamadas: " + reclaimedCrocs + " cocodrilos, "
+                + reclaimedFruits + " frutas --");
+        System.out.println("-- Pools: " + pools.toJson() + " --");
         System.out.println("-- Lianas (" + state.getLianas().size() + ") --");
         for (Liana l : state.getLianas()) {
             System.out.println("  " + l);
@@ -997,10 +1221,62 @@ public class GameManager {
         System.out.println("=========================\n");
     }
 
-    public GameState getState() {
+    /** Libres, aciertos y fallos de los pools de la partida (ADMIN POOLS). */
+    public String getPoolsJson() {
+        return pools.toJson();
+    }
+
+    /**
+     * Resumen del último tick publicado (ADMIN SNAPSHOT): sale del
+     * GameSnapshot, no del estado vivo.
+     */
+    public String getSnapshotJson() {
+        GameSnapshot s = getSnapshot();
+        int alive = 0;
+        for (int i = 0; i < s.crocCount; i++) {
+            if (s.crocAlive[i]) alive++;
+        }
+        return "{\"tick\":" + s.tick +
+                ",\"player\":[" + (int) s.playerX + "," + (int) s.playerY + "]" +
+                ",\"lives\":" + s.lives +
+                ",\"score\":" + s.score +
+                ",\"won\":" + s.won +
+                ",\"crocs\":" + s.crocCount +
+                ",\"crocsAlive\":" + alive +
+                ",\"fruits\":" + s.fruitCount + "}";
+    }
+
+    /**
+     * Perfil del tick (ADMIN STATS): p50/p99/max por fase de la última
+     * ventana, overruns, lotes ADMIN, entradas (perdidas por anillo lleno
+     * y última secuencia de cliente aplicada) y entidades del último
+     * tick publicado.
+     */
+    public String getStatsJson() {
+        GameSnapshot s = getSnapshot();
+        return "{\"tick\":" + s.tick +
+                ",\"crocs\":" + s.crocCount +
+                ",\"fruits\":" + s.fruitCount +
+                ",\"observers\":" + observable.getObserverCount() +
+                ",\"adminBatches\":{" + adminCommands.toJson() + "}" +
+                ",\"inputsDropped\":" + inputs.getDropped() +
+                ",\"lastInputSeq\":" + lastInputSeq +
+                "," + profiler.toJson() + "}";
+    }
+
+    /**
+     * Estado vivo de la partida: solo para el hilo del tick (y lo que
+     * él llama). Los demás hilos leen getSnapshot().
+     */
+    GameState getState() {
         return state;
     }
 
+    /** Geometría del nivel (inmutable, compartida entre partidas). */
+    LevelGeometry getGeometry() {
+        return geometry;
+    }
+
     public void registerPlayer(int clientId, String name) {
         connectedPlayers.put(clientId, name);
     }
@@ -1,22 +1,77 @@
 package server;
 //GAMESERVER
 import network.ClientHandler;
+import network.NioServer;
 import utils.GameConstants;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * GameServer
  * -----------------------------------------------------
  * Ahora solo acepta sockets y crea ClientHandler.
  * Cada jugador tendrá su propio GameManager a través de PlayerRegistry.
+ *
+ * Transportes disponibles (argumento de línea de comandos):
+ *   --transport=threads  un hilo por socket (por defecto)
+ *   --transport=virtual  un hilo virtual (Loom) por socket
+ *   --transport=nio      Selector + pocos hilos reactores
+ *
+ * Con --report=<segundos> se imprimen periódicamente las
+ * métricas de ServerMetrics para comparar los transportes.
  */
 public class GameServer {
 
+    public enum Transport {
+        THREADS,   // Un hilo bloqueante por cliente
+        VIRTUAL,   // Un hilo virtual por cliente (readLine() estaciona, no bloquea un hilo del SO)
+        NIO        // Reactores NIO no bloqueantes
+    }
+
     public static void main(String[] args) {
 
+        Transport transport = Transport.THREADS;
+        long reportSeconds = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--transport=")) {
+                transport = Transport.valueOf(arg.substring("--transport=".length()).toUpperCase());
+            } else if (arg.startsWith("--report=")) {
+                reportSeconds = Long.parseLong(arg.substring("--report=".length()));
+            }
+        }
+
+        ServerMetrics.setTransport(transport);
+        if (reportSeconds > 0) {
+            startReport(reportSeconds);
+        }
+
+        try {
+            switch (transport) {
+                case NIO:
+                    new NioServer(GameConstants.SERVER_PORT, GameConstants.NIO_REACTOR_THREADS).serve();
+                    break;
+                case VIRTUAL:
+                    serveBlocking(newVirtualThreadExecutor());
+                    break;
+                default:
+                    serveBlocking(null);
+            }
+        } catch (IOException e) {
+            System.err.println("Error en el servidor: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Acepta sockets y ejecuta cada ClientHandler.run() en su propio hilo.
+     * @param executor ejecutor de hilos virtuales, o null para hilos de plataforma
+     */
+    private static void serveBlocking(ExecutorService executor) throws IOException {
         try (ServerSocket serverSocket = new ServerSocket(GameConstants.SERVER_PORT)) {
             System.out.println("Servidor corriendo en puerto " + GameConstants.SERVER_PORT + "...");
 
@@ -25,14 +80,37 @@ public class GameServer {
                 System.out.println("Cliente conectado desde: " + client.getInetAddress());
 
                 ClientHandler handler = new ClientHandler(client);
-                new Thread(handler).start();
+                if (executor != null) {
+                    executor.execute(handler);
+                } else {
+                    new Thread(handler).start();
+                }
             }
+        }
+    }
 
-        } catch (IOException e) {
-            System.err.println("Error en el servidor: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() por reflexión, para que el
+     * servidor siga compilando con JDK 17. Requiere ejecutar con JDK 21+.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "--transport=virtual requiere Java 21 o superior (hilos virtuales)", e);
         }
     }
-}
-    
 
+    private static void startReport(long seconds) {
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-report");
+            t.setDaemon(true);
+            return t;
+        }).scheduleAtFixedRate(
+                () -> System.out.println("[METRICS] " + ServerMetrics.toJson()),
+                seconds, seconds, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,115 @@
+package server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * InputRing
+ * -----------------------------------------------------
+ * Buffer circular de entradas de UNA partida.
+ * Varios productores (hilos de socket / reactores) y un solo
+ * consumidor (el hilo del tick), sin locks.
+ *
+ * Cada celda tiene un número de secuencia que indica si está
+ * libre para escribir o lista para leer; el productor reclama
+ * una posición con CAS sobre "tail" y publica la celda al final.
+ * Si el buffer está lleno la entrada se descarta.
+ */
+final class InputRing {
+
+    // Códigos de comando
+    static final int NONE  = 0;
+    static final int LEFT  = 1;
+    static final int RIGHT = 2;
+    static final int UP    = 3;
+    static final int DOWN  = 4;
+    static final int JUMP  = 5;
+    static final int STOP  = 6;
+
+    /** Recibe cada entrada al drenar el buffer. */
+    interface Consumer {
+        void accept(int command, long clientSeq);
+    }
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final int[] commands;
+    private final long[] clientSeqs;
+
+    private final AtomicLong tail = new AtomicLong(0);   // productores
+    private long head = 0;                                // solo el consumidor
+
+    private final AtomicLong dropped = new AtomicLong(0);
+
+    /** @param capacity capacidad, se redondea a potencia de 2 */
+    InputRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.commands = new int[size];
+        this.clientSeqs = new long[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Convierte el texto del protocolo (LEFT, RIGHT, ...) a código; NONE si es desconocido. */
+    static int parse(String command) {
+        switch (command.toUpperCase()) {
+            case "LEFT":  return LEFT;
+            case "RIGHT": return RIGHT;
+            case "UP":    return UP;
+            case "DOWN":  return DOWN;
+            case "JUMP":  return JUMP;
+            case "STOP":  return STOP;
+            default:      return NONE;
+        }
+    }
+
+    /**
+     * Publica una entrada (cualquier hilo).
+     * @return false si el buffer estaba lleno y se descartó
+     */
+    boolean offer(int command, long clientSeq) {
+        while (true) {
+            long pos = tail.get();
+            int idx = (int) (pos & mask);
+            long dif = sequences.get(idx) - pos;
+
+            if (dif == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    commands[idx] = command;
+                    clientSeqs[idx] = clientSeq;
+                    sequences.lazySet(idx, pos + 1);   // publica la celda
+                    return true;
+                }
+            } else if (dif < 0) {
+                dropped.incrementAndGet();
+                return false;                          // lleno
+            }
+            // dif > 0: otro productor ganó esta posición, reintentar
+        }
+    }
+
+    /**
+     * Entrega al consumidor todas las entradas publicadas (solo el hilo del tick).
+     * @return cantidad de entradas drenadas
+     */
+    int drain(Consumer consumer) {
+        int count = 0;
+        while (true) {
+            int idx = (int) (head & mask);
+            if (sequences.get(idx) != head + 1) {
+                return count;                          // vacío o aún sin publicar
+            }
+            consumer.accept(commands[idx], clientSeqs[idx]);
+            sequences.lazySet(idx, head + mask + 1);   // libera la celda
+            head++;
+            count++;
+        }
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+}
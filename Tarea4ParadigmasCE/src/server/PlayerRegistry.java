@@ -40,6 +40,7 @@ public class PlayerRegistry {
     public static void removeSession(int id) {
         PlayerSession s = sessions.remove(id);
         if (s != null) {
+            s.game.shutdown();
             System.out.println("[REGISTRY] Jugador desconectado id=" + id);
         }
     }
@@ -0,0 +1,83 @@
+package server;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ServerMetrics
+ * -----------------------------------------------------
+ * Métricas globales del servidor para comparar transportes
+ * (THREADS, VIRTUAL, NIO):
+ *   - hilos de plataforma vivos y carrier threads (Loom)
+ *   - heap usado por conexión abierta
+ *   - latencia desde accept() hasta el JOIN del cliente
+ */
+public final class ServerMetrics {
+
+    private static volatile GameServer.Transport transport = GameServer.Transport.THREADS;
+
+    private static final AtomicInteger openConnections = new AtomicInteger(0);
+
+    private static final AtomicLong joinCount = new AtomicLong(0);
+    private static final AtomicLong joinLatencyTotalNanos = new AtomicLong(0);
+    private static final AtomicLong joinLatencyMaxNanos = new AtomicLong(0);
+
+    private ServerMetrics() {}
+
+    public static void setTransport(GameServer.Transport t) {
+        transport = t;
+    }
+
+    public static void connectionOpened() {
+        openConnections.incrementAndGet();
+    }
+
+    public static void connectionClosed() {
+        openConnections.decrementAndGet();
+    }
+
+    /** Registra el tiempo entre accept() y el JOIN de un jugador. */
+    public static void recordJoinLatency(long nanos) {
+        joinCount.incrementAndGet();
+        joinLatencyTotalNanos.addAndGet(nanos);
+        joinLatencyMaxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /** Hilos "carrier" que ejecutan los hilos virtuales (0 si no hay). */
+    private static int countCarrierThreads() {
+        int carriers = 0;
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getClass().getName().equals("jdk.internal.misc.CarrierThread")) {
+                carriers++;
+            }
+        }
+        return carriers;
+    }
+
+    /** Construye un JSON con el estado actual de las métricas. */
+    public static String toJson() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        int connections = Math.max(0, openConnections.get());
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+        long joins = joinCount.get();
+        double avgJoinMs = joins == 0 ? 0.0 : joinLatencyTotalNanos.get() / (joins * 1e6);
+
+        return "{\"transport\":\"" + transport + "\"" +
+                ",\"connections\":" + connections +
+                ",\"games\":" + TickEngine.getGameCount() +
+                ",\"platformThreads\":" + threads.getThreadCount() +
+                ",\"carrierThreads\":" + countCarrierThreads() +
+                ",\"heapUsedKb\":" + (heapUsed / 1024) +
+                ",\"heapPerConnectionKb\":" + (connections == 0 ? 0 : heapUsed / 1024 / connections) +
+                ",\"joins\":" + joins +
+                ",\"acceptToJoinAvgMs\":" + String.format(Locale.US, "%.3f", avgJoinMs) +
+                ",\"acceptToJoinMaxMs\":" + String.format(Locale.US, "%.3f", joinLatencyMaxNanos.get() / 1e6) +
+                "}";
+    }
+}
@@ -0,0 +1,143 @@
+package server;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static utils.GameConstants.TICK_RATE_MS;
+
+/**
+ * TickEngine
+ * -----------------------------------------------------
+ * Motor de ticks compartido por todas las partidas.
+ *
+ * En lugar de un hilo planificador por GameManager, hay un
+ * número fijo de "shards" (uno por núcleo). Cada shard tiene
+ * un único hilo que, cada TICK_RATE_MS, recorre todas sus
+ * partidas y ejecuta un tick de cada una en una sola pasada.
+ *
+ * Las partidas nuevas se asignan al shard con menos partidas.
+ */
+public final class TickEngine {
+
+    private static final int SHARD_COUNT =
+            Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    private static final Shard[] shards = new Shard[SHARD_COUNT];
+
+    static {
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard(i);
+        }
+        System.out.println("[TickEngine] " + SHARD_COUNT + " shards, tick cada " + TICK_RATE_MS + " ms");
+    }
+
+    private TickEngine() {}
+
+    /** Asigna una partida al shard menos cargado y empieza a ejecutarla. */
+    public static synchronized void register(GameManager game) {
+        Shard target = shards[0];
+        for (Shard s : shards) {
+            if (s.games.size() < target.games.size()) {
+                target = s;
+            }
+        }
+        target.games.add(game);
+    }
+
+    /** Deja de ejecutar una partida (por ejemplo, cuando el jugador se desconecta). */
+    public static synchronized void unregister(GameManager game) {
+        for (Shard s : shards) {
+            if (s.games.remove(game)) {
+                return;
+            }
+        }
+    }
+
+    /** Número total de partidas activas en todos los shards. */
+    public static int getGameCount() {
+        int total = 0;
+        for (Shard s : shards) total += s.games.size();
+        return total;
+    }
+
+    /**
+     * Construye un JSON con la carga de cada shard:
+     * partidas, duración de la última pasada, promedio y
+     * cantidad de pasadas que excedieron TICK_RATE_MS.
+     */
+    public static String getShardLoadJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = 0; i < shards.length; i++) {
+            Shard s = shards[i];
+            if (i > 0) sb.append(",");
+            sb.append("{\"shard\":").append(s.index)
+                    .append(",\"games\":").append(s.games.size())
+                    .append(",\"lastPassUs\":").append(s.lastPassNanos / 1_000)
+                    .append(",\"avgPassUs\":").append(s.avgPassNanos / 1_000)
+                    .append(",\"load\":").append(String.format(Locale.US, "%.3f", s.load()))
+                    .append(",\"overruns\":").append(s.overruns)
+                    .append("}");
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Un shard: un hilo que ejecuta los ticks de sus partidas.
+     */
+    private static final class Shard {
+
+        private static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_RATE_MS);
+
+        private final int index;
+        private final List<GameManager> games = new CopyOnWriteArrayList<>();
+        private final ScheduledExecutorService executor;
+
+        // Métricas de carga (escritas solo por el hilo del shard)
+        private volatile long lastPassNanos = 0;
+        private volatile long avgPassNanos = 0;
+        private volatile long overruns = 0;
+
+        Shard(int index) {
+            this.index = index;
+            this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "tick-shard-" + index);
+                t.setDaemon(true);
+                return t;
+            });
+            executor.scheduleAtFixedRate(this::pass, 0,
+                    TICK_RATE_MS.longValue(), TimeUnit.MILLISECONDS);
+        }
+
+        /** Una pasada: un tick de cada partida del shard. */
+        private void pass() {
+            long start = System.nanoTime();
+
+            for (GameManager game : games) {
+                try {
+                    game.tick();
+                } catch (RuntimeException e) {
+                    // Un error en una partida no debe detener las demás del shard
+                    System.out.println("[TickEngine] Error en tick del shard " + index + ": " + e);
+                }
+            }
+
+            long elapsed = System.nanoTime() - start;
+            lastPassNanos = elapsed;
+            avgPassNanos = avgPassNanos == 0 ? elapsed : (avgPassNanos * 15 + elapsed) / 16;
+            if (elapsed > BUDGET_NANOS) {
+                overruns++;
+            }
+        }
+
+        /** Fracción del presupuesto de tick usada en promedio (1.0 = al límite). */
+        private double load() {
+            return (double) avgPassNanos / BUDGET_NANOS;
+        }
+    }
+}
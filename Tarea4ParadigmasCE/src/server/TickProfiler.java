@@ -0,0 +1,177 @@
+package server;
+
+import utils.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+import static utils.GameConstants.TICK_RATE_MS;
+
+/**
+ * TickProfiler
+ * -----------------------------------------------------
+ * Tiempo de cada fase del tick de UNA partida. tick() toma el reloj
+ * entre fase y fase (lap) y cada medición va al LatencyHistogram de
+ * esa fase; el tick completo va a TOTAL y, si pasó el presupuesto
+ * de TICK_RATE_MS, suma un overrun.
+ *
+ * Los histogramas y los overruns son por ventana de WINDOW_TICKS
+ * (~1 minuto): al cerrarse una ventana el tick pasa a la siguiente
+ * de tres preasignadas y limpia la que reutiliza, así ADMIN STATS
+ * muestra cómo va la partida ahora y no el promedio de toda su
+ * vida. Los totales desde el inicio se guardan aparte.
+ *
+ * Cuesta un System.nanoTime por fase y ninguna asignación. Lo
+ * escribe solo el hilo del tick; ADMIN STATS lo lee desde otro
+ * hilo (ver LatencyHistogram).
+ */
+final class TickProfiler {
+
+    enum Phase {
+        ADMIN("admin"),
+        BULK("bulk"),
+        INPUTS("inputs"),
+        PLAYER("player"),
+        MARIO("mario"),
+        CROCS("crocs"),
+        INVINCIBILITY("invincibility"),
+        COLLISIONS("collisions"),
+        ABYSS("abyss"),
+        RECLAIM("reclaim"),
+        SNAPSHOT("snapshot"),
+        BROADCAST("broadcast"),
+        EVENTS("events"),
+        TOTAL("total");
+
+        final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+    }
+
+    static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_RATE_MS);
+    static final long NEAR_MISS_NANOS = BUDGET_NANOS * 8 / 10;   // 80% del presupuesto
+    static final int WINDOW_TICKS = 60_000 / TICK_RATE_MS;         // ~1 minuto de ticks
+
+    private static final Phase[] PHASES = Phase.values();
+
+    /** Histogramas y contadores de una ventana. */
+    private static final class Window {
+        final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+        volatile long overruns = 0;
+        volatile long nearMisses = 0;
+
+        Window() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+
+        long ticks() {
+            return histograms[Phase.TOTAL.ordinal()].getCount();
+        }
+
+        void reset() {
+            for (LatencyHistogram h : histograms) {
+                h.reset();
+            }
+            overruns = 0;
+            nearMisses = 0;
+        }
+    }
+
+    // Tres ventanas: la actual, la última cerrada (la que lee ADMIN
+    // STATS) y la que se limpia en la próxima rotación
+    private final Window[] windows = {new Window(), new Window(), new Window()};
+    private int currentIndex = 0;                  // solo el hilo del tick
+    private volatile Window current = windows[0];
+    private volatile Window completed = null;      // null hasta cerrar la primera
+
+    // Totales desde que empezó la partida
+    private volatile long ticks = 0;
+    private volatile long overruns = 0;
+    private volatile long nearMisses = 0;
+    private volatile long lastTickNanos = 0;
+
+    /** Marca de tiempo para la primera fase. */
+    long start() {
+        return System.nanoTime();
+    }
+
+    /** Cierra la fase que empezó en since; devuelve el inicio de la siguiente. */
+    long lap(Phase phase, long since) {
+        long now = System.nanoTime();
+        current.histograms[phase.ordinal()].record(now - since);
+        return now;
+    }
+
+    /** Cierra el tick que empezó en tickStart. */
+    void endTick(long tickStart) {
+        long elapsed = System.nanoTime() - tickStart;
+        Window w = current;
+        w.histograms[Phase.TOTAL.ordinal()].record(elapsed);
+        lastTickNanos = elapsed;
+        ticks++;
+        if (elapsed > BUDGET_NANOS) {
+            w.overruns++;
+            overruns++;
+        } else if (elapsed > NEAR_MISS_NANOS) {
+            w.nearMisses++;
+            nearMisses++;
+        }
+
+        if (w.ticks() >= WINDOW_TICKS) {
+            completed = w;
+            currentIndex = (currentIndex + 1) % windows.length;
+            Window next = windows[currentIndex];
+            next.reset();
+            current = next;
+        }
+    }
+
+    /**
+     * Totales desde el inicio (ticks, overruns: ticks que pasaron
+     * TICK_RATE_MS, nearMisses: entre el 80% y el 100%) y la ventana
+     * en "window": p50/p99/max por fase en microsegundos y sus
+     * overruns. Es la última ventana cerrada; antes de la primera, la
+     * que está en curso ("complete":false).
+     */
+    String toJson() {
+        Window w = completed;
+        boolean complete = w != null;
+        if (!complete) w = current;
+
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("\"ticks\":").append(ticks)
+                .append(",\"budgetUs\":").append(BUDGET_NANOS / 1_000)
+                .append(",\"lastTickUs\":");
+        appendMicros(sb, lastTickNanos);
+        sb.append(",\"overruns\":").append(overruns)
+                .append(",\"nearMisses\":").append(nearMisses)
+                .append(",\"window\":{\"ticks\":").append(w.ticks())
+                .append(",\"windowTicks\":").append(WINDOW_TICKS)
+                .append(",\"complete\":").append(complete)
+                .append(",\"overruns\":").append(w.overruns)
+                .append(",\"nearMisses\":").append(w.nearMisses)
+                .append(",\"phases\":{");
+        for (int i = 0; i < PHASES.length; i++) {
+            LatencyHistogram h = w.histograms[i];
+            if (i > 0) sb.append(",");
+            sb.append("\"").append(PHASES[i].key).append("\":{\"p50Us\":");
+            appendMicros(sb, h.percentile(0.50));
+            sb.append(",\"p99Us\":");
+            appendMicros(sb, h.percentile(0.99));
+            sb.append(",\"maxUs\":");
+            appendMicros(sb, h.getMax());
+            sb.append("}");
+        }
+        sb.append("}}");
+        return sb.toString();
+    }
+
+    /** Igual que "%.1f" de nanos / 1000 (redondeo HALF_UP), sin Formatter. */
+    private static void appendMicros(StringBuilder sb, long nanos) {
+        long tenths = (nanos + 50) / 100;
+        sb.append(tenths / 10).append('.').append((char) ('0' + tenths % 10));
+    }
+}
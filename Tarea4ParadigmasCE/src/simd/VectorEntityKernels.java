@@ -0,0 +1,69 @@
+package simd;
+
+import entities.Cocodrilo;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+import model.EntityStore;
+import utils.EntityKernels;
+import utils.ScalarEntityKernels;
+
+/**
+ * VectorEntityKernels
+ * -----------------------------------------------------
+ * EntityKernels con la Vector API: procesa tantos slots por
+ * iteración como doubles entran en el registro preferido de la
+ * CPU (4 con AVX2, 8 con AVX-512). El resto se termina escalar.
+ * Solo nextHit es vectorial; moveBlue mide mejor escalar.
+ *
+ * Requiere --add-modules jdk.incubator.vector para compilar y
+ * ejecutar; EntityKernels la carga por reflexión solo si el
+ * módulo está presente.
+ */
+public final class VectorEntityKernels implements EntityKernels {
+
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+
+    private static final EntityKernels SCALAR = new ScalarEntityKernels();
+
+    @Override
+    public int nextHit(EntityStore<?> store, int from, double px, double py, double w, double h) {
+        int n = store.size();
+        double[] x = store.x;
+        double[] y = store.y;
+        boolean[] active = store.active;
+
+        int i = from;
+        int upper = from + D.loopBound(n - from);
+        for (; i < upper; i += D.length()) {
+            VectorMask<Double> hit = DoubleVector.fromArray(D, x, i).sub(px).abs().lt(w)
+                    .and(DoubleVector.fromArray(D, y, i).sub(py).abs().lt(h))
+                    .and(VectorMask.fromArray(D, active, i));
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        for (; i < n; i++) {
+            if (active[i] && Math.abs(x[i] - px) < w && Math.abs(y[i] - py) < h) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Descenso de los azules: se deja escalar. Con la Vector API (JDK 17)
+     * la versión por carriles medía 1.2-1.8x más lenta que el loop
+     * escalar: la máscara de tres condiciones (activo, batched, tipo)
+     * cuesta más que la suma que ahorra. Ver bench.CollisionBench.
+     */
+    @Override
+    public void moveBlue(EntityStore<Cocodrilo> crocs, double maxY) {
+        SCALAR.moveBlue(crocs, maxY);
+    }
+
+    @Override
+    public String name() {
+        return "vectoriales (" + D.length() + " carriles de double)";
+    }
+}
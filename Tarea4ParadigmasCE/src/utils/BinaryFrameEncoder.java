@@ -0,0 +1,308 @@
+package utils;
+
+import model.GameSnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static utils.GameConstants.*;
+
+/**
+ * BinaryFrameEncoder
+ * -----------------------------------------------------
+ * Codifica el estado en el protocolo BINARY: registros de
+ * tamaño fijo, little-endian, con coordenadas cuantizadas a
+ * enteros de 16 bits (1 unidad = 1 píxel, igual que "%.0f").
+ *
+ * Frame:
+ *   HEADER (20 bytes)
+ *     0  char[4] magic "DKJB"
+ *     4  u8      versión (1)
+ *     5  u8      flags (bit0 = hay Mario, bit1 = delta)
+ *     6  u16     cantidad de cocodrilos
+ *     8  u16     cantidad de frutas (solo activas)
+ *    10  u16     cantidad de bajas
+ *    12  u32     número de tick
+ *    16  u32     largo total del frame en bytes (incluye header)
+ *   PLAYER (14 bytes)
+ *     i16 x, i16 y, i16 vx*100, i16 vy*100, u8 vidas,
+ *     u8 flags (bit0 jumping, bit1 onliana, bit2 won, bit3 gained_life),
+ *     i32 score
+ *   CAGE (8 bytes, solo en frames completos)
+ *     i16 x, i16 y, i16 w, i16 h
+ *   MARIO (8 bytes, solo si flags bit0)
+ *     u16 id, i16 x, i16 y, u8 dir (1 = R, 0 = L), u8 reservado
+ *   CROC (8 bytes c/u)
+ *     u16 id, i16 x, i16 y, u8 tipo (0 = RED, 1 = BLUE), u8 alive
+ *   FRUIT (10 bytes c/u)
+ *     u16 id, i16 x, i16 y, u8 tipo (ordinal de TipoFruta), u8 active, u16 puntos
+ *   BAJA (4 bytes c/u)
+ *     u8 tipo (0 = cocodrilo, 1 = fruta), u8 reservado, u16 id
+ *     En un delta: las que desaparecieron desde el frame anterior.
+ *     En un completo: las reclamadas en este tick (aviso de despawn;
+ *     el cliente ya reemplazó sus listas, así que solo informa).
+ *
+ * Un frame completo (keyframe) reemplaza todo el estado del
+ * cliente. Un frame delta trae solo las entidades nuevas o que
+ * cambiaron respecto del frame anterior de esa conexión, y las
+ * que desaparecieron como bajas.
+ *
+ * El cliente distingue un frame binario de uno de texto por
+ * el magic al inicio.
+ */
+public final class BinaryFrameEncoder {
+
+    public static final byte[] MAGIC = {'D', 'K', 'J', 'B'};
+    public static final int VERSION = 1;
+
+    public static final int FLAG_MARIO = 1;
+    public static final int FLAG_DELTA = 2;
+
+    public static final int HEADER_SIZE  = 20;
+    public static final int PLAYER_SIZE  = 14;
+    public static final int CAGE_SIZE    = 8;
+    public static final int MARIO_SIZE   = 8;
+    public static final int CROC_SIZE    = 8;
+    public static final int FRUIT_SIZE   = 10;
+    public static final int REMOVAL_SIZE = 4;
+
+    private static final int REMOVED_CROC  = 0;
+    private static final int REMOVED_FRUIT = 1;
+
+    private ByteBuffer buf = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+
+    /* =========================================================
+       FRAME COMPLETO
+       ========================================================= */
+
+    /**
+     * Codifica el estado completo; el resultado queda en el buffer
+     * interno hasta el próximo encode.
+     */
+    public BinaryFrameEncoder encode(GameSnapshot s) {
+        int length = HEADER_SIZE + PLAYER_SIZE + CAGE_SIZE
+                + (s.hasMario ? MARIO_SIZE : 0)
+                + s.crocCount * CROC_SIZE + s.fruitCount * FRUIT_SIZE;
+        int removals = s.despawnedCrocCount + s.despawnedFruitCount;
+        length += removals * REMOVAL_SIZE;
+        ensure(length);
+        buf.clear();
+
+        header(s.hasMario ? FLAG_MARIO : 0, s.crocCount, s.fruitCount, removals, s.tick, length);
+        player(s);
+
+        buf.putShort(quantize(CAGE_X));
+        buf.putShort(quantize(CAGE_Y));
+        buf.putShort((short) (int) CAGE_WIDTH);
+        buf.putShort((short) (int) CAGE_HEIGHT);
+
+        if (s.hasMario) mario(s);
+        for (int i = 0; i < s.crocCount; i++) croc(s, i);
+        for (int i = 0; i < s.fruitCount; i++) fruit(s, i);
+        for (int i = 0; i < s.despawnedCrocCount; i++) removal(REMOVED_CROC, s.despawnedCrocIds[i]);
+        for (int i = 0; i < s.despawnedFruitCount; i++) removal(REMOVED_FRUIT, s.despawnedFruitIds[i]);
+        return this;
+    }
+
+    /* =========================================================
+       FRAME DELTA
+       ========================================================= */
+
+    /**
+     * Codifica solo lo que cambió entre base y current (comparando
+     * los valores ya cuantizados, es decir, lo que ve el cliente).
+     * El jugador va siempre; la jaula nunca.
+     */
+    public BinaryFrameEncoder encodeDelta(GameSnapshot base, GameSnapshot s) {
+        boolean marioChanged = s.hasMario && (!base.hasMario
+                || base.marioId != s.marioId
+                || quantize(base.marioX) != quantize(s.marioX)
+                || quantize(base.marioY) != quantize(s.marioY)
+                || base.marioRight != s.marioRight);
+
+        // Primera pasada: contar para conocer el largo
+        int changedCrocs = 0, removedCrocs = 0;
+        int i = 0, j = 0;
+        while (j < s.crocCount) {
+            if (i < base.crocCount && base.crocIds[i] < s.crocIds[j]) { removedCrocs++; i++; continue; }
+            if (i < base.crocCount && base.crocIds[i] == s.crocIds[j]) {
+                if (crocChanged(base, i, s, j)) changedCrocs++;
+                i++; j++;
+                continue;
+            }
+            changedCrocs++; j++;                       // nuevo
+        }
+        removedCrocs += base.crocCount - i;
+
+        int changedFruits = 0, removedFruits = 0;
+        i = 0; j = 0;
+        while (j < s.fruitCount) {
+            if (i < base.fruitCount && base.fruitIds[i] < s.fruitIds[j]) { removedFruits++; i++; continue; }
+            if (i < base.fruitCount && base.fruitIds[i] == s.fruitIds[j]) {
+                if (fruitChanged(base, i, s, j)) changedFruits++;
+                i++; j++;
+                continue;
+            }
+            changedFruits++; j++;
+        }
+        removedFruits += base.fruitCount - i;
+
+        int removals = removedCrocs + removedFruits;
+        int length = HEADER_SIZE + PLAYER_SIZE
+                + (marioChanged ? MARIO_SIZE : 0)
+                + changedCrocs * CROC_SIZE + changedFruits * FRUIT_SIZE
+                + removals * REMOVAL_SIZE;
+        ensure(length);
+        buf.clear();
+
+        header(FLAG_DELTA | (marioChanged ? FLAG_MARIO : 0),
+                changedCrocs, changedFruits, removals, s.tick, length);
+        player(s);
+        if (marioChanged) mario(s);
+
+        // Segunda pasada: escribir cambios y juntar bajas al final
+        i = 0; j = 0;
+        while (j < s.crocCount) {
+            if (i < base.crocCount && base.crocIds[i] < s.crocIds[j]) { i++; continue; }
+            if (i < base.crocCount && base.crocIds[i] == s.crocIds[j]) {
+                if (crocChanged(base, i, s, j)) croc(s, j);
+                i++; j++;
+                continue;
+            }
+            croc(s, j); j++;
+        }
+
+        i = 0; j = 0;
+        while (j < s.fruitCount) {
+            if (i < base.fruitCount && base.fruitIds[i] < s.fruitIds[j]) { i++; continue; }
+            if (i < base.fruitCount && base.fruitIds[i] == s.fruitIds[j]) {
+                if (fruitChanged(base, i, s, j)) fruit(s, j);
+                i++; j++;
+                continue;
+            }
+            fruit(s, j); j++;
+        }
+
+        removals(REMOVED_CROC, base.crocIds, base.crocCount, s.crocIds, s.crocCount);
+        removals(REMOVED_FRUIT, base.fruitIds, base.fruitCount, s.fruitIds, s.fruitCount);
+        return this;
+    }
+
+    private static boolean crocChanged(GameSnapshot a, int i, GameSnapshot b, int j) {
+        return quantize(a.crocX[i]) != quantize(b.crocX[j])
+                || quantize(a.crocY[i]) != quantize(b.crocY[j])
+                || a.crocRed[i] != b.crocRed[j]
+                || a.crocAlive[i] != b.crocAlive[j];
+    }
+
+    private static boolean fruitChanged(GameSnapshot a, int i, GameSnapshot b, int j) {
+        return quantize(a.fruitX[i]) != quantize(b.fruitX[j])
+                || quantize(a.fruitY[i]) != quantize(b.fruitY[j])
+                || a.fruitType[i] != b.fruitType[j]
+                || a.fruitPoints[i] != b.fruitPoints[j];
+    }
+
+    /** Escribe un registro de baja por cada id de base que ya no está en current. */
+    private void removals(int kind, int[] baseIds, int baseCount, int[] ids, int count) {
+        int i = 0, j = 0;
+        while (i < baseCount) {
+            if (j < count && ids[j] < baseIds[i]) { j++; continue; }
+            if (j < count && ids[j] == baseIds[i]) { i++; j++; continue; }
+            removal(kind, baseIds[i]);
+            i++;
+        }
+    }
+
+    private void removal(int kind, int id) {
+        buf.put((byte) kind);
+        buf.put((byte) 0);
+        buf.putShort((short) id);
+    }
+
+    /* =========================================================
+       REGISTROS
+       ========================================================= */
+
+    private void header(int flags, int crocs, int fruits, int removals, long tick, int length) {
+        buf.put(MAGIC);
+        buf.put((byte) VERSION);
+        buf.put((byte) flags);
+        buf.putShort((short) crocs);
+        buf.putShort((short) fruits);
+        buf.putShort((short) removals);
+        buf.putInt((int) tick);
+        buf.putInt(length);
+    }
+
+    private void player(GameSnapshot s) {
+        buf.putShort(quantize(s.playerX));
+        buf.putShort(quantize(s.playerY));
+        buf.putShort(quantize(s.velocityX * 100.0));
+        buf.putShort(quantize(s.velocityY * 100.0));
+        buf.put((byte) Math.max(0, Math.min(255, s.lives)));
+        buf.put((byte) ((s.jumping ? 1 : 0)
+                | (s.onLiana ? 2 : 0)
+                | (s.won ? 4 : 0)
+                | (s.justGainedLife ? 8 : 0)));
+        buf.putInt(s.score);
+    }
+
+    private void mario(GameSnapshot s) {
+        buf.putShort((short) s.marioId);
+        buf.putShort(quantize(s.marioX));
+        buf.putShort(quantize(s.marioY));
+        buf.put((byte) (s.marioRight ? 1 : 0));
+        buf.put((byte) 0);
+    }
+
+    private void croc(GameSnapshot s, int i) {
+        buf.putShort((short) s.crocIds[i]);
+        buf.putShort(quantize(s.crocX[i]));
+        buf.putShort(quantize(s.crocY[i]));
+        buf.put((byte) (s.crocRed[i] ? 0 : 1));
+        buf.put((byte) (s.crocAlive[i] ? 1 : 0));
+    }
+
+    private void fruit(GameSnapshot s, int i) {
+        buf.putShort((short) s.fruitIds[i]);
+        buf.putShort(quantize(s.fruitX[i]));
+        buf.putShort(quantize(s.fruitY[i]));
+        buf.put((byte) s.fruitType[i]);
+        buf.put((byte) 1);
+        buf.putShort((short) s.fruitPoints[i]);
+    }
+
+    /* =========================================================
+       BUFFER
+       ========================================================= */
+
+    public int length() {
+        return buf.position();
+    }
+
+    /** Buffer interno (válido hasta length()); se reutiliza en el próximo encode. */
+    public byte[] buffer() {
+        return buf.array();
+    }
+
+    /** Copia exacta del frame, para compartirla entre conexiones. */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf.array(), buf.position());
+    }
+
+    private void ensure(int length) {
+        if (buf.capacity() < length) {
+            int capacity = Math.max(buf.capacity() * 2, length);
+            buf = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /** Redondea al entero más cercano y satura al rango de 16 bits. */
+    static short quantize(double value) {
+        long v = Math.round(value);
+        if (v > Short.MAX_VALUE) return Short.MAX_VALUE;
+        if (v < Short.MIN_VALUE) return Short.MIN_VALUE;
+        return (short) v;
+    }
+}
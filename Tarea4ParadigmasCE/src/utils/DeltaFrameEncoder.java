@@ -0,0 +1,69 @@
+package utils;
+
+import model.GameSnapshot;
+
+import static utils.GameConstants.DELTA_KEYFRAME_INTERVAL;
+
+/**
+ * DeltaFrameEncoder
+ * -----------------------------------------------------
+ * Estado del modo DELTA de UNA conexión.
+ *
+ * Guarda el último snapshot que esta conexión envió (la base
+ * que el cliente ya aplicó: TCP entrega en orden y sin pérdidas)
+ * y codifica cada frame nuevo como delta contra esa base.
+ *
+ * Envía un frame completo (keyframe) cuando:
+ *   - no hay base (conexión nueva, espectador, cambio de modo)
+ *   - el tick cruzó un múltiplo de DELTA_KEYFRAME_INTERVAL
+ *     (aunque se hayan descartado frames en el medio)
+ *
+ * Lo usa un solo hilo a la vez: el que está enviando los frames
+ * de la conexión.
+ */
+public final class DeltaFrameEncoder {
+
+    private final BinaryFrameEncoder encoder = new BinaryFrameEncoder();
+
+    private GameSnapshot base = null;
+
+    // Contadores de la conexión
+    private long keyframes = 0;
+    private long deltas = 0;
+
+    /**
+     * Codifica el snapshot como keyframe o delta y lo toma como nueva base.
+     * El resultado queda en buffer()/length() hasta el próximo encode.
+     */
+    public DeltaFrameEncoder encode(GameSnapshot snapshot) {
+        if (base == null || snapshot.tick - base.tick < 0
+                || snapshot.tick / DELTA_KEYFRAME_INTERVAL != base.tick / DELTA_KEYFRAME_INTERVAL) {
+            encoder.encode(snapshot);
+            keyframes++;
+        } else {
+            encoder.encodeDelta(base, snapshot);
+            deltas++;
+        }
+        base = snapshot;
+        return this;
+    }
+
+    /**
+     * Olvida la base: el próximo frame será un keyframe.
+     * Se llama cuando la conexión envía un frame de otro modo.
+     */
+    public void reset() {
+        base = null;
+    }
+
+    public byte[] buffer() {
+        return encoder.buffer();
+    }
+
+    public int length() {
+        return encoder.length();
+    }
+
+    public long getKeyframes() { return keyframes; }
+    public long getDeltas() { return deltas; }
+}
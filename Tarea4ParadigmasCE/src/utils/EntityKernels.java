@@ -0,0 +1,74 @@
+package utils;
+
+import entities.Cocodrilo;
+import model.EntityStore;
+
+/**
+ * EntityKernels
+ * -----------------------------------------------------
+ * Loops del tick sobre los arreglos del EntityStore que tienen
+ * dos implementaciones:
+ *   - ScalarEntityKernels: un slot por iteración (siempre disponible)
+ *   - simd.VectorEntityKernels: varios slots por instrucción con la
+ *     Vector API (jdk.incubator.vector)
+ *
+ * El módulo de la Vector API es opcional: solo existe si la JVM se
+ * inicia con "--add-modules jdk.incubator.vector" (y el paquete simd
+ * se compila con el mismo flag). Si falta, get() usa la versión
+ * escalar. Con -Dkernels=scalar se fuerza la escalar.
+ *
+ * Ambas dan exactamente el mismo resultado.
+ */
+public interface EntityKernels {
+
+    /**
+     * Primer slot desde from (inclusive) activo y solapado con el
+     * jugador: |x - px| < w && |y - py| < h. -1 si no hay.
+     */
+    int nextHit(EntityStore<?> store, int from, double px, double py, double w, double h);
+
+    /**
+     * Cocodrilos azules estándar (batched): y += velocity, y se
+     * desactivan al llegar a maxY. Avisa cada movimiento al store
+     * (moved) para la grilla.
+     */
+    void moveBlue(EntityStore<Cocodrilo> crocs, double maxY);
+
+    /** Nombre para logs y benchmarks. */
+    String name();
+
+    /** Implementación elegida para este proceso. */
+    static EntityKernels get() {
+        return Selected.INSTANCE;
+    }
+
+    /** Implementación vectorial, o null si la Vector API no está disponible. */
+    static EntityKernels vector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (EntityKernels) Class.forName("simd.VectorEntityKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;   // paquete simd no compilado
+        }
+    }
+
+    final class Selected {
+        private Selected() {}
+
+        static final EntityKernels INSTANCE = select();
+
+        private static EntityKernels select() {
+            EntityKernels kernels = "scalar".equalsIgnoreCase(System.getProperty("kernels"))
+                    ? null : vector();
+            if (kernels == null) {
+                kernels = new ScalarEntityKernels();
+            }
+            System.out.println("[Kernels] Usando kernels " + kernels.name());
+            return kernels;
+        }
+    }
+}
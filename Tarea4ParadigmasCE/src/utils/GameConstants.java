@@ -14,6 +14,13 @@ public final class GameConstants {
     public static final Integer SERVER_PORT  = 5000;
     public static final String SERVER_IP = "127.0.0.1";
 
+    /* --- Transporte NIO --- */
+    public static final Integer NIO_REACTOR_THREADS =
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /* --- Modo DELTA: un frame completo cada N ticks (~1 s) --- */
+    public static final Integer DELTA_KEYFRAME_INTERVAL = 60;
+
     /* --- Ventana / Escenario --- */
     public static final Integer WIN_WIDTH  = 960;
     public static final Integer WIN_HEIGHT = 540;
@@ -2,18 +2,33 @@ package utils;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import entities.Cocodrilo;
+import entities.Fruta;
 import model.GameState;
 
+import java.lang.reflect.Type;
+
 /**
  * GameStateSerializer
  * -----------------------------------------------------
- * Utilidad para serializar/deserializar GameState usando Gson.
- * Convierte el estado del juego a JSON y viceversa.
+ * Utilidad para serializar GameState a JSON usando Gson
+ * (volcado completo para depuración y línea base de
+ * JsonFrameBench; los frames usan JsonFrameEncoder).
+ *
+ * Cocodrilo y Fruta se escriben con sus getters: mientras están
+ * en el EntityStore sus datos viven en el slot, no en sus campos.
+ * El formato es el mismo que antes del EntityStore.
  */
 public class GameStateSerializer {
 
     private static final Gson gson = new GsonBuilder()
             .setPrettyPrinting()  // JSON formateado (opcional, para debugging)
+            .registerTypeHierarchyAdapter(Cocodrilo.class, new CocodriloSerializer())
+            .registerTypeHierarchyAdapter(Fruta.class, new FrutaSerializer())
             .create();
 
     /**
@@ -25,12 +40,34 @@ public class GameStateSerializer {
         return gson.toJson(state);
     }
 
-    /**
-     * Deserializa un JSON a GameState.
-     * @param json String en formato JSON
-     * @return GameState reconstruido
-     */
-    public static GameState fromJson(String json) {
-        return gson.fromJson(json, GameState.class);
+    private static final class CocodriloSerializer implements JsonSerializer<Cocodrilo> {
+        @Override
+        public JsonElement serialize(Cocodrilo c, Type type, JsonSerializationContext ctx) {
+            JsonObject o = new JsonObject();
+            o.addProperty("id", c.getId());
+            o.add("posicion", ctx.serialize(c.getPosicion()));
+            o.addProperty("velocidad", c.velocidad());
+            o.addProperty("direccion", c.direccion());
+            o.addProperty("activo", c.activo());
+            if (c.getStrategy() != null) o.add("strategy", ctx.serialize(c.getStrategy()));
+            if (c.getLiana() != null) o.add("liana", ctx.serialize(c.getLiana()));
+            o.addProperty("isAligned", c.getIsAligned());
+            o.addProperty("horizontalDirection", c.getHorizontalDirection());
+            return o;
+        }
+    }
+
+    private static final class FrutaSerializer implements JsonSerializer<Fruta> {
+        @Override
+        public JsonElement serialize(Fruta f, Type type, JsonSerializationContext ctx) {
+            JsonObject o = new JsonObject();
+            o.addProperty("id", f.getId());
+            if (f.getTipo() != null) o.add("tipo", ctx.serialize(f.getTipo()));
+            o.add("posicion", ctx.serialize(f.getPosicion()));
+            if (f.getLiana() != null) o.add("liana", ctx.serialize(f.getLiana()));
+            o.addProperty("puntos", f.puntos());
+            o.addProperty("activa", f.activa());
+            return o;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,266 @@
+package utils;
+
+import com.google.gson.stream.JsonWriter;
+import entities.Cocodrilo;
+import entities.Fruta;
+import entities.Mario;
+import model.DespawnList;
+import model.EntityStore;
+import model.GameState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import static utils.GameConstants.*;
+
+/**
+ * JsonFrameEncoder
+ * -----------------------------------------------------
+ * Codifica el modo JSON con el JsonWriter de Gson (streaming),
+ * sin reflexión ni indentación, sobre un buffer reutilizable.
+ *
+ * Frame de estado (una línea de JSON entre FRAME y END):
+ *   {"t":tick,
+ *    "p":{"x","y","vx","vy","lives","score","jumping","onLiana","won","gainedLife"},
+ *    "m":[id,x,y,"R"|"L"],
+ *    "c":[[id,x,y,"RED"|"BLUE",alive],...],
+ *    "f":[[id,"Banana",x,y,puntos],...],       (solo frutas activas)
+ *    "d":[[0|1,id],...]}                       (bajas del tick: 0 cocodrilo, 1 fruta;
+ *                                               solo si hubo)
+ * Coordenadas en píxeles enteros y velocidades con 2 decimales,
+ * igual que el modo TEXT; alive/booleanos como 0/1 en arreglos.
+ *
+ * La geometría (jaula, lianas, plataformas) no cambia: va en un
+ * frame GEOMETRY aparte que cada conexión recibe una sola vez.
+ */
+public final class JsonFrameEncoder {
+
+    /** Frame JSON listo para enviar; indica que requiere la geometría antes. */
+    public static final class Frame {
+        public final byte[] bytes;
+
+        Frame(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    // GEOMETRY\n{...}\nEND\n, igual para todas las partidas
+    private static final byte[] GEOMETRY = buildGeometry();
+
+    private static final TipoFruta[] TIPOS_FRUTA = TipoFruta.values();
+
+    private final ByteArrayWriter out = new ByteArrayWriter();
+
+    /**
+     * Codifica el estado del tick; devuelve una copia exacta que
+     * comparten todas las conexiones.
+     */
+    public Frame encode(GameState state, long tick) {
+        out.reset();
+        try {
+            out.write("FRAME " + tick + " " + TextFrameEncoder.entityCount(state) + "\n");
+
+            JsonWriter w = new JsonWriter(out);
+            w.beginObject();
+            w.name("t").value(tick);
+
+            w.name("p").beginObject();
+            w.name("x").value(Math.round(state.playerX()));
+            w.name("y").value(Math.round(state.playerY()));
+            w.name("vx").value(round2(state.velocityX()));
+            w.name("vy").value(round2(state.velocityY()));
+            w.name("lives").value(state.lives());
+            w.name("score").value(state.score());
+            w.name("jumping").value(state.jumping());
+            w.name("onLiana").value(state.onLiana());
+            w.name("won").value(state.won());
+            w.name("gainedLife").value(state.justGainedLife());
+            w.endObject();
+
+            Mario m = state.getMario();
+            if (m != null) {
+                w.name("m").beginArray()
+                        .value(m.getId())
+                        .value(Math.round(m.getPosicion().x))
+                        .value(Math.round(m.getPosicion().y))
+                        .value(m.isMoviendoDerecha() ? "R" : "L")
+                        .endArray();
+            }
+
+            EntityStore<Cocodrilo> crocs = state.getCrocStore();
+            w.name("c").beginArray();
+            for (int i = 0, n = crocs.size(); i < n; i++) {
+                w.beginArray()
+                        .value(crocs.ids[i])
+                        .value(Math.round(crocs.x[i]))
+                        .value(Math.round(crocs.y[i]))
+                        .value(crocs.type[i] == Cocodrilo.TIPO_ROJO ? "RED" : "BLUE")
+                        .value(crocs.active[i] ? 1 : 0)
+                        .endArray();
+            }
+            w.endArray();
+
+            EntityStore<Fruta> fruits = state.getFruitStore();
+            w.name("f").beginArray();
+            for (int i = 0, n = fruits.size(); i < n; i++) {
+                if (!fruits.active[i]) continue;
+                w.beginArray()
+                        .value(fruits.ids[i])
+                        .value(TIPOS_FRUTA[fruits.type[i]].getNombre())
+                        .value(Math.round(fruits.x[i]))
+                        .value(Math.round(fruits.y[i]))
+                        .value(fruits.value[i])
+                        .endArray();
+            }
+            w.endArray();
+
+            DespawnList goneCrocs = state.getDespawnedCrocs();
+            DespawnList goneFruits = state.getDespawnedFruits();
+            if (goneCrocs.size() + goneFruits.size() > 0) {
+                w.name("d").beginArray();
+                for (int i = 0; i < goneCrocs.size(); i++) {
+                    w.beginArray().value(0).value(goneCrocs.id(i)).endArray();
+                }
+                for (int i = 0; i < goneFruits.size(); i++) {
+                    w.beginArray().value(1).value(goneFruits.id(i)).endArray();
+                }
+                w.endArray();
+            }
+
+            w.endObject();
+            w.flush();
+
+            out.write("\nEND\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);   // el Writer es en memoria: no ocurre
+        }
+        return new Frame(out.toByteArray());
+    }
+
+    /** Frame GEOMETRY (se envía una vez por conexión antes del primer estado). */
+    public static byte[] geometry() {
+        return GEOMETRY;
+    }
+
+    private static double round2(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+
+    /**
+     * GEOMETRY
+     * {"cage":[x,y,w,h],"lianas":[[id,x1,y1,x2,y2],...],"platforms":[[x,y,w,h],...]}
+     * END
+     */
+    private static byte[] buildGeometry() {
+        ByteArrayWriter buf = new ByteArrayWriter();
+        try {
+            buf.write("GEOMETRY\n");
+            JsonWriter w = new JsonWriter(buf);
+            w.beginObject();
+
+            w.name("cage").beginArray()
+                    .value(Math.round(CAGE_X)).value(Math.round(CAGE_Y))
+                    .value(CAGE_WIDTH).value(CAGE_HEIGHT)
+                    .endArray();
+
+            w.name("lianas").beginArray();
+            for (int i = 0; i < LIANAS.length; i++) {
+                w.beginArray().value(i);
+                for (Double v : LIANAS[i]) w.value(Math.round(v));
+                w.endArray();
+            }
+            w.endArray();
+
+            w.name("platforms").beginArray();
+            for (Double[] p : PLATFORMS) {
+                w.beginArray();
+                for (Double v : p) w.value(Math.round(v));
+                w.endArray();
+            }
+            w.endArray();
+
+            w.endObject();
+            w.flush();
+            buf.write("\nEND\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buf.toByteArray();
+    }
+
+    /**
+     * Writer que codifica UTF-8 directo en un byte[] que crece
+     * y se reutiliza entre frames.
+     */
+    private static final class ByteArrayWriter extends Writer {
+
+        private byte[] buf = new byte[1024];
+        private int len = 0;
+
+        void reset() {
+            len = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, len);
+        }
+
+        @Override
+        public void write(int c) {
+            writeCodePoint(c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int n) {
+            int end = off + n;
+            for (int i = off; i < end; ) {
+                int cp = Character.codePointAt(cbuf, i, end);
+                writeCodePoint(cp);
+                i += Character.charCount(cp);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int n) {
+            int end = off + n;
+            for (int i = off; i < end; ) {
+                int cp = str.codePointAt(i);
+                writeCodePoint(cp);
+                i += Character.charCount(cp);
+            }
+        }
+
+        private void writeCodePoint(int c) {
+            ensure(4);
+            if (c < 0x80) {
+                buf[len++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[len++] = (byte) (0xC0 | (c >> 6));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            } else if (c < 0x10000) {
+                buf[len++] = (byte) (0xE0 | (c >> 12));
+                buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                buf[len++] = (byte) (0xF0 | (c >> 18));
+                buf[len++] = (byte) (0x80 | ((c >> 12) & 0x3F));
+                buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+            }
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,94 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * LatencyHistogram
+ * -----------------------------------------------------
+ * Histograma de duraciones en nanosegundos al estilo HDR: buckets
+ * log-lineales de tamaño fijo, así registrar es un cálculo de
+ * índice y un incremento, sin asignar memoria ni ordenar nada.
+ *
+ * Cada potencia de 2 se divide en SUB_BUCKETS buckets iguales, con
+ * lo que un percentil sale con error relativo menor a 1/SUB_BUCKETS
+ * (~6%). Los valores menores a SUB_BUCKETS ns son exactos y los
+ * mayores a ~34 s caen en el último bucket; el máximo se guarda
+ * exacto aparte.
+ *
+ * Un solo hilo registra (el tick). Otros hilos pueden leer
+ * percentiles en cualquier momento: pueden ver una muestra a medio
+ * contar, nunca un valor inventado.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 35;     // 2^35 ns ≈ 34 s
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final int[] counts = new int[BUCKETS];
+    private volatile long total = 0;
+    private volatile long max = 0;
+
+    /** Registra una duración (solo el hilo dueño). */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[index(nanos)]++;
+        if (nanos > max) max = nanos;
+        total++;
+    }
+
+    private static int index(long v) {
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(v);            // >= SUB_BITS
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min((exp - SUB_BITS + 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    /** Mayor valor que cae en el bucket (lo que informa un percentil). */
+    private static long highestIn(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exp = index / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        long low = (long) (SUB_BUCKETS + sub) << (exp - SUB_BITS);
+        return low + (1L << (exp - SUB_BITS)) - 1;
+    }
+
+    /**
+     * Valor por debajo del cual cae la fracción p de las muestras
+     * (p entre 0 y 1), nunca mayor que el máximo registrado.
+     */
+    public long percentile(double p) {
+        long n = total;
+        if (n == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(p * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Vacía el histograma (solo el hilo dueño). Un lector que lo esté
+     * recorriendo en ese momento ve un resultado a medias; quien rota
+     * histogramas por ventana limpia uno que ya nadie debería leer.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        max = 0;
+        total = 0;
+    }
+
+    public long getCount() { return total; }
+    public long getMax() { return max; }
+}
@@ -0,0 +1,52 @@
+package utils;
+
+import entities.Cocodrilo;
+import model.EntityStore;
+
+/**
+ * ScalarEntityKernels
+ * -----------------------------------------------------
+ * Versión escalar de EntityKernels: un slot por iteración.
+ * Es la referencia y el camino por defecto.
+ */
+public final class ScalarEntityKernels implements EntityKernels {
+
+    @Override
+    public int nextHit(EntityStore<?> store, int from, double px, double py, double w, double h) {
+        int n = store.size();
+        double[] x = store.x;
+        double[] y = store.y;
+        boolean[] active = store.active;
+
+        for (int i = from; i < n; i++) {
+            if (active[i] && Math.abs(x[i] - px) < w && Math.abs(y[i] - py) < h) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void moveBlue(EntityStore<Cocodrilo> crocs, double maxY) {
+        int n = crocs.size();
+        double[] y = crocs.y;
+        double[] velocity = crocs.velocity;
+        int[] type = crocs.type;
+        boolean[] active = crocs.active;
+        boolean[] batched = crocs.batched;
+
+        for (int i = 0; i < n; i++) {
+            if (!active[i] || !batched[i] || type[i] != Cocodrilo.TIPO_AZUL) continue;
+
+            double ny = y[i] + velocity[i];
+            y[i] = ny;
+            active[i] = ny < maxY;
+            crocs.moved(i);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "escalares";
+    }
+}
@@ -0,0 +1,283 @@
+package utils;
+
+import entities.Cocodrilo;
+import entities.Fruta;
+import entities.Mario;
+import model.DespawnList;
+import model.EntityStore;
+import model.GameState;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static utils.GameConstants.*;
+
+/**
+ * TextFrameEncoder
+ * -----------------------------------------------------
+ * Codifica el frame del protocolo TEXT escribiendo números y
+ * tokens directamente en un byte[] reutilizable, sin
+ * String.format ni Strings intermedios.
+ *
+ * La salida es byte a byte igual a la de String.format
+ * ("%.0f", "%.2f", "%d") para que el sscanf del cliente C
+ * siga funcionando: redondeo HALF_UP sobre la representación
+ * decimal más corta del double, y "-0" para negativos que
+ * redondean a cero.
+ *
+ * Cada frame va delimitado:
+ *   FRAME <tick> <entidades>
+ *   PLAYER ... / CAGE ... / MARIO ... / CROC ... / FRUIT ...
+ *   DESPAWN CROC <id> / DESPAWN FRUIT <id>   (solo el tick de la baja)
+ *   END
+ * donde <entidades> cuenta las líneas PLAYER, MARIO, CROC y FRUIT
+ * (la jaula y los DESPAWN no son entidades). Con eso el cliente
+ * puede descartar un frame completo viejo o incompleto sin aplicarlo.
+ *
+ * Una instancia por partida; solo la usa el hilo del tick.
+ */
+public final class TextFrameEncoder {
+
+    private static final long[] POW10 = {1L, 10L, 100L, 1000L, 10000L};
+
+    // Límite para el camino rápido: n * 10^d debe caber exacto en un double
+    private static final double MAX_FAST = 1L << 52;
+
+    // La línea de la jaula es constante
+    private static final byte[] CAGE_LINE = String.format(Locale.US, "CAGE x=%.0f y=%.0f w=%d h=%d\n",
+            CAGE_X, CAGE_Y, CAGE_WIDTH, CAGE_HEIGHT).getBytes(StandardCharsets.US_ASCII);
+
+    private static final TipoFruta[] TIPOS_FRUTA = TipoFruta.values();
+
+    private byte[] buf = new byte[1024];
+    private int len = 0;
+
+    /* =========================================================
+       FRAME COMPLETO
+       ========================================================= */
+
+    /**
+     * Codifica el frame completo del tick indicado (FRAME ... END).
+     * El resultado queda en el buffer interno hasta el próximo encode.
+     */
+    public TextFrameEncoder encode(GameState state, long tick) {
+        reset();
+        ascii("FRAME ").integer(tick).ascii(" ").integer(entityCount(state)).newline();
+        body(state);
+        return ascii("END").newline();
+    }
+
+    /** Cantidad de entidades del frame: jugador, Mario, cocodrilos y frutas activas. */
+    public static int entityCount(GameState state) {
+        EntityStore<Fruta> fruits = state.getFruitStore();
+        int count = 1 + (state.getMario() != null ? 1 : 0) + state.getCrocStore().size();
+        for (int i = 0, n = fruits.size(); i < n; i++) {
+            if (fruits.active[i]) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Escribe solo las líneas de estado (PLAYER, CAGE, MARIO, CROC,
+     * FRUIT y los DESPAWN del tick).
+     */
+    public TextFrameEncoder body(GameState state) {
+        ascii("PLAYER 0 x=").fixed(state.playerX(), 0)
+                .ascii(" y=").fixed(state.playerY(), 0)
+                .ascii(" vx=").fixed(state.velocityX(), 2)
+                .ascii(" vy=").fixed(state.velocityY(), 2)
+                .ascii(" lives=").integer(state.lives())
+                .ascii(" score=").integer(state.score())
+                .ascii(" jumping=").flag(state.jumping())
+                .ascii(" onliana=").flag(state.onLiana())
+                .ascii(" won=").flag(state.won())
+                .ascii(" gained_life=").flag(state.justGainedLife())
+                .newline();
+
+        raw(CAGE_LINE);
+
+        if (state.getMario() != null) {
+            mario(state.getMario());
+        }
+
+        EntityStore<Cocodrilo> crocs = state.getCrocStore();
+        for (int i = 0, n = crocs.size(); i < n; i++) {
+            croc(crocs, i);
+        }
+
+        EntityStore<Fruta> fruits = state.getFruitStore();
+        for (int i = 0, n = fruits.size(); i < n; i++) {
+            if (fruits.active[i]) {
+                fruit(fruits, i);
+            }
+        }
+
+        DespawnList gone = state.getDespawnedCrocs();
+        for (int i = 0, n = gone.size(); i < n; i++) {
+            ascii("DESPAWN CROC ").integer(gone.id(i)).newline();
+        }
+        gone = state.getDespawnedFruits();
+        for (int i = 0, n = gone.size(); i < n; i++) {
+            ascii("DESPAWN FRUIT ").integer(gone.id(i)).newline();
+        }
+        return this;
+    }
+
+    /** Igual que Mario.toNetworkString() + "\n". */
+    public TextFrameEncoder mario(Mario m) {
+        return ascii("MARIO ").integer(m.getId())
+                .ascii(" x=").fixed(m.getPosicion().x, 0)
+                .ascii(" y=").fixed(m.getPosicion().y, 0)
+                .ascii(m.isMoviendoDerecha() ? " dir=R" : " dir=L")
+                .newline();
+    }
+
+    /** Igual que Cocodrilo.toNetworkString() + "\n" del cocodrilo en el slot. */
+    public TextFrameEncoder croc(EntityStore<Cocodrilo> crocs, int slot) {
+        return ascii("CROC ").integer(crocs.ids[slot])
+                .ascii(crocs.type[slot] == Cocodrilo.TIPO_ROJO ? " type=RED" : " type=BLUE")
+                .ascii(" x=").fixed(crocs.x[slot], 0)
+                .ascii(" y=").fixed(crocs.y[slot], 0)
+                .ascii(" alive=").flag(crocs.active[slot])
+                .newline();
+    }
+
+    /** Igual que Fruta.toNetworkString() + "\n" de la fruta en el slot. */
+    public TextFrameEncoder fruit(EntityStore<Fruta> fruits, int slot) {
+        return ascii("FRUIT ").integer(fruits.ids[slot])
+                .ascii(" type=").ascii(TIPOS_FRUTA[fruits.type[slot]].getNombre())
+                .ascii(" x=").fixed(fruits.x[slot], 0)
+                .ascii(" y=").fixed(fruits.y[slot], 0)
+                .ascii(" points=").integer(fruits.value[slot])
+                .ascii(" active=").flag(fruits.active[slot])
+                .newline();
+    }
+
+    /* =========================================================
+       BUFFER
+       ========================================================= */
+
+    public void reset() {
+        len = 0;
+    }
+
+    public int length() {
+        return len;
+    }
+
+    /** Buffer interno (válido hasta length()); se reutiliza en el próximo encode. */
+    public byte[] buffer() {
+        return buf;
+    }
+
+    /** Copia exacta del frame, para compartirla entre conexiones. */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, len);
+    }
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+        }
+    }
+
+    /* =========================================================
+       PRIMITIVAS
+       ========================================================= */
+
+    /** Escribe un texto ASCII carácter por carácter (sin getBytes). */
+    public TextFrameEncoder ascii(String s) {
+        int n = s.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) {
+            buf[len++] = (byte) s.charAt(i);
+        }
+        return this;
+    }
+
+    public TextFrameEncoder raw(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, len, bytes.length);
+        len += bytes.length;
+        return this;
+    }
+
+    public TextFrameEncoder newline() {
+        ensure(1);
+        buf[len++] = '\n';
+        return this;
+    }
+
+    /** 1 o 0, como "%d" de (flag ? 1 : 0). */
+    public TextFrameEncoder flag(boolean value) {
+        ensure(1);
+        buf[len++] = (byte) (value ? '1' : '0');
+        return this;
+    }
+
+    /** Igual que "%d". */
+    public TextFrameEncoder integer(long value) {
+        ensure(20);
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) return ascii(Long.toString(value));
+            buf[len++] = '-';
+            value = -value;
+        }
+        digits(value, 1);
+        return this;
+    }
+
+    /**
+     * Igual que "%.Nf" (N = decimals, 0 a 4).
+     *
+     * Formatter redondea HALF_UP la representación decimal más corta
+     * del double. Eso solo difiere del redondeo exacto cuando esa
+     * representación termina justo en el 5 del punto medio, es decir,
+     * cuando el punto medio (2n+1) / (2·10^N) se convierte exactamente
+     * en el mismo double: en ese caso se redondea hacia arriba.
+     */
+    public TextFrameEncoder fixed(double value, int decimals) {
+        if (Double.isNaN(value)) return ascii("NaN");
+        if (Double.isInfinite(value)) return ascii(value > 0 ? "Infinity" : "-Infinity");
+
+        long scale = POW10[decimals];
+        double abs = Math.abs(value);
+        double scaled = abs * scale;
+        if (scaled >= MAX_FAST) {
+            // Fuera del rango del juego: camino lento pero exacto
+            return ascii(String.format("%." + decimals + "f", value));
+        }
+
+        long n = (long) scaled;
+        double midpoint = (2 * n + 1) / (2.0 * scale);
+        if (abs >= midpoint) {
+            n++;
+        }
+
+        ensure(24);
+        if (Double.doubleToRawLongBits(value) < 0) {
+            buf[len++] = '-';                   // también "-0" como Formatter
+        }
+        digits(n / scale, 1);
+        if (decimals > 0) {
+            buf[len++] = '.';
+            digits(n % scale, decimals);
+        }
+        return this;
+    }
+
+    /** Escribe un número no negativo con al menos minDigits dígitos (ceros a la izquierda). */
+    private void digits(long value, int minDigits) {
+        int count = 1;
+        for (long v = value / 10; v > 0; v /= 10) count++;
+        if (count < minDigits) count = minDigits;
+
+        int end = len + count;
+        for (int i = end - 1; i >= len; i--) {
+            buf[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        len = end;
+    }
+}